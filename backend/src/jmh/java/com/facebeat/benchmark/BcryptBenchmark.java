@@ -0,0 +1,45 @@
+package com.facebeat.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt cost 별 해시 시간 (auth.bcrypt.strength 를 정할 때 참고).
+ * cost 가 1 오를 때마다 두 배씩 느려집니다. 회원가입은 encode, 로그인은 matches 를 한 번씩 합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BcryptBenchmark {
+
+    @Param({"10", "12", "14"})
+    public int cost;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(cost);
+        hash = encoder.encode("1234");
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("1234");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("1234", hash);
+    }
+}
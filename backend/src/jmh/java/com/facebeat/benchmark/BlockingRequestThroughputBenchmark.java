@@ -0,0 +1,103 @@
+package com.facebeat.benchmark;
+
+import com.facebeat.config.ConnectionLimitingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 플랫폼 스레드 모드 vs 가상 스레드 모드 처리량 (초당 요청 수).
+ * 요청 하나 = 커넥션 풀(H2 + HikariCP, ConnectionLimitingDataSource)에서 짧은 쿼리 + 20ms 블로킹 I/O
+ * (파일 저장, 원격 DB 왕복 같은 대기) 로 흉내 내고, 같은 요청 수를
+ * Tomcat 기본값과 같은 200 스레드 풀 / 요청마다 가상 스레드로 처리합니다.
+ * 플랫폼 스레드는 200 / 20ms = 최대 10,000 req/s 에 묶이고, 가상 스레드는 커넥션 수에만 묶입니다.
+ * 가상 스레드는 Java 21 이상에서만 있으므로: ./gradlew jmh -PjavaVersion=21 -PjmhIncludes=BlockingRequest
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BlockingRequestThroughputBenchmark {
+
+    private static final int REQUESTS = 2_000;
+    private static final int PLATFORM_THREADS = 200;
+    private static final int POOL_SIZE = 20;
+    private static final long IO_MILLIS = 20;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    private HikariDataSource pool;
+    private ConnectionLimitingDataSource dataSource;
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:virtual-threads;DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(POOL_SIZE);
+        config.setMinimumIdle(POOL_SIZE);
+        pool = new HikariDataSource(config);
+        dataSource = new ConnectionLimitingDataSource(pool, POOL_SIZE, 10_000);
+        executor = "virtual".equals(threads)
+                ? newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+        pool.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void handleRequests() throws Exception {
+        List<Future<?>> futures = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            futures.add(executor.submit(() -> {
+                handleRequest();
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private void handleRequest() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT 1")) {
+            rs.next();
+        }
+        Thread.sleep(IO_MILLIS);
+    }
+
+    // Java 17 로 컴파일해도 되도록 리플렉션으로 찾음
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드는 Java 21 이상 필요 (-PjavaVersion=21)", e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.facebeat.benchmark;
+
+import com.facebeat.dto.response.RankingResponse;
+import com.facebeat.entity.Score;
+import com.facebeat.entity.Song;
+import com.facebeat.service.LeaderboardService;
+import com.facebeat.util.LeaderboardEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/scores/ranking (ScoreService.getTop10Ranking) 의 응답 만들기.
+ *  - fromLeaderboard: 지금 경로. 메모리 리더보드에서 상위 10 개를 꺼내 RankingResponse 로 변환
+ *  - fromEntities: Score / Song 엔티티 목록을 RankingResponse 로 변환 (DB 에서 엔티티로 읽던 예전 경로)
+ * DB 조회 시간은 빼고 변환 비용만 봅니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RankingMappingBenchmark {
+
+    // 리더보드에 들어있는 점수 수 (ranking.leaderboard.capacity 기본값 100)
+    @Param({"100"})
+    public int capacity;
+
+    private LeaderboardService leaderboardService;
+    private List<Score> top10Entities;
+
+    @Setup
+    public void setUp() {
+        // 저장소는 rebuild() 에서만 쓰므로 null 로 둠
+        leaderboardService = new LeaderboardService(null, null, capacity);
+
+        List<Song> songs = new ArrayList<>();
+        for (long id = 1; id <= 4; id++) {
+            Song song = new Song();
+            song.setId(id);
+            song.setTitle("Song " + id);
+            songs.add(song);
+        }
+
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<LeaderboardEntry> entries = new ArrayList<>();
+        List<Score> scores = new ArrayList<>();
+        for (int i = 0; i < capacity * 3; i++) {
+            Song song = songs.get(i % songs.size());
+            Score score = new Score("testuser" + (i % 50), song, (i * 7919) % 100_000);
+            score.setId((long) i + 1);
+            score.setCreatedAt(base.plusSeconds(i));
+            scores.add(score);
+            entries.add(new LeaderboardEntry(score.getId(), score.getUserId(), song.getId(), song.getTitle(),
+                    score.getScore(), score.getCreatedAt()));
+        }
+        leaderboardService.record(entries);
+
+        scores.sort((a, b) -> Integer.compare(b.getScore(), a.getScore()));
+        top10Entities = List.copyOf(scores.subList(0, 10));
+    }
+
+    @Benchmark
+    public List<RankingResponse> fromLeaderboard() {
+        return leaderboardService.topResponses(null, 10);
+    }
+
+    @Benchmark
+    public List<RankingResponse> fromEntities() {
+        List<RankingResponse> responseList = new ArrayList<>();
+        for (Score s : top10Entities) {
+            responseList.add(RankingResponse.builder()
+                    .userId(s.getUserId())
+                    .songTitle(s.getSong().getTitle())
+                    .score(s.getScore())
+                    .scoreId(s.getId())
+                    .createdAt(s.getCreatedAt())
+                    .build());
+        }
+        return responseList;
+    }
+}
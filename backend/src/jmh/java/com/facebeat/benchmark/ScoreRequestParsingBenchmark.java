@@ -0,0 +1,53 @@
+package com.facebeat.benchmark;
+
+import com.facebeat.dto.request.ScoreRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * POST /api/scores 요청 본문 읽기.
+ *  - mapThenConvert: ScoreController.saveScore 방식. Map 으로 읽은 뒤 String.valueOf -> Long/Integer.valueOf 로 꺼내 DTO 에 담음
+ *  - typedDto: ScoreRequest 로 바로 바인딩
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScoreRequestParsingBenchmark {
+
+    private ObjectMapper objectMapper;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder().build();
+        body = "{\"userId\":\"testuser1\",\"songId\":3,\"score\":98765}".getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public ScoreRequest mapThenConvert() {
+        Map<String, Object> requestData = objectMapper.readValue(body, Map.class);
+
+        ScoreRequest requestDto = new ScoreRequest();
+        requestDto.setUserId(String.valueOf(requestData.get("userId")));
+        requestDto.setSongId(Long.valueOf(String.valueOf(requestData.get("songId"))));
+        requestDto.setScore(Integer.valueOf(String.valueOf(requestData.get("score"))));
+        return requestDto;
+    }
+
+    @Benchmark
+    public ScoreRequest typedDto() {
+        return objectMapper.readValue(body, ScoreRequest.class);
+    }
+}
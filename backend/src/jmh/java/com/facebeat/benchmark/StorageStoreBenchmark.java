@@ -0,0 +1,138 @@
+package com.facebeat.benchmark;
+
+import com.facebeat.service.StorageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * StorageService.store 의 업로드 복사 경로 (파일 크기별).
+ *  - deduplicate=true: 임시 파일로 복사하면서 SHA-256 계산 -> 해시 경로로 이동
+ *  - deduplicate=false: UUID 이름으로 바로 복사
+ * 매 호출마다 내용을 조금 바꿔서 항상 새 파일로 저장되게 하고, 저장한 파일은 바로 지웁니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StorageStoreBenchmark {
+
+    // 16KB (커버 썸네일), 1MB (커버 원본), 8MB (곡)
+    @Param({"16384", "1048576", "8388608"})
+    public int size;
+
+    @Param({"true", "false"})
+    public boolean deduplicate;
+
+    private Path root;
+    private StorageService storageService;
+    private byte[] content;
+    private long counter;
+    private String stored;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("storage-bench");
+        storageService = new StorageService(root.toString(), deduplicate, new int[]{320, 96});
+        content = new byte[size];
+        ThreadLocalRandom.current().nextBytes(content);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void nextContent() {
+        // 앞 8 바이트를 바꿔서 해시가 매번 달라지게 함
+        long n = ++counter;
+        for (int i = 0; i < 8; i++) {
+            content[i] = (byte) (n >>> (i * 8));
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteStored() {
+        storageService.release(stored);
+        storageService.deleteIfUnreferenced(stored, () -> 0);
+    }
+
+    @Benchmark
+    public String store() {
+        stored = storageService.store(new BytesMultipartFile("song.mp3", content), "song");
+        return stored;
+    }
+
+    /** 메모리의 바이트 배열을 업로드 파일처럼 보이게 함 (Tomcat 은 큰 파일을 디스크에 두지만 여기서는 복사 비용만 봄) */
+    private static final class BytesMultipartFile implements MultipartFile {
+
+        private final String filename;
+        private final byte[] bytes;
+
+        BytesMultipartFile(String filename, byte[] bytes) {
+            this.filename = filename;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public String getName() {
+            return "file";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return filename;
+        }
+
+        @Override
+        public String getContentType() {
+            return "application/octet-stream";
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return bytes.length == 0;
+        }
+
+        @Override
+        public long getSize() {
+            return bytes.length;
+        }
+
+        @Override
+        public byte[] getBytes() {
+            return bytes;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public void transferTo(File dest) throws IOException {
+            Files.write(dest.toPath(), bytes);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.facebeat.config;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 한 로거(기본: Hibernate 느린 쿼리 로그 org.hibernate.SQL_SLOW)의 이벤트를 1/sampleRate 만 통과시킵니다.
+ * 느린 쿼리가 몰릴 때 로그가 쏟아져서 더 느려지는 것을 막고, 건너뛴 수는 logging.events.sampled-out 으로 셉니다.
+ * 다른 로거의 이벤트는 그대로 통과 (NEUTRAL).
+ */
+public class LogSamplingFilter extends Filter<ILoggingEvent> {
+
+    private String loggerName = "org.hibernate.SQL_SLOW";
+    private int sampleRate = 10;
+
+    private final AtomicLong seen = new AtomicLong();
+    private final LongAdder sampledOut = new LongAdder();
+
+    public void setLoggerName(String loggerName) {
+        this.loggerName = loggerName;
+    }
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
+    public String getLoggerName() {
+        return loggerName;
+    }
+
+    public long sampledOut() {
+        return sampledOut.sum();
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (!loggerName.equals(event.getLoggerName())) {
+            return FilterReply.NEUTRAL;
+        }
+        if (seen.getAndIncrement() % sampleRate == 0) {
+            return FilterReply.NEUTRAL;
+        }
+        sampledOut.increment();
+        return FilterReply.DENY;
+    }
+}
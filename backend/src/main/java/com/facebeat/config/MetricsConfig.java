@@ -0,0 +1,100 @@
+package com.facebeat.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.filter.Filter;
+import com.facebeat.service.AuthService;
+import com.facebeat.service.RankingStreamService;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Iterator;
+
+/**
+ * 서비스 메서드 메트릭.
+ * 클래스에 @Timed("service.calls") 가 붙은 서비스(ScoreService, SongService, UserService, StorageService)의
+ * public 메서드 호출마다 service.calls{class, method, exception} 타이머를 남깁니다 (호출 수 = 타이머 count).
+ * 저장소 쿼리는 스프링 데이터가 spring.data.repository.invocations 로 따로 남깁니다.
+ * 로그 링 버퍼(RingBufferAppender)가 버린 이벤트 수와 느린 쿼리 로그 샘플링으로 건너뛴 수,
+ * 랭킹 스트림 구독자 수, 로그인 토큰 검증 캐시 적중 수도 여기서 등록합니다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public MeterBinder loggingMetrics() {
+        return registry -> {
+            if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+                return;
+            }
+            Iterator<Appender<ILoggingEvent>> it =
+                    context.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+            while (it.hasNext()) {
+                if (!(it.next() instanceof RingBufferAppender appender)) {
+                    continue;
+                }
+                for (String level : new String[]{"error", "warn", "info", "debug"}) {
+                    FunctionCounter.builder("logging.events.dropped", appender, a -> a.dropped(level))
+                            .description("로그 링 버퍼가 가득 차서 버린 이벤트 수")
+                            .tag("appender", appender.getName())
+                            .tag("level", level)
+                            .register(registry);
+                }
+                Gauge.builder("logging.ring-buffer.backlog", appender, RingBufferAppender::backlog)
+                        .description("아직 쓰지 않은 로그 이벤트 수")
+                        .tag("appender", appender.getName())
+                        .register(registry);
+                for (Filter<ILoggingEvent> filter : appender.getCopyOfAttachedFiltersList()) {
+                    if (filter instanceof LogSamplingFilter sampling) {
+                        FunctionCounter.builder("logging.events.sampled-out", sampling, LogSamplingFilter::sampledOut)
+                                .description("샘플링으로 건너뛴 로그 이벤트 수")
+                                .tag("logger", sampling.getLoggerName())
+                                .register(registry);
+                    }
+                }
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder rankingStreamMetrics(RankingStreamService rankingStreamService) {
+        return registry -> {
+            Gauge.builder("ranking.stream.subscribers", rankingStreamService, RankingStreamService::subscriberCount)
+                    .description("랭킹 스트림 구독자 수")
+                    .register(registry);
+            FunctionCounter.builder("ranking.stream.dropped", rankingStreamService, RankingStreamService::droppedCount)
+                    .description("따라오지 못해서 끊은 구독자 수")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder authTokenMetrics(AuthService authService) {
+        return registry -> {
+            FunctionCounter.builder("auth.token.cache", authService, AuthService::cacheHitCount)
+                    .description("검증 캐시에서 바로 통과한 토큰 수 (서명 계산 없음)")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("auth.token.cache", authService, AuthService::cacheMissCount)
+                    .description("서명을 계산해서 검증한 토큰 수")
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("auth.token.cache.size", authService, AuthService::cacheSize)
+                    .description("검증 캐시에 든 토큰 수")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.facebeat.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate 가 보내는 SQL 을 요청(스레드) 단위로 셉니다. SQL 은 바꾸지 않습니다.
+ * hibernate.session_factory.statement_inspector 로 등록되고 (Hibernate 가 직접 생성),
+ * QueryCountFilter 가 요청마다 초기화하고 끝날 때 개수를 메트릭으로 남깁니다.
+ * JdbcTemplate 로 보내는 SQL(차트, 노트 저장 등)은 세지 않습니다.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    static int count() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,148 @@
+package com.facebeat.config;
+
+import com.facebeat.service.ReadYourWritesTracker;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 읽기/쓰기 분리 (datasource.read-replicas.urls 가 있을 때만 로드).
+ *
+ * 1. primary 풀은 spring.datasource.* 로, 복제본 풀은 urls 에 적힌 주소마다 하나씩 만듭니다.
+ * 2. 앱이 쓰는 DataSource 는 LazyConnectionDataSourceProxy 하나입니다. 트랜잭션이 시작될 때는 가짜 커넥션만 주고
+ *    첫 SQL 을 보낼 때 실제 커넥션을 얻는데, 그때 readOnly 로 표시돼 있으면(@Transactional(readOnly = true),
+ *    Spring Data 저장소의 조회 메서드) ReplicaRoutingDataSource 로, 아니면 primary 로 갑니다.
+ * 3. Flyway / 쓰기 트랜잭션 / 트랜잭션 밖 JdbcTemplate 은 모두 primary 입니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.read-replicas.urls")
+public class ReadReplicaConfig {
+
+    @Bean
+    @Primary
+    public ReadWriteRoutingDataSource dataSource(Environment environment, ReadYourWritesTracker readYourWrites) {
+        Binder binder = Binder.get(environment);
+        List<HikariDataSource> pools = new ArrayList<>();
+
+        // 1. primary
+        HikariConfig primaryConfig = baseConfig(binder, environment);
+        primaryConfig.setJdbcUrl(environment.getRequiredProperty("spring.datasource.url"));
+        primaryConfig.setPoolName("primary");
+        HikariDataSource primary = new HikariDataSource(primaryConfig);
+        pools.add(primary);
+
+        // 2. 복제본 (풀 설정은 primary 와 같고 datasource.read-replicas.hikari.* 로 덮어쓸 수 있음)
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        String[] urls = environment.getRequiredProperty("datasource.read-replicas.urls", String[].class);
+        for (int i = 0; i < urls.length; i++) {
+            HikariConfig config = baseConfig(binder, environment);
+            binder.bind("datasource.read-replicas.hikari", Bindable.ofInstance(config));
+            config.setJdbcUrl(urls[i].trim());
+            config.setUsername(environment.getProperty("datasource.read-replicas.username", config.getUsername()));
+            config.setPassword(environment.getProperty("datasource.read-replicas.password", config.getPassword()));
+            config.setPoolName("replica-" + (i + 1));
+            config.setReadOnly(true);
+            // 죽은 복제본에서 오래 기다리지 않고 바로 빼고 다음으로 넘어가도록
+            config.setConnectionTimeout(environment.getProperty(
+                    "datasource.read-replicas.connection-timeout-ms", Long.class, 1000L));
+            // 시작할 때 복제본이 죽어 있어도 앱은 뜨고, 헬스 체크가 살아난 것을 보고 다시 넣음
+            config.setInitializationFailTimeout(-1);
+            HikariDataSource pool = new HikariDataSource(config);
+            pools.add(pool);
+            replicas.put(config.getPoolName(), pool);
+        }
+
+        // 가상 스레드 모드면 풀마다 따로 세마포어를 씌움 (VirtualThreadConfig 는 이 빈을 건너뜀)
+        boolean limit = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        DataSource primaryTarget = limit ? limited(primary, environment) : primary;
+        if (limit) {
+            replicas.replaceAll((name, pool) -> limited((HikariDataSource) pool, environment));
+        }
+
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primaryTarget, replicas, readYourWrites,
+                environment.getProperty("datasource.read-replicas.health-check-ms", Long.class, 5000L));
+        return new ReadWriteRoutingDataSource(primaryTarget, router, pools);
+    }
+
+    @Bean
+    public MeterBinder readReplicaMetrics(ReadWriteRoutingDataSource dataSource) {
+        return registry -> {
+            ReplicaRoutingDataSource router = dataSource.router();
+            for (String name : router.replicaNames()) {
+                Gauge.builder("db.replica.healthy", router, r -> r.isHealthy(name) ? 1 : 0)
+                        .description("복제본이 라우팅 대상에 있으면 1, 빠졌으면 0")
+                        .tag("replica", name)
+                        .register(registry);
+                FunctionCounter.builder("db.replica.ejections", router, r -> r.ejectionCount(name))
+                        .description("복제본이 라우팅에서 빠진 횟수")
+                        .tag("replica", name)
+                        .register(registry);
+            }
+            FunctionCounter.builder("db.replica.primary-reads", router, ReplicaRoutingDataSource::primaryReadCount)
+                    .description("읽기 전용인데 primary 로 보낸 커넥션 수 (read-your-writes, 복제본 없음)")
+                    .register(registry);
+        };
+    }
+
+    private static HikariConfig baseConfig(Binder binder, Environment environment) {
+        HikariConfig config = new HikariConfig();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(config));
+        config.setUsername(environment.getProperty("spring.datasource.username"));
+        config.setPassword(environment.getProperty("spring.datasource.password"));
+        String driver = environment.getProperty("spring.datasource.driver-class-name");
+        if (driver != null) {
+            config.setDriverClassName(driver);
+        }
+        return config;
+    }
+
+    private static DataSource limited(HikariDataSource pool, Environment environment) {
+        // 0 이면 풀 크기와 같게 (VirtualThreadConfig 와 같은 설정)
+        int maxConcurrent = environment.getProperty("datasource.limiter.max-concurrent", Integer.class, 0);
+        if (maxConcurrent <= 0) {
+            maxConcurrent = pool.getMaximumPoolSize();
+        }
+        long timeoutMillis = environment.getProperty("datasource.limiter.acquire-timeout-ms", Long.class, 2000L);
+        return new ConnectionLimitingDataSource(pool, maxConcurrent, timeoutMillis);
+    }
+
+    /** 앱이 쓰는 DataSource - 종료할 때 헬스 체크와 모든 풀을 닫습니다. */
+    public static class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+        private final ReplicaRoutingDataSource router;
+        private final List<HikariDataSource> pools;
+
+        ReadWriteRoutingDataSource(DataSource primary, ReplicaRoutingDataSource router, List<HikariDataSource> pools) {
+            super(primary);
+            setReadOnlyDataSource(router);
+            this.router = router;
+            this.pools = pools;
+        }
+
+        public ReplicaRoutingDataSource router() {
+            return router;
+        }
+
+        @Override
+        public void close() {
+            router.close();
+            pools.forEach(HikariDataSource::close);
+        }
+    }
+}
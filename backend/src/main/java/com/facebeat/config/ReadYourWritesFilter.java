@@ -0,0 +1,38 @@
+package com.facebeat.config;
+
+import com.facebeat.service.ReadYourWritesTracker;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+
+/**
+ * 요청의 플레이어(로그인 토큰의 userId, 없으면 userId 파라미터 - 예: GET /api/scores/best?userId=)를 현재 스레드에 묶어서
+ * 방금 점수를 저장한 플레이어의 조회는 복제본이 아니라 primary 에서 읽게 합니다 (ReadYourWritesTracker).
+ * 복제본 설정이 있을 때만 등록됩니다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "datasource.read-replicas.urls")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final ReadYourWritesTracker readYourWrites;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // 스프링 시큐리티 필터 뒤에서 돌아서 토큰 인증 결과가 getUserPrincipal() 에 들어 있음
+        Principal principal = request.getUserPrincipal();
+        String userId = principal != null ? principal.getName() : request.getParameter("userId");
+        try (ReadYourWritesTracker.Scope scope = readYourWrites.bind(userId)) {
+            chain.doFilter(request, response);
+        }
+    }
+}
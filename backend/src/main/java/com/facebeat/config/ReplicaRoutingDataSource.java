@@ -0,0 +1,138 @@
+package com.facebeat.config;
+
+import com.facebeat.service.ReadYourWritesTracker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 읽기 전용 커넥션을 복제본 풀들에 돌아가며(round-robin) 나눠 주는 DataSource.
+ * ReadReplicaConfig 가 LazyConnectionDataSourceProxy 의 readOnlyDataSource 로 붙입니다.
+ *
+ * 커넥션을 못 얻은 복제본은 바로 빼고(ejection) 다음 복제본으로 넘어가며,
+ * 빠진 복제본은 health-check-ms 마다 도는 확인(Connection.isValid)이 통과하면 다시 넣습니다.
+ * 쓸 수 있는 복제본이 없거나 ReadYourWritesTracker 가 primary 를 요구하면 primary 에서 읽습니다.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final ReadYourWritesTracker readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder primaryReads = new LongAdder();
+    private final ScheduledExecutorService healthCheck;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    ReadYourWritesTracker readYourWrites, long healthCheckMillis) {
+        this.primary = primary;
+        this.readYourWrites = readYourWrites;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.healthCheck = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-health-check");
+            t.setDaemon(true);
+            return t;
+        });
+        healthCheck.scheduleWithFixedDelay(this::checkHealth, healthCheckMillis, healthCheckMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!readYourWrites.shouldReadPrimary()) {
+            int size = replicas.size();
+            int start = Math.floorMod(next.getAndIncrement(), size);
+            for (int i = 0; i < size; i++) {
+                Replica replica = replicas.get((start + i) % size);
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    eject(replica, e);
+                }
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("복제본 라우팅은 풀 계정만 사용합니다.");
+    }
+
+    /** 모든 복제본에 커넥션을 하나씩 받아서 확인하고, 결과에 따라 빼거나 다시 넣습니다. */
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("isValid() = false");
+                }
+                if (!replica.healthy) {
+                    replica.healthy = true;
+                    log.info("datasource.replica.restored name={}", replica.name);
+                }
+            } catch (SQLException | RuntimeException e) {
+                eject(replica, e);
+            }
+        }
+    }
+
+    private void eject(Replica replica, Exception cause) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            replica.ejections.increment();
+            log.warn("datasource.replica.ejected name={}: {}", replica.name, cause.getMessage());
+        }
+    }
+
+    public List<String> replicaNames() {
+        return replicas.stream().map(r -> r.name).toList();
+    }
+
+    public boolean isHealthy(String name) {
+        return replicas.stream().anyMatch(r -> r.name.equals(name) && r.healthy);
+    }
+
+    public long ejectionCount(String name) {
+        return replicas.stream().filter(r -> r.name.equals(name)).mapToLong(r -> r.ejections.sum()).sum();
+    }
+
+    /** 복제본 대신 primary 에서 처리한 읽기 수 (read-your-writes + 복제본 전부 빠졌을 때) */
+    public long primaryReadCount() {
+        return primaryReads.sum();
+    }
+
+    @Override
+    public void close() {
+        healthCheck.shutdownNow();
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final LongAdder ejections = new LongAdder();
+        private volatile boolean healthy = true;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.facebeat.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 잠금 없는 링 버퍼 + 백그라운드 writer 스레드 하나로 로그를 쓰는 appender (logback-spring.xml).
+ *
+ * 요청 스레드는 버퍼 칸을 CAS 로 잡아서 이벤트를 넣기만 하고 바로 돌아갑니다 (콘솔 I/O 를 기다리지 않음).
+ * 버퍼가 가득 차면 기다리지 않고 버리고(drop-on-overflow) 레벨별로 셉니다 -> logging.events.dropped 메트릭.
+ * logback 기본 AsyncAppender 는 ArrayBlockingQueue(잠금)를 쓰고 가득 차면 호출 스레드를 막을 수 있어서 쓰지 않습니다.
+ *
+ * 실제 쓰기는 appender-ref 로 붙인 appender(CONSOLE 등)에 writer 스레드 하나만 하므로 그쪽 잠금 경합도 없습니다.
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+
+    // logback-spring.xml 에서 설정 (2 의 거듭제곱으로 올림)
+    private int bufferSize = 8192;
+
+    private AtomicReferenceArray<ILoggingEvent> slots;
+    private int mask;
+    // 생산자가 다음에 잡을 칸
+    private final AtomicLong tail = new AtomicLong();
+    // writer 가 다음에 읽을 칸 (writer 만 씀)
+    private volatile long head;
+
+    private final LongAdder droppedError = new LongAdder();
+    private final LongAdder droppedWarn = new LongAdder();
+    private final LongAdder droppedInfo = new LongAdder();
+    private final LongAdder droppedDebug = new LongAdder();
+
+    private Thread writer;
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        int capacity = Integer.highestOneBit(Math.max(2, bufferSize - 1)) << 1;
+        slots = new AtomicReferenceArray<>(capacity);
+        mask = capacity - 1;
+
+        writer = new Thread(this::drainLoop, "log-writer-" + getName());
+        writer.setDaemon(true);
+        super.start();
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        // 남은 이벤트를 다 쓰고 끝나도록 잠시 기다림
+        LockSupport.unpark(writer);
+        try {
+            writer.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // 다른 스레드에서 쓰므로 메시지 포맷/MDC 를 지금 고정
+        event.prepareForDeferredProcessing();
+
+        long claimed;
+        do {
+            claimed = tail.get();
+            if (claimed - head >= slots.length()) {
+                countDropped(event.getLevel());
+                return;
+            }
+        } while (!tail.compareAndSet(claimed, claimed + 1));
+        slots.lazySet((int) (claimed & mask), event);
+    }
+
+    private void drainLoop() {
+        long position = head;
+        while (true) {
+            int index = (int) (position & mask);
+            ILoggingEvent event = slots.get(index);
+            if (event == null) {
+                if (tail.get() != position) {
+                    // 칸은 잡혔지만 아직 이벤트가 안 들어옴 - 곧 들어옴
+                    Thread.onSpinWait();
+                    continue;
+                }
+                if (!isStarted()) {
+                    return;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            slots.lazySet(index, null);
+            head = ++position;
+            try {
+                appenders.appendLoopOnAppenders(event);
+            } catch (RuntimeException e) {
+                addError("Failed to write log event", e);
+            }
+        }
+    }
+
+    private void countDropped(Level level) {
+        if (level.isGreaterOrEqual(Level.ERROR)) {
+            droppedError.increment();
+        } else if (level.isGreaterOrEqual(Level.WARN)) {
+            droppedWarn.increment();
+        } else if (level.isGreaterOrEqual(Level.INFO)) {
+            droppedInfo.increment();
+        } else {
+            droppedDebug.increment();
+        }
+    }
+
+    /** 버퍼가 가득 차서 버린 이벤트 수 (level: error, warn, info, debug) */
+    public long dropped(String level) {
+        return switch (level) {
+            case "error" -> droppedError.sum();
+            case "warn" -> droppedWarn.sum();
+            case "info" -> droppedInfo.sum();
+            default -> droppedDebug.sum();
+        };
+    }
+
+    /** 아직 쓰지 않은 이벤트 수 */
+    public long backlog() {
+        return tail.get() - head;
+    }
+
+    public int capacity() {
+        return slots == null ? 0 : slots.length();
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> newAppender) {
+        appenders.addAppender(newAppender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
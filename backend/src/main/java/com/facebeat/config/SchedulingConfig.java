@@ -0,0 +1,13 @@
+package com.facebeat.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @Scheduled 작업 활성화 (change_log 폴링/정리, 랭킹 스트림 틱, read-your-writes 정리, 점수 보관 정리).
+ * 작업 스레드 수는 spring.task.scheduling.pool.size - 기본값 1 이면 오래 걸리는 점수 보관 정리가 나머지를 모두 막습니다.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,13 +1,20 @@
 package com.facebeat.config;
 
+import com.facebeat.service.AuthService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -19,7 +26,7 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, AuthService authService) throws Exception {
         http
             // 1. CORS 설정 (가장 먼저 적용)
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -27,9 +34,19 @@ public class SecurityConfig {
             // 2. CSRF 보안 끄기
             .csrf(AbstractHttpConfigurer::disable)
             
-            // 3. 요청 주소별 권한 설정
+            // 3. 세션 없이 요청마다 Bearer 토큰으로 인증 (TokenAuthenticationFilter)
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .addFilterBefore(new TokenAuthenticationFilter(authService), UsernamePasswordAuthenticationFilter.class)
+            // 토큰이 없으면 401 (토큰은 있지만 권한이 모자라면 기본 처리대로 403)
+            .exceptionHandling(e -> e.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+
+            // 4. 요청 주소별 권한 설정 - 점수 저장은 로그인 토큰 필요 (플레이어는 토큰에서 꺼냄)
+            //    관리자 API 는 관리자 로그인으로 받은 토큰(ROLE_ADMIN)이 있어야 함 (로그인 자체만 열어 둠)
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/api/users/**", "/api/admin/**").permitAll()
+                .requestMatchers(HttpMethod.POST, "/api/scores").authenticated()
+                .requestMatchers(HttpMethod.POST, "/api/admin/login").permitAll()
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                .requestMatchers("/api/users/**").permitAll()
                 .anyRequest().permitAll()
             );
 
@@ -55,8 +72,9 @@ public class SecurityConfig {
         return source;
     }
 
+    // 새로 만드는 해시의 cost (기존 해시는 로그인 성공 시 이 값으로 다시 해시됨)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.bcrypt.strength:12}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
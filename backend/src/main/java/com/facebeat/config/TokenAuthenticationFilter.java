@@ -0,0 +1,56 @@
+package com.facebeat.config;
+
+import com.facebeat.service.AuthService;
+import com.facebeat.util.JwtUtil;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authorization: Bearer {token} 을 검증해서 SecurityContext 에 플레이어(userId)를 넣습니다.
+ * 토큰의 role 이 ADMIN 이면 ROLE_ADMIN 도 같이 줍니다 (/api/admin/** 는 SecurityConfig 에서 ROLE_ADMIN 필요).
+ * 검증은 AuthService 가 메모리에서 하므로 요청마다 member 조회가 없습니다.
+ * 토큰이 없거나 잘못되었으면 인증 없이 넘기고, 인증이 필요한 주소(SecurityConfig)에서 401 이 됩니다.
+ * 서블릿 필터로 두 번 등록되지 않도록 빈이 아니라 SecurityConfig 에서 직접 만듭니다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+    private static final List<GrantedAuthority> PLAYER = List.of(new SimpleGrantedAuthority("ROLE_PLAYER"));
+    private static final List<GrantedAuthority> ADMIN =
+            List.of(new SimpleGrantedAuthority("ROLE_PLAYER"), new SimpleGrantedAuthority("ROLE_ADMIN"));
+
+    private final AuthService authService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            try {
+                JwtUtil.Claims claims = authService.authenticate(header.substring(BEARER.length()).trim());
+                List<GrantedAuthority> authorities = AuthService.Role.of(claims.role()) == AuthService.Role.ADMIN
+                        ? ADMIN : PLAYER;
+                SecurityContextHolder.getContext().setAuthentication(
+                        UsernamePasswordAuthenticationToken.authenticated(claims.userId(), null, authorities));
+            } catch (JwtUtil.InvalidTokenException e) {
+                log.debug("auth.token.rejected uri={}: {}", request.getRequestURI(), e.getMessage());
+            }
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,65 @@
+package com.facebeat.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * 가상 스레드 모드 (spring.threads.virtual.enabled=true, application-virtual.properties).
+ * Tomcat 요청 처리는 스프링 부트가 가상 스레드로 바꿔 주고, 여기서는 DataSource 앞에
+ * ConnectionLimitingDataSource 를 씌워서 커넥션을 기다리는 스레드 수를 세마포어로 제한합니다.
+ * 플랫폼 스레드 모드(기본값)에서는 이 설정이 아예 로드되지 않습니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    // BeanPostProcessor 는 다른 빈보다 먼저 만들어져야 하므로 static
+    @Bean
+    public static BeanPostProcessor connectionLimitingPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionLimitingDataSource) {
+                    return bean;
+                }
+                // 읽기/쓰기 분리 DataSource 는 ReadReplicaConfig 가 풀마다 따로 씌움
+                if (bean instanceof ReadReplicaConfig.ReadWriteRoutingDataSource) {
+                    return bean;
+                }
+                // 0 이면 풀 크기와 같게
+                int maxConcurrent = environment.getProperty("datasource.limiter.max-concurrent", Integer.class, 0);
+                if (maxConcurrent <= 0) {
+                    maxConcurrent = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                }
+                long timeoutMillis = environment.getProperty("datasource.limiter.acquire-timeout-ms", Long.class, 2000L);
+                return new ConnectionLimitingDataSource(dataSource, maxConcurrent, timeoutMillis);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionLimiterMetrics(DataSource dataSource) {
+        return registry -> {
+            ConnectionLimitingDataSource limiter;
+            try {
+                limiter = dataSource.unwrap(ConnectionLimitingDataSource.class);
+            } catch (SQLException e) {
+                return;
+            }
+            Gauge.builder("db.connection.limiter.in-use", limiter, ConnectionLimitingDataSource::inUse)
+                    .description("세마포어 허가를 받아 커넥션을 쓰고 있는 스레드 수")
+                    .register(registry);
+            Gauge.builder("db.connection.limiter.waiting", limiter, ConnectionLimitingDataSource::waiting)
+                    .description("커넥션 허가를 기다리는 스레드 수")
+                    .register(registry);
+        };
+    }
+}
@@ -1,60 +1,79 @@
 package com.facebeat.controller;
 
 import com.facebeat.dto.request.AdminLoginRequest;
+import com.facebeat.dto.response.ScoreImportResponse;
+import com.facebeat.dto.response.TokenResponse;
 import com.facebeat.entity.User;
-import com.facebeat.repository.UserRepository;
+import com.facebeat.service.AuthService;
+import com.facebeat.service.ScoreImportService;
+import com.facebeat.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder; // [필수 임포트]
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/admin")
 @RequiredArgsConstructor
 public class AdminController {
 
-    private final UserRepository userRepository;
-    
-    // [수정 1] 비밀번호 암호화 비교를 위한 인코더 주입
-    private final PasswordEncoder passwordEncoder;
+    // 비밀번호 비교는 일반 로그인과 같이 해시 스레드 풀에서 (UserService.login)
+    private final UserService userService;
+    private final AuthService authService;
+
+    private final ScoreImportService scoreImportService;
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody AdminLoginRequest request) {
         
         // 디버깅용 로그는 이제 지우셔도 됩니다.
         
-        // 1. 아이디로 유저 찾기 (String 아이디 기준)
-        Optional<User> userOptional = userRepository.findByUserId(request.getId());
-
-        if (userOptional.isPresent()) {
-            User user = userOptional.get();
-
-            // [수정 2] 단순 문자열 비교(.equals) 대신 matches() 사용
-            // passwordEncoder.matches(입력받은비번, DB의암호화된비번)
-            if (passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-                
-                // 추가 검증 (관리자 아이디인지 확인)
-                if (!"admin123".equals(user.getUserId())) {
-                     return ResponseEntity.status(HttpStatus.FORBIDDEN).body("관리자 권한이 없습니다.");
-                }
-
-                // 로그인 성공 처리
-                Map<String, Object> response = new HashMap<>();
-                response.put("success", true);
-                response.put("role", "ADMIN");
-                response.put("userId", user.getUserId());
-                response.put("message", "관리자 로그인 성공");
-
-                return ResponseEntity.ok(response);
+        // 1. 아이디로 유저 찾기 + 비밀번호 비교 (해시 스레드 풀이 가득 차면 429, ApiExceptionHandler)
+        User user = userService.login(request.getId(), request.getPassword());
+
+        if (user != null) {
+            // 추가 검증 (관리자 아이디인지 확인)
+            if (!"admin123".equals(user.getUserId())) {
+                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body("관리자 권한이 없습니다.");
             }
+
+            // 로그인 성공 처리
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("role", "ADMIN");
+            response.put("userId", user.getUserId());
+            response.put("message", "관리자 로그인 성공");
+            // 관리자 권한이 들어간 토큰 (/api/admin/** 요청에 Bearer 로 보냄)
+            TokenResponse token = authService.issueToken(user.getUserId(), AuthService.Role.ADMIN);
+            response.put("token", token.getToken());
+            response.put("expiresAt", token.getExpiresAt());
+
+            return ResponseEntity.ok(response);
         }
 
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body("관리자 계정이 없거나 비밀번호가 틀립니다.");
     }
-}
\ No newline at end of file
+
+    // 대회/오프라인 이벤트 점수 일괄 가져오기 (POST /api/admin/scores/import)
+    // Content-Type: application/x-ndjson -> 한 줄에 {"userId":..,"songId":..,"score":..,"createdAt":..}
+    // Content-Type: text/csv             -> userId,songId,score,createdAt (헤더 줄은 있어도 되고 없어도 됨)
+    // 본문은 스트림으로 한 줄씩 읽으므로 파일 크기와 상관없이 메모리 사용량이 일정합니다.
+    @PostMapping(value = "/scores/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ScoreImportResponse> importScores(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+
+        ScoreImportService.Format format = contentType.startsWith("text/csv")
+                ? ScoreImportService.Format.CSV
+                : ScoreImportService.Format.NDJSON;
+
+        return ResponseEntity.ok(scoreImportService.importScores(body, format));
+    }
+}
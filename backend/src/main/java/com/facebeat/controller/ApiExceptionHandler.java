@@ -0,0 +1,34 @@
+package com.facebeat.controller;
+
+import com.facebeat.service.PasswordHashingService;
+import com.facebeat.service.StorageService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 여러 컨트롤러에서 똑같이 응답하는 예외를 한 곳에서 처리합니다.
+ * (요청마다 다르게 답해야 하는 예외는 지금처럼 컨트롤러 안에서 잡음)
+ */
+@Slf4j
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    // 해시 스레드 풀이 가득 참 (회원가입 / 로그인 / 관리자 로그인) -> 기다리지 않고 바로 429
+    @ExceptionHandler(PasswordHashingService.OverloadedException.class)
+    public ResponseEntity<String> hashingOverloaded(PasswordHashingService.OverloadedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
+
+    // 저장소 밖을 가리키는 파일 경로 (../ 등) -> 500 이 아니라 400
+    @ExceptionHandler(StorageService.InvalidPathException.class)
+    public ResponseEntity<String> invalidStoragePath(StorageService.InvalidPathException e) {
+        log.warn("storage.path.rejected: {}", e.getMessage());
+        return ResponseEntity.badRequest().body("잘못된 파일 경로입니다.");
+    }
+}
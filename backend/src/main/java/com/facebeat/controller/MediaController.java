@@ -0,0 +1,205 @@
+package com.facebeat.controller;
+
+import com.facebeat.dto.response.SongResponse;
+import com.facebeat.service.SongCatalogCache;
+import com.facebeat.service.StorageService;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 업로드된 곡 오디오 스트리밍 (GET /api/media/songs/{id}).
+ * Range 요청(단일/다중)에 206 으로 응답해서 중간부터 재생/탐색이 되도록 하고,
+ * 본문은 힙 버퍼를 거치지 않고 보냅니다.
+ *  - Tomcat 이 sendfile 을 지원하면 파일 경로만 넘기고 커널이 직접 전송
+ *  - 아니면 FileChannel.transferTo 로 응답 스트림에 바로 전송
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/media")
+@RequiredArgsConstructor
+public class MediaController {
+
+    // Tomcat sendfile 요청 속성 (org.apache.catalina.Globals 상수와 동일)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final SongCatalogCache songCatalogCache;
+    private final StorageService storageService;
+
+    @RequestMapping(value = "/songs/{id}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void streamSong(@PathVariable Long id,
+                           HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+        // 1. 곡 경로는 곡 목록 캐시에서 찾음 (DB 조회 없음)
+        SongResponse song = songCatalogCache.get().find(id);
+        if (song == null || song.getFilePath() == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Path file;
+        try {
+            file = storageService.resolve(song.getFilePath());
+        } catch (StorageService.InvalidPathException e) {
+            // 곡 행의 경로가 저장소 밖을 가리킴 - 요청이 아니라 데이터 문제라서 없는 파일로 취급
+            log.warn("media.stream.rejected songId={}: {}", id, e.getMessage());
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (!Files.isRegularFile(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+        // 2. 조건부 요청 (If-None-Match / If-Modified-Since) -> 304
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        MediaType contentType = MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        // 3. Range 해석 (If-Range 가 현재 파일과 다르면 전체를 보냄)
+        List<HttpRange> ranges = List.of();
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && ifRangeMatches(request, etag, lastModified)) {
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+                for (HttpRange range : ranges) {
+                    range.getRangeStart(length); // 파일 범위를 벗어나면 예외
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+        }
+
+        boolean head = "HEAD".equals(request.getMethod());
+        if (ranges.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(contentType.toString());
+            sendRegion(file, 0, length, head, request, response);
+        } else if (ranges.size() == 1) {
+            HttpRange range = ranges.get(0);
+            long start = range.getRangeStart(length);
+            long end = range.getRangeEnd(length);
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setContentType(contentType.toString());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            sendRegion(file, start, end - start + 1, head, request, response);
+        } else {
+            sendMultipart(file, length, contentType, ranges, head, response);
+        }
+    }
+
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        long since = request.getDateHeader(HttpHeaders.IF_RANGE);
+        // HTTP 날짜는 초 단위라서 밀리초는 버리고 비교
+        return since != -1 && lastModified / 1000 <= since / 1000;
+    }
+
+    private static void sendRegion(Path file, long start, long count, boolean head,
+                                   HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentLengthLong(count);
+        if (head || count == 0) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // 본문을 직접 쓰지 않고 Tomcat 에 넘김 -> 서블릿이 끝난 뒤 sendfile 로 전송
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            transfer(channel, start, count, Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    private static void sendMultipart(Path file, long length, MediaType contentType, List<HttpRange> ranges,
+                                      boolean head, HttpServletResponse response) throws IOException {
+        String boundary = UUID.randomUUID().toString();
+
+        // 파트 헤더를 미리 만들어서 Content-Length 를 계산
+        byte[][] partHeaders = new byte[ranges.size()][];
+        long total = 0;
+        for (int i = 0; i < ranges.size(); i++) {
+            HttpRange range = ranges.get(i);
+            long start = range.getRangeStart(length);
+            long end = range.getRangeEnd(length);
+            partHeaders[i] = ("\r\n--" + boundary + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": bytes " + start + "-" + end + "/" + length + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            total += partHeaders[i].length + (end - start + 1);
+        }
+        byte[] closing = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        total += closing.length;
+
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(total);
+        if (head) {
+            return;
+        }
+
+        ServletOutputStream out = response.getOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            for (int i = 0; i < ranges.size(); i++) {
+                long start = ranges.get(i).getRangeStart(length);
+                long end = ranges.get(i).getRangeEnd(length);
+                out.write(partHeaders[i]);
+                transfer(channel, start, end - start + 1, target);
+            }
+        }
+        out.write(closing);
+    }
+
+    private static void transfer(FileChannel channel, long position, long count, WritableByteChannel target)
+            throws IOException {
+        // transferTo 는 요청한 것보다 적게 보낼 수 있으므로 끝까지 반복
+        while (count > 0) {
+            long sent = channel.transferTo(position, count, target);
+            if (sent <= 0) {
+                break;
+            }
+            position += sent;
+            count -= sent;
+        }
+    }
+}
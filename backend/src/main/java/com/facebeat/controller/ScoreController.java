@@ -1,14 +1,32 @@
 package com.facebeat.controller;
 
 import com.facebeat.dto.request.ScoreRequest;
+import com.facebeat.dto.response.BestScoreResponse;
+import com.facebeat.dto.response.RankingPageResponse;
 import com.facebeat.dto.response.RankingResponse;
+import com.facebeat.dto.response.SongResponse;
+import com.facebeat.service.RankingStreamService;
+import com.facebeat.service.ScoreIngestionService;
 import com.facebeat.service.ScoreService;
+import com.facebeat.service.SongCatalogCache;
+import com.facebeat.service.WindowedLeaderboardService;
+import com.facebeat.util.ReplayCodec;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
+import java.util.Base64;
 import java.util.List;
 
+@Slf4j
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/scores") // 주소 공통 부분
@@ -16,38 +34,146 @@ import java.util.List;
 public class ScoreController {
 
     private final ScoreService scoreService;
+    private final ScoreIngestionService scoreIngestionService;
+    private final WindowedLeaderboardService windowedLeaderboardService;
+    private final RankingStreamService rankingStreamService;
+    private final SongCatalogCache songCatalogCache;
 
-    // 1. 게임 끝났을 때 점수 저장 (POST /api/scores)
+    // 1. 게임 끝났을 때 점수 저장 (POST /api/scores, Authorization: Bearer {로그인 토큰})
+    // 본문: { songId, score, replay(선택, ReplayCodec 형식 Base64) } - replay 로 계산한 점수가 다르거나 곡보다 길면 422
     // [수정] DTO 대신 Map을 사용하여 들어오는 모든 데이터를 다 받습니다.
+    // 플레이어는 본문의 userId 가 아니라 토큰에서 꺼냅니다 (TokenAuthenticationFilter, DB 조회 없음)
     @PostMapping
-    public ResponseEntity<String> saveScore(@RequestBody java.util.Map<String, Object> requestData) {
-        
-        System.out.println("🔥🔥🔥 [긴급 점검] 데이터 확인: " + requestData);
-        
-        // 1. [수정] userId를 Long이 아니라 String(문자열)으로 꺼냅니다!
-        String userId = String.valueOf(requestData.get("userId")); // "testuser1"
-        
-        // 2. 나머지는 그대로
-        Long songId = Long.valueOf(String.valueOf(requestData.get("songId")));
-        Integer score = Integer.valueOf(String.valueOf(requestData.get("score")));
+    public ResponseEntity<String> saveScore(@AuthenticationPrincipal String userId,
+                                            @RequestBody java.util.Map<String, Object> requestData) throws InterruptedException {
+
+        // 1. 곡 / 점수 꺼내기 (본문에 userId 가 있어도 쓰지 않음)
+        //    없거나 숫자가 아니면 500 이 아니라 400
+        Long songId;
+        Integer score;
+        try {
+            songId = Long.valueOf(String.valueOf(requestData.get("songId")));
+            score = Integer.valueOf(String.valueOf(requestData.get("score")));
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().body("songId 와 score 는 숫자여야 합니다.");
+        }
+
+        // 2. 플레이 기록(replay, Base64)이 있으면 서버에서 점수를 다시 계산해서 맞는지 확인
+        //    노트 수는 곡 길이(메모리 곡 목록, DB 조회 없음)로 나올 수 있는 만큼까지만
+        Object replay = requestData.get("replay");
+        if (replay != null) {
+            try {
+                SongResponse song = songCatalogCache.get().find(songId);
+                int maxNotes = ReplayCodec.maxNotes(song == null ? null : song.getDuration());
+                ReplayCodec.Result result = ReplayCodec.score(Base64.getDecoder().decode(String.valueOf(replay)), maxNotes);
+                if (result.score() != score) {
+                    throw new ReplayCodec.MismatchException("점수가 플레이 기록과 맞지 않습니다. (기록으로 계산한 점수 " + result.score() + ")");
+                }
+            } catch (ReplayCodec.MismatchException e) {
+                log.warn("score.replay.mismatch userId={} songId={} score={}: {}", userId, songId, score, e.getMessage());
+                return ResponseEntity.status(422).body(e.getMessage()); // 422 Unprocessable Content
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
 
         // 3. DTO에 담기
         ScoreRequest requestDto = new ScoreRequest();
         
-        requestDto.setUserId(userId); // 👈 이제 여기 빨간 줄이 사라질 겁니다! (String -> String)
+        requestDto.setUserId(userId);
         requestDto.setSongId(songId);
         requestDto.setScore(score);
         
-        scoreService.saveScore(requestDto);
-        
-        return ResponseEntity.ok("점수가 저장되었습니다!");
+        // 4. 적재 큐에 넣고 바로 응답 (실제 저장은 백그라운드에서 배치로)
+        try {
+            if (!scoreIngestionService.submit(requestDto)) {
+                // 큐가 가득 참 - 잠시 후 다시 보내도록 안내
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body("점수 저장 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        // 점수마다 찍히므로 DEBUG (인자 배열도 켜져 있을 때만 만듦)
+        if (log.isDebugEnabled()) {
+            log.debug("score.submit userId={} songId={} score={}", userId, songId, score);
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body("점수가 접수되었습니다!");
     }
 
     // 2. 랭킹 조회 (GET /api/scores/ranking)
-    // 예: /api/scores/ranking -> Top 10 랭킹 반환
+    // 예: /api/scores/ranking -> Top 10 랭킹 반환 (기존 형식 그대로 배열)
+    // 예: /api/scores/ranking?songId=1&limit=20 -> 곡별 랭킹 첫 페이지 { items, nextCursor }
+    // 예: /api/scores/ranking?songId=1&limit=20&after={nextCursor} -> 다음 페이지
     @GetMapping("/ranking")
-    public ResponseEntity<List<RankingResponse>> getRanking() {
-        List<RankingResponse> ranking = scoreService.getTop10Ranking();
-        return ResponseEntity.ok(ranking);
+    public ResponseEntity<?> getRanking(@RequestParam(required = false) Long songId,
+                                        @RequestParam(required = false) Integer limit,
+                                        @RequestParam(required = false) String after) {
+        if (songId == null && limit == null && after == null) {
+            List<RankingResponse> ranking = scoreService.getTop10Ranking();
+            return ResponseEntity.ok(ranking);
+        }
+
+        try {
+            RankingPageResponse page = scoreService.getRankingPage(songId, limit == null ? 10 : limit, after);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // 3. 내 최고 기록 (GET /api/scores/best?userId=testuser1)
+    // 예: /api/scores/best?userId=testuser1&songId=1 -> 그 곡의 최고 기록만
+    @GetMapping("/best")
+    public ResponseEntity<List<BestScoreResponse>> getBestScores(@RequestParam String userId,
+                                                                 @RequestParam(required = false) Long songId) {
+        return ResponseEntity.ok(scoreService.getBestScores(userId, songId));
+    }
+
+    // 4. 곡별 랭킹 - 플레이어당 최고 기록 하나씩 (GET /api/scores/ranking/best?songId=1&limit=20)
+    // 다음 페이지는 /ranking 과 같이 after={nextCursor}
+    @GetMapping("/ranking/best")
+    public ResponseEntity<?> getBestRanking(@RequestParam Long songId,
+                                            @RequestParam(defaultValue = "10") int limit,
+                                            @RequestParam(required = false) String after) {
+        try {
+            return ResponseEntity.ok(scoreService.getBestRankingPage(songId, limit, after));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // 5. 기간별 랭킹 (GET /api/scores/ranking/daily | weekly | season) - 플레이어당 그 기간 최고 기록 하나씩
+    // 예: /api/scores/ranking/weekly?limit=20 -> 이번 주 상위 20 명
+    // 예: /api/scores/ranking/daily?date=2026-10-01 -> 지난 날짜의 일간 랭킹
+    @GetMapping("/ranking/{window:daily|weekly|season}")
+    public ResponseEntity<?> getWindowRanking(@PathVariable String window,
+                                              @RequestParam(defaultValue = "10") int limit,
+                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            WindowedLeaderboardService.Window w = WindowedLeaderboardService.Window.from(window);
+            List<RankingResponse> ranking = date == null
+                    ? windowedLeaderboardService.top(w, limit)
+                    : windowedLeaderboardService.top(w, date, limit);
+            return ResponseEntity.ok(ranking);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // 6. 전체 랭킹 실시간 스트림 (GET /api/scores/ranking/stream, Server-Sent Events)
+    // 접속하면 snapshot 이벤트(현재 Top 10), 이후 순위가 바뀔 때마다 diff 이벤트(entered / moved / left)
+    @GetMapping(value = "/ranking/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamRanking() {
+        SseEmitter emitter = rankingStreamService.subscribe();
+        if (emitter == null) {
+            // 구독자가 가득 참 - 잠시 후 다시 접속하도록 안내
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+        return ResponseEntity.ok(emitter);
     }
-}
\ No newline at end of file
+}
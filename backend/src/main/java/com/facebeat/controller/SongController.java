@@ -1,15 +1,19 @@
 package com.facebeat.controller;
 
 import com.facebeat.entity.Song;
+import com.facebeat.service.ChartCache;
+import com.facebeat.service.SongCatalogCache;
+import com.facebeat.service.SongSearchIndex;
 import com.facebeat.service.SongService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api")
 @CrossOrigin(origins = "http://localhost:5173") // React 앱 주소
@@ -17,11 +21,94 @@ import java.util.List;
 public class SongController {
 
     private final SongService songService;
+    private final SongCatalogCache songCatalogCache;
+    private final SongSearchIndex songSearchIndex;
+    private final ChartCache chartCache;
 
+    // 곡 목록 (GET /api/songs)
+    // 미리 직렬화해 둔 JSON(또는 gzip) 바이트를 그대로 씁니다.
+    // If-None-Match 가 현재 ETag 와 같으면 DB 조회/직렬화 없이 304 를 돌려줍니다.
     @GetMapping("/songs")
-    public ResponseEntity<List<Song>> getSongs() {
-        List<Song> songs = songService.getAllSongs();
-        return ResponseEntity.ok(songs);
+    public ResponseEntity<byte[]> getSongs(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        SongCatalogCache.Snapshot catalog = songCatalogCache.get();
+
+        if (ifNoneMatch != null && (ifNoneMatch.contains(catalog.etag()) || ifNoneMatch.trim().equals("*"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(catalog.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(catalog.etag())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(catalog.gzip());
+        }
+        return response.body(catalog.json());
+    }
+
+    // 곡 검색 (GET /api/songs/search?q=&bpmMin=&bpmMax=&difficulty=&page=&size=)
+    // DB 를 거치지 않고 메모리 색인(SongSearchIndex)에서 찾습니다. 모든 조건은 생략 가능, page 는 0 부터.
+    // 예: /api/songs/search?q=아이유&difficulty=2 -> { items, total, page, size }
+    @GetMapping("/songs/search")
+    public ResponseEntity<?> searchSongs(@RequestParam(required = false) String q,
+                                         @RequestParam(required = false) Integer bpmMin,
+                                         @RequestParam(required = false) Integer bpmMax,
+                                         @RequestParam(required = false) Integer difficulty,
+                                         @RequestParam(defaultValue = "0") int page,
+                                         @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(songSearchIndex.search(q, bpmMin, bpmMax, difficulty, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // 노트 차트 (GET /api/songs/{id}/chart)
+    // 기본은 바이너리(ChartCodec 형식), ?format=json 이거나 Accept 가 JSON 만 원하면 JSON 으로 줍니다.
+    // 둘 다 곡마다 한 번 만들어 둔 바이트 배열을 그대로 씁니다.
+    @GetMapping("/songs/{id}/chart")
+    public ResponseEntity<byte[]> getChart(
+            @PathVariable Long id,
+            @RequestParam(value = "format", required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        if (songCatalogCache.get().find(id) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        ChartCache.Chart chart = chartCache.get(id);
+        if (chart.noteCount() == 0) {
+            // 아직 분석 중이거나 분석에 실패한 곡
+            return ResponseEntity.notFound().build();
+        }
+
+        boolean json = "json".equals(format)
+                || (format == null && accept != null
+                    && accept.contains(MediaType.APPLICATION_JSON_VALUE)
+                    && !accept.contains(MediaType.APPLICATION_OCTET_STREAM_VALUE));
+        String etag = json ? chart.jsonEtag() : chart.etag();
+
+        if (ifNoneMatch != null && ifNoneMatch.contains(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .contentType(json ? MediaType.APPLICATION_JSON : MediaType.APPLICATION_OCTET_STREAM)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(json ? chart.json() : chart.binary());
     }
 
     @PostMapping("/songs")
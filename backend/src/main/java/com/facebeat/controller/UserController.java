@@ -2,7 +2,9 @@ package com.facebeat.controller;
 
 import com.facebeat.dto.request.LoginRequest;
 import com.facebeat.dto.request.SignupRequest;
+import com.facebeat.dto.response.TokenResponse;
 import com.facebeat.entity.User;
+import com.facebeat.service.AuthService;
 import com.facebeat.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -18,6 +20,7 @@ import java.util.Map;
 public class UserController {
 
     private final UserService userService;
+    private final AuthService authService;
 
     // 1. 아이디 중복 확인 (GET /api/users/check-id?userId=test)
     @GetMapping("/check-id")
@@ -34,7 +37,7 @@ public class UserController {
         }
     }
 
-    // 2. 회원가입 (POST /api/users/signup)
+    // 2. 회원가입 (POST /api/users/signup) - 해시 스레드 풀이 가득 차면 429 (ApiExceptionHandler)
     @PostMapping("/signup")
     public ResponseEntity<?> signup(@RequestBody SignupRequest signupRequest) {
         try {
@@ -49,7 +52,7 @@ public class UserController {
     // 3. 로그인 (POST /api/users/login)
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
-        // UserService의 login 기능 호출
+        // UserService의 login 기능 호출 (해시 스레드 풀이 가득 차면 429, ApiExceptionHandler)
         User user = userService.login(loginRequest.getUserId(), loginRequest.getPassword());
 
         if (user != null) {
@@ -58,6 +61,10 @@ public class UserController {
             response.put("userId", user.getUserId());
             response.put("userName", user.getUsername());
             response.put("message", "로그인 성공");
+            // 이후 요청(점수 저장 등)은 Authorization: Bearer {token} 으로 보냄
+            TokenResponse token = authService.issueToken(user.getUserId());
+            response.put("token", token.getToken());
+            response.put("expiresAt", token.getExpiresAt());
             
             return ResponseEntity.ok(response);
         } else {
@@ -0,0 +1,20 @@
+package com.facebeat.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 내 최고 기록 응답용 (곡마다 한 줄)
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BestScoreResponse {
+    private Long songId;
+    private String songTitle;
+    private int score;
+    // 최고 기록을 낸 점수 id 와 시각
+    private Long scoreId;
+    private LocalDateTime achievedAt;
+}
@@ -0,0 +1,38 @@
+package com.facebeat.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 랭킹 스트림의 diff 이벤트 - 직전 version 에서 바뀐 것만 (순위는 1 부터)
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RankingDiffResponse {
+    private long version;
+    // 새로 순위에 들어온 기록
+    private List<Entered> entered;
+    // 순위가 바뀐 기록
+    private List<Moved> moved;
+    // 순위 밖으로 나간 기록의 scoreId
+    private List<Long> left;
+
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Entered {
+        private int rank;
+        private RankingResponse item;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Moved {
+        private long scoreId;
+        private int from;
+        private int to;
+    }
+}
@@ -0,0 +1,17 @@
+package com.facebeat.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RankingPageResponse {
+    private List<RankingResponse> items;
+
+    // 다음 페이지 요청 시 after 파라미터로 그대로 넘기면 됨 (마지막 페이지면 null)
+    private String nextCursor;
+}
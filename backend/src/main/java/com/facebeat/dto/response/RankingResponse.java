@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Builder
 @AllArgsConstructor
@@ -18,4 +20,9 @@ public class RankingResponse {
     
     // 프론트엔드에서 item.score로 사용함
     private int score;
-}
\ No newline at end of file
+
+    // 다음 페이지 커서(점수, 기록 시각, id)를 만들 때 사용
+    private Long scoreId;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,17 @@
+package com.facebeat.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 랭킹 스트림(GET /api/scores/ranking/stream) 의 snapshot 이벤트 - 접속 직후 / 다시 맞출 때 보내는 전체 순위
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RankingSnapshotResponse {
+    // 이후 diff 이벤트의 version 과 이어짐
+    private long version;
+    private List<RankingResponse> items;
+}
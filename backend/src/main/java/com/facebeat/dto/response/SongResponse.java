@@ -0,0 +1,24 @@
+package com.facebeat.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 곡 목록 응답용 (Song 엔티티와 같은 필드 이름이라 프론트엔드 코드는 그대로 사용)
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SongResponse {
+    private Long id;
+    private String title;
+    private String artist;
+    private String filePath;
+    private String imagePath;
+    private String thumbnailPath;
+    private Integer bpm;
+    private Integer difficulty;
+    private Integer duration;
+    private LocalDateTime createdAt;
+}
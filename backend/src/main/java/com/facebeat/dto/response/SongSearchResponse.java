@@ -0,0 +1,21 @@
+package com.facebeat.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SongSearchResponse {
+    private List<SongResponse> items;
+
+    // 조건에 맞는 전체 곡 수 (페이지 수 계산용)
+    private int total;
+
+    // 0 부터
+    private int page;
+    private int size;
+}
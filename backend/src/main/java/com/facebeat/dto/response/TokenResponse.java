@@ -2,18 +2,13 @@ package com.facebeat.dto.response;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.NoArgsConstructor; // 혹시 필요할 수 있음
-import lombok.Setter; // 혹시 필요할 수 있음
+import lombok.NoArgsConstructor;
 
+// 로그인 토큰 (Authorization: Bearer {token} 으로 보냄), expiresAt 은 만료 시각(epoch 초)
 @Getter
+@NoArgsConstructor
 @AllArgsConstructor
 public class TokenResponse {
-    private Long id;
     private String token;
-
-    public TokenResponse() {}
-    public TokenResponse(String token) { this.token = token; }
-
-    public String getToken() { return token; }
-    public void setToken(String token) { this.token = token; }
+    private long expiresAt;
 }
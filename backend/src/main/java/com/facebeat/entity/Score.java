@@ -2,6 +2,7 @@ package com.facebeat.entity;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -13,7 +14,10 @@ import lombok.Setter;
 @Table(name = "scores")
 public class Score {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // IDENTITY 는 JDBC 배치를 막기 때문에 시퀀스(V11, 50개씩 미리 할당)로 발급
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "scores_seq")
+    @SequenceGenerator(name = "scores_seq", sequenceName = "scores_seq", allocationSize = 50)
     private Long id;
 
     // 🔥 [핵심 수정] 객체 연결(@ManyToOne)을 끊고, 단순 문자열 ID로 저장!
@@ -28,7 +32,8 @@ public class Score {
     @Column(name = "score_value")
     private Integer score;
 
-    @Column(name = "created_at", insertable = false, updatable = false)
+    // 메모리 리더보드와 DB 의 정렬 기준이 같아야 하므로 기록 시각은 애플리케이션에서 채웁니다.
+    @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
     // 생성자 (서비스에서 저장할 때 사용)
@@ -38,4 +43,12 @@ public class Score {
         this.song = song;
         this.score = score;
     }
+
+    @PrePersist
+    void prePersist() {
+        // DATETIME 컬럼은 초 단위까지만 저장되므로 미리 잘라서 메모리 값과 맞춥니다.
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        }
+    }
 }
\ No newline at end of file
@@ -29,11 +29,34 @@ public class Song {
     @Column(name = "image_path")
     private String imagePath;
 
+    // 목록용 축소 커버 (MediaProcessingService 가 업로드 후에 채움)
+    @Column(name = "thumbnail_path")
+    private String thumbnailPath;
+
     private Integer bpm;
 
     private Integer difficulty;
 
+    // 곡 길이 (초) - MediaProcessingService 가 업로드 후에 채움
+    private Integer duration;
+
     @Column(name = "created_at", insertable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // 업로드 후처리 상태 (V19) - 서버 시작 때는 PENDING 인 곡만 다시 처리
+    @Enumerated(EnumType.STRING)
+    @Column(name = "media_status", nullable = false)
+    private MediaStatus mediaStatus = MediaStatus.PENDING;
+
+    // 후처리가 실패한 횟수 (media.processing.max-attempts 에 닿으면 FAILED 로 두고 더 시도하지 않음)
+    @Column(name = "media_attempts", nullable = false)
+    private int mediaAttempts;
+
+    public enum MediaStatus {
+        PENDING,    // 아직 처리 안 됨 / 실패했지만 다시 시도할 것
+        DONE,       // 길이, 축소본, 차트 모두 반영
+        EMPTY,      // 분석했지만 노트가 하나도 안 나옴 (다시 분석해도 같음)
+        FAILED      // 계속 실패함 (파일 없음, 읽을 수 없는 형식 등)
+    }
+
 }
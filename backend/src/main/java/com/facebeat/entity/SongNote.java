@@ -17,9 +17,15 @@ public class SongNote {
     // 노트 시간(ms) 같은 용도
     private Integer time_ms;
 
-    // 예: lane(1~4)
+    // 레인 (0 ~ 4, 프론트엔드 EMOTIONS 순서)
     private Integer lane;
 
+    // 난이도 (1 = EASY, 2 = NORMAL, 3 = HARD)
+    private Integer difficulty;
+
+    // 노트 종류 (0 = 일반, 1 = 강세)
+    private Integer note_type;
+
     @Column(name = "created_at", insertable = false, updatable = false)
     private LocalDateTime created_at;
 
@@ -29,10 +35,14 @@ public class SongNote {
     public Song getSong() { return song; }
     public Integer getTime_ms() { return time_ms; }
     public Integer getLane() { return lane; }
+    public Integer getDifficulty() { return difficulty; }
+    public Integer getNote_type() { return note_type; }
     public LocalDateTime getCreated_at() { return created_at; }
 
     public void setId(Long id) { this.id = id; }
     public void setSong(Song song) { this.song = song; }
     public void setTime_ms(Integer time_ms) { this.time_ms = time_ms; }
     public void setLane(Integer lane) { this.lane = lane; }
+    public void setDifficulty(Integer difficulty) { this.difficulty = difficulty; }
+    public void setNote_type(Integer note_type) { this.note_type = note_type; }
 }
\ No newline at end of file
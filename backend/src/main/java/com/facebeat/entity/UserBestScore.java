@@ -0,0 +1,53 @@
+package com.facebeat.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+// 플레이어별 곡별 최고 기록 (V14). 쓰기는 ScoreService 가 점수 저장과 같은 트랜잭션에서 SQL 로 upsert 하므로
+// 엔티티는 읽기 전용입니다.
+@Entity
+@Immutable
+@Getter
+@NoArgsConstructor
+@Table(name = "user_best_scores")
+@IdClass(UserBestScore.Key.class)
+public class UserBestScore {
+
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    @Id
+    @Column(name = "song_id")
+    private Long songId;
+
+    // 곡 제목을 같이 조회할 때만 사용
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "song_id", insertable = false, updatable = false)
+    private Song song;
+
+    @Column(name = "score_value")
+    private Integer score;
+
+    @Column(name = "score_id")
+    private Long scoreId;
+
+    @Column(name = "achieved_at")
+    private LocalDateTime achievedAt;
+
+    // 복합 키 (user_id, song_id)
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String userId;
+        private Long songId;
+    }
+}
@@ -1,15 +1,56 @@
 package com.facebeat.repository;
 
+import com.facebeat.dto.response.RankingResponse;
 import com.facebeat.entity.Score;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ScoreRepository extends JpaRepository<Score, Long> {
 
-    // 🏆 Top 10 랭킹 조회
-    // 변수명 변경 반영: s.music -> s.song, s.scoreValue -> s.score
-    // JPQL 쿼리 수정
-    @Query("SELECT s FROM Score s JOIN FETCH s.song ORDER BY s.score DESC, s.createdAt ASC")
-    List<Score> findTop10ByOrderByScoreDescCreatedAtAsc();
-}
\ No newline at end of file
+    // 🏆 전체 랭킹 상위 N 개 (N 은 Pageable 로 넘겨서 LIMIT 이 붙도록 함)
+    // 리더보드 캐시를 다시 채울 때만 사용합니다.
+    @Query("SELECT s FROM Score s JOIN FETCH s.song ORDER BY s.score DESC, s.createdAt ASC, s.id ASC")
+    List<Score> findRanking(Pageable pageable);
+
+    // 🎵 곡별 랭킹 상위 N 개
+    @Query("SELECT s FROM Score s JOIN FETCH s.song WHERE s.song.id = :songId " +
+           "ORDER BY s.score DESC, s.createdAt ASC, s.id ASC")
+    List<Score> findRankingBySongId(@Param("songId") Long songId, Pageable pageable);
+
+    // 다른 서버가 저장한 점수를 리더보드에 반영할 때 사용 (ChangeLogPoller)
+    @Query("SELECT s FROM Score s JOIN FETCH s.song WHERE s.id IN :ids")
+    List<Score> findAllWithSongByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 📄 랭킹 페이지 조회 (keyset 방식, OFFSET 없음)
+    // 엔티티 대신 RankingResponse 로 바로 받아서 Song 을 통째로 읽어오지 않습니다.
+    // idx_scores_song_rank / idx_scores_rank (V10) 인덱스를 그대로 타므로 몇 번째 페이지든 비용이 같습니다.
+    String RANKING_ROW = "SELECT new com.facebeat.dto.response.RankingResponse(" +
+            "s.userId, s.song.title, s.score, s.id, s.createdAt) FROM Score s ";
+    String RANKING_ORDER = " ORDER BY s.score DESC, s.createdAt ASC, s.id ASC";
+    String AFTER_CURSOR = "s.score <= :score AND (s.score < :score OR s.createdAt > :createdAt " +
+            "OR (s.createdAt = :createdAt AND s.id > :scoreId))";
+
+    @Query(RANKING_ROW + "WHERE s.song.id = :songId" + RANKING_ORDER)
+    List<RankingResponse> findSongRankingPage(@Param("songId") Long songId, Pageable pageable);
+
+    @Query(RANKING_ROW + "WHERE s.song.id = :songId AND " + AFTER_CURSOR + RANKING_ORDER)
+    List<RankingResponse> findSongRankingPageAfter(@Param("songId") Long songId,
+                                                   @Param("score") int score,
+                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("scoreId") long scoreId,
+                                                   Pageable pageable);
+
+    @Query(RANKING_ROW + RANKING_ORDER)
+    List<RankingResponse> findRankingPage(Pageable pageable);
+
+    @Query(RANKING_ROW + "WHERE " + AFTER_CURSOR + RANKING_ORDER)
+    List<RankingResponse> findRankingPageAfter(@Param("score") int score,
+                                               @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("scoreId") long scoreId,
+                                               Pageable pageable);
+}
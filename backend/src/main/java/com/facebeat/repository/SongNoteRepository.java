@@ -2,5 +2,11 @@ package com.facebeat.repository;
 
 import com.facebeat.entity.SongNote;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface SongNoteRepository extends JpaRepository<SongNote, Long> {}
+public interface SongNoteRepository extends JpaRepository<SongNote, Long> {
+
+    @Query("SELECT COUNT(n) > 0 FROM SongNote n WHERE n.song.id = :songId")
+    boolean existsBySongId(@Param("songId") Long songId);
+}
@@ -1,6 +1,69 @@
 package com.facebeat.repository;
 
+import com.facebeat.dto.response.SongResponse;
 import com.facebeat.entity.Song;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface SongRepository extends JpaRepository<Song, Long> {}
+import java.util.List;
+import java.util.Optional;
+
+public interface SongRepository extends JpaRepository<Song, Long> {
+
+    // id 만 필요할 때 (엔티티를 만들지 않음)
+    @Query("SELECT s.id FROM Song s")
+    List<Long> findAllIds();
+
+    // 곡 목록 캐시용 projection (엔티티를 만들지 않고 바로 DTO 로)
+    @Query("SELECT new com.facebeat.dto.response.SongResponse(" +
+           "s.id, s.title, s.artist, s.filePath, s.imagePath, s.thumbnailPath, s.bpm, s.difficulty, s.duration, s.createdAt) " +
+           "FROM Song s ORDER BY s.id")
+    List<SongResponse> findAllResponses();
+
+    // 검색 색인에 곡 하나만 다시 넣을 때
+    @Query("SELECT new com.facebeat.dto.response.SongResponse(" +
+           "s.id, s.title, s.artist, s.filePath, s.imagePath, s.thumbnailPath, s.bpm, s.difficulty, s.duration, s.createdAt) " +
+           "FROM Song s WHERE s.id = :id")
+    Optional<SongResponse> findResponseById(@Param("id") Long id);
+
+    // 내용 기반 저장소 참조 수 (같은 파일을 여러 곡이 공유할 수 있음)
+    long countByFilePath(String filePath);
+
+    long countByImagePath(String imagePath);
+
+    // 미디어 후처리 결과 반영 (null 인 값은 기존 값을 유지)
+    @Modifying
+    @Transactional
+    @Query("UPDATE Song s SET s.duration = COALESCE(:duration, s.duration), " +
+           "s.thumbnailPath = COALESCE(:thumbnailPath, s.thumbnailPath) WHERE s.id = :id")
+    int updateMedia(@Param("id") Long id,
+                    @Param("duration") Integer duration,
+                    @Param("thumbnailPath") String thumbnailPath);
+
+    // 후처리를 (다시) 해야 하는 곡 - id 순으로 조금씩 (MediaProcessingService.processPending)
+    @Query("SELECT s FROM Song s WHERE s.mediaStatus = :status AND s.id > :afterId AND s.id <= :untilId ORDER BY s.id")
+    List<Song> findByMediaStatusInIdRange(@Param("status") Song.MediaStatus status,
+                                          @Param("afterId") long afterId,
+                                          @Param("untilId") long untilId,
+                                          Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(s.id), 0) FROM Song s")
+    long findMaxId();
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Song s SET s.mediaStatus = :status WHERE s.id = :id")
+    int updateMediaStatus(@Param("id") Long id, @Param("status") Song.MediaStatus status);
+
+    // 실패 횟수 +1, maxAttempts 에 닿으면 FAILED (MySQL 은 SET 을 앞에서부터 적용하므로 상태를 먼저 계산)
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE music SET media_status = CASE WHEN media_attempts + 1 >= :maxAttempts " +
+                   "THEN 'FAILED' ELSE 'PENDING' END, media_attempts = media_attempts + 1 WHERE id = :id",
+           nativeQuery = true)
+    int recordMediaFailure(@Param("id") Long id, @Param("maxAttempts") int maxAttempts);
+}
@@ -0,0 +1,42 @@
+package com.facebeat.repository;
+
+import com.facebeat.dto.response.BestScoreResponse;
+import com.facebeat.dto.response.RankingResponse;
+import com.facebeat.entity.UserBestScore;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface UserBestScoreRepository extends JpaRepository<UserBestScore, UserBestScore.Key> {
+
+    // 👤 내 최고 기록 (기본 키 (user_id, song_id) 앞부분으로 바로 찾음)
+    String BEST_ROW = "SELECT new com.facebeat.dto.response.BestScoreResponse(" +
+            "b.songId, b.song.title, b.score, b.scoreId, b.achievedAt) FROM UserBestScore b ";
+
+    @Query(BEST_ROW + "WHERE b.userId = :userId ORDER BY b.songId")
+    List<BestScoreResponse> findBestsByUserId(@Param("userId") String userId);
+
+    @Query(BEST_ROW + "WHERE b.userId = :userId AND b.songId = :songId")
+    List<BestScoreResponse> findBest(@Param("userId") String userId, @Param("songId") Long songId);
+
+    // 🎵 곡별 랭킹 - 플레이어당 최고 기록 한 줄 (keyset 방식, ScoreRepository 와 같은 정렬/커서)
+    // idx_user_best_song_rank (V14) 를 그대로 타므로 GROUP BY 없이 필요한 만큼만 읽습니다.
+    String RANKING_ROW = "SELECT new com.facebeat.dto.response.RankingResponse(" +
+            "b.userId, b.song.title, b.score, b.scoreId, b.achievedAt) FROM UserBestScore b ";
+    String RANKING_ORDER = " ORDER BY b.score DESC, b.achievedAt ASC, b.scoreId ASC";
+    String AFTER_CURSOR = "b.score <= :score AND (b.score < :score OR b.achievedAt > :createdAt " +
+            "OR (b.achievedAt = :createdAt AND b.scoreId > :scoreId))";
+
+    @Query(RANKING_ROW + "WHERE b.songId = :songId" + RANKING_ORDER)
+    List<RankingResponse> findSongRankingPage(@Param("songId") Long songId, Pageable pageable);
+
+    @Query(RANKING_ROW + "WHERE b.songId = :songId AND " + AFTER_CURSOR + RANKING_ORDER)
+    List<RankingResponse> findSongRankingPageAfter(@Param("songId") Long songId,
+                                                   @Param("score") int score,
+                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("scoreId") long scoreId,
+                                                   Pageable pageable);
+}
@@ -2,6 +2,12 @@ package com.facebeat.repository;
 
 import com.facebeat.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -11,4 +17,23 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     // (참고) 만약 이름으로 찾을 일이 있다면 남겨둡니다 (로그인엔 안 씀)
     Optional<User> findByUsername(String username);
-}
\ No newline at end of file
+
+    // 아이디 중복 확인용: 존재 여부만 (엔티티/비밀번호 해시는 읽지 않음)
+    boolean existsByUserId(String userId);
+
+    // 아이디 인덱스(UserIdIndex)를 만들 때: 로그인 아이디만 (엔티티/비밀번호 해시는 읽지 않음)
+    @Query("SELECT u.userId FROM User u")
+    List<String> findAllUserIds();
+
+    // 점수 일괄 가져오기 검증용: 주어진 아이디 중 실제로 있는 것만 (chunk 단위로 한 번에)
+    @Query("SELECT u.userId FROM User u WHERE u.userId IN :userIds")
+    List<String> findExistingUserIds(@Param("userIds") Collection<String> userIds);
+
+    // 로그인 시 cost 가 바뀐 해시를 교체 (그 사이 비밀번호가 바뀌었으면 갱신하지 않음)
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int updatePasswordHash(@Param("id") Long id,
+                           @Param("oldHash") String oldHash,
+                           @Param("newHash") String newHash);
+}
@@ -0,0 +1,142 @@
+package com.facebeat.service;
+
+import com.facebeat.dto.response.TokenResponse;
+import com.facebeat.util.JwtUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.ObjectMapper;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 로그인 토큰 발급 / 검증.
+ *
+ * 토큰은 JwtUtil 의 HMAC 서명 토큰이라 검증에 DB 조회가 없습니다.
+ * 한 번 검증한 토큰은 만료 시각과 함께 auth.token.cache-size 개까지 기억해서,
+ * 같은 토큰으로 다시 오는 요청(게임 한 판 동안의 점수 저장, 랭킹 조회)은 서명 계산도 건너뜁니다.
+ * 키 교체: auth.token.keys 에 새 키를 추가하고 active-kid 를 바꾼 뒤, 옛 키는 ttl 이 지나면 지웁니다.
+ * 토큰에는 권한(Role)이 들어가고, TokenAuthenticationFilter 가 ROLE_PLAYER / ROLE_ADMIN 으로 바꿉니다.
+ */
+@Slf4j
+@Service
+public class AuthService {
+
+    /** 토큰의 role 값 */
+    public enum Role {
+        PLAYER, ADMIN;
+
+        // 모르는 값이나 role 이 없는 예전 토큰은 플레이어
+        public static Role of(String name) {
+            return ADMIN.name().equals(name) ? ADMIN : PLAYER;
+        }
+    }
+
+    private final JwtUtil jwtUtil;
+    private final int cacheSize;
+
+    // 토큰 -> 검증 결과
+    private final Map<String, JwtUtil.Claims> verified = new ConcurrentHashMap<>();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    // 캐시가 가득 찼을 때 만료된 것을 훑은 마지막 시각(초) - 1 초에 한 번만 훑음
+    private volatile long lastSweep;
+
+    public AuthService(ObjectMapper objectMapper,
+                       @Value("${auth.token.keys:}") List<String> keys,
+                       @Value("${auth.token.active-kid:}") String activeKid,
+                       @Value("${auth.token.ttl-minutes:720}") long ttlMinutes,
+                       @Value("${auth.token.cache-size:10000}") int cacheSize) {
+        Map<String, byte[]> secrets = new LinkedHashMap<>();
+        for (String entry : keys) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int colon = entry.indexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("auth.token.keys 는 kid:Base64비밀키 형식이어야 합니다.");
+            }
+            secrets.put(entry.substring(0, colon).trim(), Base64.getDecoder().decode(entry.substring(colon + 1).trim()));
+        }
+        if (secrets.isEmpty()) {
+            // 키 설정이 없으면 실행할 때마다 새 키 - 재시작하면 토큰이 모두 무효, 서버 여러 대에서는 서로 검증 못함
+            byte[] secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+            secrets.put("local", secret);
+            activeKid = "local";
+            log.warn("auth.token.keys 가 없어 임시 서명 키를 만들었습니다 (재시작하면 로그인 토큰이 모두 무효가 됩니다).");
+        } else if (activeKid.isBlank()) {
+            // 지정이 없으면 목록의 첫 키로 서명
+            activeKid = secrets.keySet().iterator().next();
+        }
+        this.jwtUtil = new JwtUtil(objectMapper, secrets, activeKid, ttlMinutes * 60);
+        this.cacheSize = cacheSize;
+    }
+
+    /** 로그인 성공한 플레이어에게 줄 토큰 */
+    public TokenResponse issueToken(String userId) {
+        return issueToken(userId, Role.PLAYER);
+    }
+
+    public TokenResponse issueToken(String userId, Role role) {
+        long now = nowSeconds();
+        return new TokenResponse(jwtUtil.issue(userId, role.name(), now), now + jwtUtil.ttlSeconds());
+    }
+
+    /**
+     * Authorization 헤더의 토큰을 검증하고 내용(userId, role)을 돌려줍니다.
+     * 잘못되었거나 만료된 토큰이면 JwtUtil.InvalidTokenException.
+     */
+    public JwtUtil.Claims authenticate(String token) {
+        long now = nowSeconds();
+        JwtUtil.Claims claims = verified.get(token);
+        if (claims != null) {
+            if (claims.expiresAt() > now) {
+                cacheHits.increment();
+                return claims;
+            }
+            verified.remove(token);
+        }
+
+        cacheMisses.increment();
+        claims = jwtUtil.verify(token, now);
+        remember(token, claims, now);
+        return claims;
+    }
+
+    private void remember(String token, JwtUtil.Claims claims, long now) {
+        if (verified.size() >= cacheSize) {
+            // 가득 차면 만료된 것부터 지우고, 그래도 가득이면 이번 토큰은 기억하지 않음 (다음에 다시 서명 확인)
+            if (lastSweep != now) {
+                lastSweep = now;
+                verified.values().removeIf(c -> c.expiresAt() <= now);
+            }
+            if (verified.size() >= cacheSize) {
+                return;
+            }
+        }
+        verified.put(token, claims);
+    }
+
+    public long cacheHitCount() {
+        return cacheHits.sum();
+    }
+
+    public long cacheMissCount() {
+        return cacheMisses.sum();
+    }
+
+    public int cacheSize() {
+        return verified.size();
+    }
+
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
@@ -0,0 +1,277 @@
+package com.facebeat.service;
+
+import com.facebeat.entity.Score;
+import com.facebeat.repository.ScoreRepository;
+import com.facebeat.repository.SongRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 다른 서버가 쓴 변경 기록(change_log)을 id 순서로 따라 읽으면서 이 서버의 메모리 캐시를 맞춥니다.
+ * changelog.poll-ms 마다 한 번 읽으므로 다른 서버의 변경은 대략 그 시간 안에 보입니다.
+ *
+ * AUTO_INCREMENT id 는 INSERT 순서로 잡히지만 커밋 순서는 다를 수 있어서, 중간에 빈 id 가 있으면
+ * 아직 커밋 안 된 것일 수 있습니다. 그래서 "여기까지는 다 처리함" 위치(watermark)는 빈 id 에서 멈추고,
+ * 그 뒤의 줄은 먼저 처리해 두었다가 빈 id 가 채워지면 넘어갑니다.
+ * 빈 id 바로 뒤의 줄이 changelog.gap-timeout-ms 넘게 보였는데도 안 채워지면 롤백으로 보고 건너뜁니다.
+ * 새 줄은 "지금까지 읽은 가장 큰 id" 뒤부터 읽고, 빈 id 는 따로 다시 확인합니다. 그래서 빈 id 뒤에
+ * batch-size 넘게 쌓여도 같은 줄을 계속 다시 읽지 않고 새 변경이 늦어지지 않습니다.
+ *
+ * 적용이 실패한 줄(primary 일시 오류 등)은 처리한 것으로 치지 않고 다음 poll 에서 다시 시도합니다.
+ * watermark 는 그 줄 앞에서 멈추고, changelog.max-attempts 번 실패하면 포기하고 넘어갑니다.
+ *
+ * 적용은 모두 여러 번 해도 같은 결과가 나오도록 합니다 (곡은 DB 에서 존재 여부를 다시 확인, 점수는 scoreId 로 중복 제거).
+ * 적용할 때의 조회는 모두 primary 에서 합니다. 변경 기록은 primary 에서 읽었는데 복제본이 아직 따라오지 않았으면
+ * 방금 추가된 곡이 "없는 곡"으로 보여 캐시에서 빠지거나, 점수를 못 찾아 리더보드에 빠지기 때문입니다.
+ */
+@Slf4j
+@Component
+public class ChangeLogPoller {
+
+    private static final String SELECT_SQL =
+            "SELECT id, type, action, entity_id, payload, origin FROM change_log WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String SELECT_GAPS_SQL =
+            "SELECT id, type, action, entity_id, payload, origin FROM change_log WHERE id IN (%s)";
+
+    private record Change(long id, ChangeLogService.Type type, ChangeLogService.Action action,
+                          String entityId, String payload, String origin) {}
+
+    private static final RowMapper<Change> CHANGE_MAPPER = (rs, rowNum) -> new Change(
+            rs.getLong(1),
+            ChangeLogService.Type.valueOf(rs.getString(2)),
+            ChangeLogService.Action.valueOf(rs.getString(3)),
+            rs.getString(4), rs.getString(5), rs.getString(6));
+
+    /** watermark 뒤에서 읽은 줄. retry 가 있으면 적용이 실패해서 다시 시도할 줄 */
+    private static final class Seen {
+        private final long firstSeenNanos;
+        private Change retry;
+        private int attempts;
+
+        private Seen(long firstSeenNanos) {
+            this.firstSeenNanos = firstSeenNanos;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeLogService changeLogService;
+    private final ReadYourWritesTracker readYourWrites;
+    private final SongRepository songRepository;
+    private final ScoreRepository scoreRepository;
+    private final SongIdCache songIdCache;
+    private final SongCatalogCache songCatalogCache;
+    private final SongSearchIndex songSearchIndex;
+    private final ChartCache chartCache;
+    private final UserIdIndex userIdIndex;
+    private final LeaderboardService leaderboardService;
+    private final int batchSize;
+    private final long gapTimeoutNanos;
+    private final long replaySeconds;
+    private final int maxAttempts;
+
+    // 이 id 까지는 모두 처리했거나 건너뜀
+    private long watermark;
+    // 지금까지 읽은 가장 큰 id (새 줄은 이 뒤부터 읽음)
+    private long highestRead;
+    // watermark 뒤에서 읽은 id (처리했거나 다시 시도할 것) - 이 사이에 없는 id 가 빈 id
+    private final TreeMap<Long, Seen> ahead = new TreeMap<>();
+
+    public ChangeLogPoller(JdbcTemplate jdbcTemplate,
+                           ChangeLogService changeLogService,
+                           ReadYourWritesTracker readYourWrites,
+                           SongRepository songRepository,
+                           ScoreRepository scoreRepository,
+                           SongIdCache songIdCache,
+                           SongCatalogCache songCatalogCache,
+                           SongSearchIndex songSearchIndex,
+                           ChartCache chartCache,
+                           UserIdIndex userIdIndex,
+                           LeaderboardService leaderboardService,
+                           @Value("${changelog.batch-size:1000}") int batchSize,
+                           @Value("${changelog.gap-timeout-ms:30000}") long gapTimeoutMillis,
+                           @Value("${changelog.replay-seconds:60}") long replaySeconds,
+                           @Value("${changelog.max-attempts:5}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.changeLogService = changeLogService;
+        this.readYourWrites = readYourWrites;
+        this.songRepository = songRepository;
+        this.scoreRepository = scoreRepository;
+        this.songIdCache = songIdCache;
+        this.songCatalogCache = songCatalogCache;
+        this.songSearchIndex = songSearchIndex;
+        this.chartCache = chartCache;
+        this.userIdIndex = userIdIndex;
+        this.leaderboardService = leaderboardService;
+        this.batchSize = batchSize;
+        this.gapTimeoutNanos = gapTimeoutMillis * 1_000_000L;
+        this.replaySeconds = replaySeconds;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * 캐시는 시작할 때 DB 에서 새로 채우므로 예전 기록은 읽지 않습니다.
+     * 다만 캐시를 채우는 동안 커밋된 변경을 놓치지 않도록 최근 replay-seconds 동안의 기록부터 다시 읽습니다.
+     */
+    @PostConstruct
+    public void start() {
+        Long last = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(id), 0) FROM change_log WHERE created_at < ?", Long.class,
+                Timestamp.valueOf(LocalDateTime.now().minusSeconds(replaySeconds)));
+        watermark = last == null ? 0 : last;
+        highestRead = watermark;
+    }
+
+    @Scheduled(fixedDelayString = "${changelog.poll-ms:500}")
+    public synchronized void poll() {
+        long now = System.nanoTime();
+
+        // 1. 지난번에 실패한 줄 다시 시도
+        for (Map.Entry<Long, Seen> entry : ahead.entrySet()) {
+            Seen seen = entry.getValue();
+            if (seen.retry != null) {
+                tryApply(seen.retry, seen);
+            }
+        }
+
+        // 2. 빈 id 가 그 사이 커밋됐는지 확인
+        List<Long> gaps = gapIds();
+        if (!gaps.isEmpty()) {
+            String placeholders = String.join(",", Collections.nCopies(gaps.size(), "?"));
+            for (Change change : jdbcTemplate.query(SELECT_GAPS_SQL.formatted(placeholders), CHANGE_MAPPER, gaps.toArray())) {
+                accept(change, now);
+            }
+        }
+
+        // 3. 새 줄
+        for (Change change : jdbcTemplate.query(SELECT_SQL, CHANGE_MAPPER, highestRead, batchSize)) {
+            accept(change, now);
+            highestRead = Math.max(highestRead, change.id());
+        }
+        advanceWatermark(now);
+    }
+
+    private void accept(Change change, long now) {
+        if (change.id() <= watermark || ahead.containsKey(change.id())) {
+            return;
+        }
+        Seen seen = new Seen(now);
+        ahead.put(change.id(), seen);
+        if (!changeLogService.nodeId().equals(change.origin())) {
+            tryApply(change, seen);
+        }
+    }
+
+    // 실패하면 seen.retry 에 남겨서 다음 poll 에서 다시 (max-attempts 번까지)
+    private void tryApply(Change change, Seen seen) {
+        try {
+            readYourWrites.onPrimary(() -> {
+                apply(change);
+                return null;
+            });
+            seen.retry = null;
+        } catch (RuntimeException e) {
+            seen.attempts++;
+            if (seen.attempts >= maxAttempts) {
+                seen.retry = null;
+                log.error("changelog.apply.gave-up id={} type={} action={} attempts={}: {}",
+                        change.id(), change.type(), change.action(), seen.attempts, e.getMessage());
+            } else {
+                seen.retry = change;
+                log.warn("changelog.apply.failed id={} type={} action={} attempt={}: {}",
+                        change.id(), change.type(), change.action(), seen.attempts, e.getMessage());
+            }
+        }
+    }
+
+    /** watermark 와 highestRead 사이에서 아직 못 읽은 id (최대 batch-size 개) */
+    private List<Long> gapIds() {
+        List<Long> gaps = new ArrayList<>();
+        for (long id = watermark + 1; id < highestRead && gaps.size() < batchSize; id++) {
+            Long next = ahead.ceilingKey(id);
+            if (next == null) {
+                break;
+            }
+            if (next != id) {
+                // id ~ next-1 이 비어 있음
+                for (long gap = id; gap < next && gaps.size() < batchSize; gap++) {
+                    gaps.add(gap);
+                }
+            }
+            id = next;
+        }
+        return gaps;
+    }
+
+    private void advanceWatermark(long now) {
+        while (!ahead.isEmpty()) {
+            Map.Entry<Long, Seen> first = ahead.firstEntry();
+            if (first.getValue().retry != null) {
+                // 적용에 실패한 줄 - 성공하거나 포기할 때까지 넘어가지 않음
+                return;
+            }
+            if (first.getKey() != watermark + 1 && now - first.getValue().firstSeenNanos < gapTimeoutNanos) {
+                // 앞에 아직 커밋 안 된 id 가 있을 수 있음 - 다음 poll 에서 다시 확인
+                return;
+            }
+            watermark = first.getKey();
+            ahead.remove(first.getKey());
+        }
+    }
+
+    private void apply(Change change) {
+        switch (change.type()) {
+            case SONG -> {
+                // 추가/수정/삭제 순서가 뒤바뀌어 들어와도 맞도록 지금 DB 상태를 기준으로 반영
+                Long songId = Long.valueOf(change.entityId());
+                if (songRepository.existsById(songId)) {
+                    songIdCache.add(songId);
+                } else {
+                    songIdCache.remove(songId);
+                    chartCache.invalidate(songId);
+                    leaderboardService.removeSong(songId);
+                }
+                songCatalogCache.invalidate();
+                songSearchIndex.refresh(songId);
+            }
+            case CHART -> chartCache.invalidate(Long.valueOf(change.entityId()));
+            case USER -> userIdIndex.add(change.entityId());
+            case SCORE -> {
+                if (change.action() == ChangeLogService.Action.ARCHIVED) {
+                    leaderboardService.rebuild();
+                } else {
+                    List<Score> scores = scoreRepository.findAllWithSongByIdIn(parseIds(change.payload()));
+                    leaderboardService.recordAfterCommit(scores);
+                }
+            }
+        }
+    }
+
+    private static List<Long> parseIds(String payload) {
+        List<Long> ids = new ArrayList<>();
+        if (payload == null || payload.isEmpty()) {
+            return ids;
+        }
+        for (String id : payload.split(",")) {
+            ids.add(Long.valueOf(id));
+        }
+        return ids;
+    }
+
+    /** 처리 위치 (테스트/모니터링용) */
+    public synchronized long watermark() {
+        return watermark;
+    }
+}
@@ -0,0 +1,73 @@
+package com.facebeat.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 변경 기록(change_log, V17) 쓰기.
+ * 곡/차트/회원/점수를 바꾸는 서비스가 같은 트랜잭션 안에서 append() 를 부르면,
+ * 다른 서버의 ChangeLogPoller 가 읽어서 자기 메모리 캐시를 갱신합니다 (롤백되면 기록도 같이 사라짐).
+ */
+@Slf4j
+@Service
+public class ChangeLogService {
+
+    public enum Type { SONG, CHART, USER, SCORE }
+
+    public enum Action { ADDED, UPDATED, DELETED, ARCHIVED }
+
+    private static final String INSERT_SQL =
+            "INSERT INTO change_log (type, action, entity_id, payload, origin, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int retentionHours;
+
+    // 이 서버(프로세스)를 구분하는 값 - 시작할 때마다 새로 만듦
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public ChangeLogService(JdbcTemplate jdbcTemplate,
+                            @Value("${changelog.retention-hours:24}") int retentionHours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retentionHours = retentionHours;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Type type, Action action, Object entityId) {
+        append(type, action, entityId, null);
+    }
+
+    /** 변경 한 줄을 씁니다. 변경과 같은 트랜잭션 안에서만 부를 수 있습니다. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Type type, Action action, Object entityId, String payload) {
+        jdbcTemplate.update(INSERT_SQL, type.name(), action.name(),
+                entityId == null ? null : entityId.toString(), payload, nodeId,
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /** 보관 시간이 지난 기록을 조금씩 지웁니다. */
+    @Scheduled(cron = "${changelog.prune-cron:0 15 * * * *}")
+    public void prune() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusHours(retentionHours));
+        long deleted = 0;
+        int chunk;
+        while ((chunk = jdbcTemplate.update("DELETE FROM change_log WHERE created_at < ? LIMIT 10000", cutoff)) > 0) {
+            deleted += chunk;
+        }
+        if (deleted > 0) {
+            log.info("changelog.prune cutoff={} deleted={}", cutoff, deleted);
+        }
+    }
+}
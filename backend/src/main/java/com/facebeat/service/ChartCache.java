@@ -0,0 +1,138 @@
+package com.facebeat.service;
+
+import com.facebeat.util.ChartCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * GET /api/songs/{id}/chart 응답 캐시.
+ * 곡마다 song_notes 를 한 번 읽어서 바이너리 / JSON 바이트로 만들어 두고 그대로 씁니다.
+ * 전체 바이트 수가 charts.cache.max-bytes 를 넘으면 가장 오래 안 쓴 곡부터 버립니다 (LRU).
+ * 노트가 바뀌면 NoteChartService 가 커밋 후 invalidate() 를 부릅니다.
+ */
+@Component
+public class ChartCache {
+
+    public record Chart(byte[] binary, byte[] json, String etag, int noteCount) {
+
+        public String jsonEtag() {
+            return etag.substring(0, etag.length() - 1) + "-json\"";
+        }
+
+        long sizeInBytes() {
+            return binary.length + json.length + 64L;
+        }
+    }
+
+    private static final String SELECT_NOTES_SQL =
+            "SELECT difficulty, time_ms, lane, note_type FROM song_notes WHERE song_id = ? ORDER BY difficulty, time_ms";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxBytes;
+
+    // 접근 순서 LinkedHashMap (entries 로 잠금)
+    private final LinkedHashMap<Long, Chart> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    // 같은 곡을 여러 요청이 동시에 만들지 않도록
+    private final Map<Long, CompletableFuture<Chart>> loading = new ConcurrentHashMap<>();
+
+    // invalidate() 마다 증가하는 시계와 곡별 마지막 무효화 시각 (entries 로 잠금)
+    // 만드는 도중에 그 곡이 무효화되면 그 결과는 저장하지 않음. 다른 곡의 무효화는 상관없음
+    private long clock;
+    private final Map<Long, Long> invalidatedAt = new HashMap<>();
+
+    public ChartCache(JdbcTemplate jdbcTemplate,
+                      @Value("${charts.cache.max-bytes:16777216}") long maxBytes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxBytes = maxBytes;
+    }
+
+    public Chart get(Long songId) {
+        synchronized (entries) {
+            Chart cached = entries.get(songId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        CompletableFuture<Chart> mine = new CompletableFuture<>();
+        CompletableFuture<Chart> other = loading.putIfAbsent(songId, mine);
+        if (other != null) {
+            return other.join();
+        }
+        try {
+            long started;
+            synchronized (entries) {
+                started = clock;
+            }
+            Chart built = build(songId);
+            putIfNotInvalidatedSince(songId, built, started);
+            mine.complete(built);
+            return built;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(songId, mine);
+        }
+    }
+
+    public void invalidate(Long songId) {
+        synchronized (entries) {
+            invalidatedAt.put(songId, ++clock);
+            Chart removed = entries.remove(songId);
+            if (removed != null) {
+                totalBytes -= removed.sizeInBytes();
+            }
+        }
+    }
+
+    // 확인과 저장을 같은 잠금 안에서 해야 그 사이에 끼어든 invalidate() 를 놓치지 않음
+    private void putIfNotInvalidatedSince(Long songId, Chart chart, long started) {
+        synchronized (entries) {
+            if (invalidatedAt.getOrDefault(songId, 0L) > started) {
+                return;
+            }
+            Chart previous = entries.put(songId, chart);
+            if (previous != null) {
+                totalBytes -= previous.sizeInBytes();
+            }
+            totalBytes += chart.sizeInBytes();
+
+            Iterator<Map.Entry<Long, Chart>> eldest = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<Long, Chart> entry = eldest.next();
+                if (entry.getKey().equals(songId)) {
+                    continue; // 방금 넣은 것은 남김
+                }
+                totalBytes -= entry.getValue().sizeInBytes();
+                eldest.remove();
+            }
+        }
+    }
+
+    private Chart build(Long songId) {
+        // 엔티티 없이 행을 바로 int 배열로 모음
+        ChartCodec.Builder builder = new ChartCodec.Builder();
+        jdbcTemplate.query(SELECT_NOTES_SQL,
+                (RowCallbackHandler) rs -> builder.add(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getInt(4)),
+                songId);
+
+        byte[] binary = builder.toBinary();
+        CRC32 crc = new CRC32();
+        crc.update(binary);
+        String etag = "\"" + Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(binary.length) + "\"";
+        return new Chart(binary, builder.toJson(), etag, builder.noteCount());
+    }
+}
@@ -0,0 +1,177 @@
+package com.facebeat.service;
+
+import com.facebeat.dto.response.RankingResponse;
+import com.facebeat.entity.Score;
+import com.facebeat.entity.Song;
+import com.facebeat.repository.ScoreRepository;
+import com.facebeat.repository.SongRepository;
+import com.facebeat.util.BoundedLeaderboard;
+import com.facebeat.util.LeaderboardEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 메모리 리더보드.
+ * 전체 / 곡별 상위 N 개를 (점수 DESC, 기록 시각 ASC) 순서로 들고 있고,
+ * 점수 저장이 커밋될 때마다 증분 반영합니다. 랭킹 조회는 DB 를 거치지 않습니다.
+ */
+@Service
+public class LeaderboardService {
+
+    private final ScoreRepository scoreRepository;
+    private final SongRepository songRepository;
+    private final int capacity;
+
+    // 재구축은 새 보드를 다 채운 뒤 참조만 바꿔서, 그동안 조회가 빈 보드를 보지 않도록 함
+    private volatile BoundedLeaderboard global;
+    private volatile Map<Long, BoundedLeaderboard> bySong = new ConcurrentHashMap<>();
+
+    // 재구축(쓰기 락) 중에 들어온 점수가 옛 보드에 반영되고 사라지지 않도록 막는 용도
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    // 보드가 바뀔 때마다 증가 (RankingStreamService 가 틱마다 비교해서 바뀐 경우에만 diff 계산)
+    private final AtomicLong version = new AtomicLong();
+
+    public LeaderboardService(ScoreRepository scoreRepository,
+                              SongRepository songRepository,
+                              @Value("${ranking.leaderboard.capacity:100}") int capacity) {
+        this.scoreRepository = scoreRepository;
+        this.songRepository = songRepository;
+        this.capacity = capacity;
+        this.global = new BoundedLeaderboard(capacity);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    /** 서버 시작 시 DB 에서 전체/곡별 보드를 채웁니다. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            BoundedLeaderboard newGlobal = new BoundedLeaderboard(capacity);
+            scoreRepository.findRanking(PageRequest.of(0, capacity))
+                    .forEach(s -> newGlobal.offer(toEntry(s)));
+
+            Map<Long, BoundedLeaderboard> newBySong = new ConcurrentHashMap<>();
+            for (Song song : songRepository.findAll()) {
+                BoundedLeaderboard board = new BoundedLeaderboard(capacity);
+                scoreRepository.findRankingBySongId(song.getId(), PageRequest.of(0, capacity))
+                        .forEach(s -> board.offer(toEntry(s)));
+                newBySong.put(song.getId(), board);
+            }
+            bySong = newBySong;
+            global = newGlobal;
+            version.incrementAndGet();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    /** 곡이 삭제되면(점수는 FK CASCADE 로 같이 삭제) 해당 곡 보드를 버리고 전체 보드를 다시 채웁니다. */
+    @Transactional(readOnly = true)
+    public void removeSong(Long songId) {
+        rebuildLock.writeLock().lock();
+        try {
+            bySong.remove(songId);
+            BoundedLeaderboard newGlobal = new BoundedLeaderboard(capacity);
+            scoreRepository.findRanking(PageRequest.of(0, capacity))
+                    .forEach(s -> newGlobal.offer(toEntry(s)));
+            global = newGlobal;
+            version.incrementAndGet();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤에 점수들을 보드에 반영합니다.
+     * (롤백된 점수가 랭킹에 보이면 안 되므로) 트랜잭션 밖에서 부르면 바로 반영합니다.
+     */
+    public void recordAfterCommit(List<Score> scores) {
+        List<LeaderboardEntry> entries = new ArrayList<>(scores.size());
+        for (Score s : scores) {
+            entries.add(toEntry(s));
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(entries);
+                }
+            });
+        } else {
+            record(entries);
+        }
+    }
+
+    public void record(List<LeaderboardEntry> entries) {
+        rebuildLock.readLock().lock();
+        try {
+            for (LeaderboardEntry entry : entries) {
+                global.offer(entry);
+                bySong.computeIfAbsent(entry.songId(), id -> new BoundedLeaderboard(capacity)).offer(entry);
+            }
+            version.incrementAndGet();
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 상위 limit 개 랭킹. songId 가 null 이면 전체 랭킹입니다.
+     * limit 은 capacity 를 넘을 수 없습니다.
+     */
+    public List<LeaderboardEntry> top(Long songId, int limit) {
+        if (limit > capacity) {
+            throw new IllegalArgumentException("limit must be <= " + capacity);
+        }
+        BoundedLeaderboard board = songId == null ? global : bySong.get(songId);
+        return board == null ? List.of() : board.top(limit);
+    }
+
+    public List<RankingResponse> topResponses(Long songId, int limit) {
+        List<LeaderboardEntry> entries = top(songId, limit);
+        List<RankingResponse> responseList = new ArrayList<>(entries.size());
+        for (LeaderboardEntry e : entries) {
+            responseList.add(toResponse(e));
+        }
+        return responseList;
+    }
+
+    public static RankingResponse toResponse(LeaderboardEntry e) {
+        return RankingResponse.builder()
+                .userId(e.userId())
+                .songTitle(e.songTitle())
+                .score(e.score())
+                .scoreId(e.scoreId())
+                .createdAt(e.createdAt())
+                .build();
+    }
+
+    private static LeaderboardEntry toEntry(Score s) {
+        Song song = s.getSong();
+        return new LeaderboardEntry(s.getId(), s.getUserId(), song.getId(), song.getTitle(),
+                s.getScore() == null ? 0 : s.getScore(), s.getCreatedAt());
+    }
+}
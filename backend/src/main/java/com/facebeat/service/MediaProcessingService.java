@@ -0,0 +1,325 @@
+package com.facebeat.service;
+
+import com.facebeat.entity.Song;
+import com.facebeat.repository.SongRepository;
+import com.facebeat.util.AudioInfoReader;
+import com.facebeat.util.ChartGenerator;
+import com.facebeat.util.ImageResizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 곡 업로드 후처리.
+ * 업로드 트랜잭션이 커밋되면 submit() 으로 작업을 넘기고, 고정 크기 스레드 풀이
+ *  1. 오디오 헤더에서 곡 길이를 읽고
+ *  2. 목록 화면용 커버 축소본을 만든 뒤
+ *  3. music 행(duration, thumbnail_path)을 갱신하고 곡 목록 캐시를 무효화하고
+ *  4. 차트가 없으면 오디오를 분석해서 노트 차트를 만듭니다 (NoteChartService).
+ * 곡 하나는 스레드 하나가 처리하고, 여러 곡은 스레드 수만큼 동시에 처리됩니다.
+ * 업로드 응답은 이 작업을 기다리지 않습니다. 큐가 가득 차면 작업을 버리고,
+ * 버려진(또는 서버 재시작으로 끊긴) 곡은 다음 시작 때 다시 처리합니다.
+ *
+ * 처리 결과는 music.media_status 에 남깁니다 (DONE / 노트가 안 나온 EMPTY / 실패).
+ * 실패는 media_attempts 로 세고 max-attempts 번 실패하면 FAILED 로 두어서, 계속 실패하는 곡이나
+ * 노트가 없는 곡을 시작할 때마다 다시 분석하지 않습니다. 시작 때 밀린 곡은 큐의 빈 자리만큼씩 넣고,
+ * 그 묶음의 마지막 곡이 끝나면 다음 묶음을 넣습니다 (한꺼번에 넣어서 큐가 넘치지 않도록).
+ */
+@Slf4j
+@Service
+public class MediaProcessingService {
+
+    private final SongRepository songRepository;
+    private final StorageService storageService;
+    private final SongCatalogCache songCatalogCache;
+    private final SongSearchIndex songSearchIndex;
+    private final NoteChartService noteChartService;
+    private final ChangeLogService changeLogService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ThreadPoolExecutor executor;
+    private final int maxAttempts;
+
+    private final Timer audioTimer;
+    private final Timer coverTimer;
+    private final Timer chartTimer;
+    private final Timer totalTimer;
+    private final Counter rejectedCounter;
+    private final Counter failedCounter;
+
+    public MediaProcessingService(SongRepository songRepository,
+                                  StorageService storageService,
+                                  SongCatalogCache songCatalogCache,
+                                  SongSearchIndex songSearchIndex,
+                                  NoteChartService noteChartService,
+                                  ChangeLogService changeLogService,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${media.processing.threads:2}") int threads,
+                                  @Value("${media.processing.queue-capacity:100}") int queueCapacity,
+                                  @Value("${media.processing.max-attempts:3}") int maxAttempts) {
+        this.songRepository = songRepository;
+        this.storageService = storageService;
+        this.songCatalogCache = songCatalogCache;
+        this.songSearchIndex = songSearchIndex;
+        this.noteChartService = noteChartService;
+        this.changeLogService = changeLogService;
+        this.transactionTemplate = transactionTemplate;
+        this.maxAttempts = maxAttempts;
+
+        AtomicInteger threadNo = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "media-processing-" + threadNo.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+
+        this.audioTimer = Timer.builder("media.processing.time")
+                .description("곡 후처리 단계별 소요 시간")
+                .tag("step", "audio")
+                .register(meterRegistry);
+        this.coverTimer = Timer.builder("media.processing.time")
+                .description("곡 후처리 단계별 소요 시간")
+                .tag("step", "cover")
+                .register(meterRegistry);
+        this.chartTimer = Timer.builder("media.processing.time")
+                .description("곡 후처리 단계별 소요 시간")
+                .tag("step", "chart")
+                .register(meterRegistry);
+        this.totalTimer = Timer.builder("media.processing.time")
+                .description("곡 후처리 단계별 소요 시간")
+                .tag("step", "total")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("media.processing.rejected")
+                .description("큐가 가득 차서 버린 후처리 작업 수")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("media.processing.failed")
+                .description("실패한 후처리 단계 수")
+                .register(meterRegistry);
+        Gauge.builder("media.processing.queue.depth", executor.getQueue(), BlockingQueue::size)
+                .description("대기 중인 후처리 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("media.processing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("처리 중인 후처리 작업 수")
+                .register(meterRegistry);
+    }
+
+    /** 서버 시작 시 후처리가 끝나지 않은(PENDING) 곡을 다시 처리합니다. 시작 후에 올라온 곡은 업로드가 직접 넣습니다. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void processPending() {
+        submitPending(0, songRepository.findMaxId());
+    }
+
+    /** afterId 뒤의 PENDING 곡을 큐의 빈 자리만큼 넣고, 마지막 곡이 끝나면 그 뒤를 이어서 넣습니다. */
+    private void submitPending(long afterId, long untilId) {
+        int room = executor.getQueue().remainingCapacity();
+        List<Song> batch = songRepository.findByMediaStatusInIdRange(
+                Song.MediaStatus.PENDING, afterId, untilId, PageRequest.of(0, Math.max(1, room)));
+        for (int i = 0; i < batch.size(); i++) {
+            Song song = batch.get(i);
+            Runnable next = i == batch.size() - 1 ? () -> submitPendingAfter(song.getId(), untilId) : null;
+            if (!submit(song.getId(), song.getFilePath(), song.getImagePath(), song.getBpm(), next)) {
+                // 업로드가 몰려서 자리가 없음 - 남은 곡은 다음 시작 때
+                log.warn("media.pending.stopped songId={} untilSongId={}", song.getId(), untilId);
+                return;
+            }
+        }
+    }
+
+    // 작업 스레드에서 다음 묶음 넣기 - 실패해도 작업 스레드는 살려 둠 (남은 곡은 다음 시작 때)
+    private void submitPendingAfter(long afterId, long untilId) {
+        try {
+            submitPending(afterId, untilId);
+        } catch (RuntimeException e) {
+            log.warn("media.pending.failed afterSongId={}: {}", afterId, e.getMessage());
+        }
+    }
+
+    /**
+     * 후처리 작업을 큐에 넣습니다. 곡 행이 커밋된 뒤에 호출해야 합니다.
+     *
+     * @return 큐가 가득 차서 넣지 못했으면 false (다음 서버 시작 때 다시 처리됨)
+     */
+    public boolean submit(Long songId, String filePath, String imagePath, Integer bpm) {
+        return submit(songId, filePath, imagePath, bpm, null);
+    }
+
+    private boolean submit(Long songId, String filePath, String imagePath, Integer bpm, Runnable then) {
+        try {
+            executor.execute(() -> {
+                try {
+                    totalTimer.record(() -> process(songId, filePath, imagePath, bpm));
+                } finally {
+                    if (then != null) {
+                        then.run();
+                    }
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("media.rejected songId={} reason=queue-full", songId);
+            return false;
+        }
+    }
+
+    private void process(Long songId, String filePath, String imagePath, Integer bpm) {
+        Outcome outcome = new Outcome();
+        Integer duration = audioTimer.record(() -> readDuration(songId, filePath, outcome));
+        String thumbnailPath = coverTimer.record(() -> createCoverVariants(songId, imagePath, outcome));
+
+        // 그 사이 곡이 삭제됐으면 갱신되는 행이 없음 (다른 서버 곡 목록 캐시도 무효화되도록 변경 기록을 같이 남김)
+        if ((duration != null || thumbnailPath != null) && Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (songRepository.updateMedia(songId, duration, thumbnailPath) == 0) {
+                return false;
+            }
+            changeLogService.append(ChangeLogService.Type.SONG, ChangeLogService.Action.UPDATED, songId);
+            return true;
+        }))) {
+            songCatalogCache.invalidate();
+            songSearchIndex.refresh(songId);
+        }
+
+        // 목록에 필요한 정보부터 반영하고, 오래 걸리는 차트 분석은 마지막에
+        if (!noteChartService.hasChart(songId)) {
+            chartTimer.record(() -> createChart(songId, filePath, bpm, outcome));
+        }
+
+        // 다음 시작 때 다시 처리할지 (곡이 삭제됐으면 갱신되는 행이 없음)
+        if (outcome.failed) {
+            songRepository.recordMediaFailure(songId, maxAttempts);
+        } else {
+            songRepository.updateMediaStatus(songId, outcome.empty ? Song.MediaStatus.EMPTY : Song.MediaStatus.DONE);
+        }
+    }
+
+    /** 곡 하나를 처리하는 동안의 결과 (단계마다 실패하면 failed) */
+    private static final class Outcome {
+        private boolean failed;
+        private boolean empty;
+    }
+
+    private void createChart(Long songId, String filePath, Integer bpm, Outcome outcome) {
+        if (filePath == null) {
+            return;
+        }
+        try {
+            Path file = storageService.resolve(filePath);
+            if (!Files.isRegularFile(file)) {
+                throw new IOException("파일이 없습니다: " + filePath);
+            }
+            Map<Integer, List<ChartGenerator.Note>> charts = noteChartService.analyze(file, bpm);
+            if (charts.values().stream().allMatch(List::isEmpty)) {
+                // 온셋이 없는 곡 (무음 등) - 저장할 노트가 없음
+                outcome.empty = true;
+                log.info("media.chart.empty songId={}", songId);
+                return;
+            }
+            noteChartService.saveChart(songId, charts);
+        } catch (IOException | RuntimeException e) {
+            outcome.failed = true;
+            failedCounter.increment();
+            log.warn("media.chart.failed songId={}: {}", songId, e.getMessage());
+        }
+    }
+
+    private Integer readDuration(Long songId, String filePath, Outcome outcome) {
+        if (filePath == null) {
+            return null;
+        }
+        try {
+            Path file = storageService.resolve(filePath);
+            if (!Files.isRegularFile(file)) {
+                throw new IOException("파일이 없습니다: " + filePath);
+            }
+            return AudioInfoReader.read(file).durationSeconds();
+        } catch (IOException | RuntimeException e) {
+            outcome.failed = true;
+            failedCounter.increment();
+            log.warn("media.audio.failed songId={}: {}", songId, e.getMessage());
+            return null;
+        }
+    }
+
+    /** @return 목록용(첫 번째 크기) 축소본 경로. 원본이 이미 작으면 원본 경로 */
+    private String createCoverVariants(Long songId, String imagePath, Outcome outcome) {
+        if (imagePath == null) {
+            return null;
+        }
+        int[] widths = storageService.imageVariantWidths();
+        if (widths.length == 0) {
+            return null;
+        }
+        try {
+            Path file = storageService.resolve(imagePath);
+            if (!Files.isRegularFile(file)) {
+                throw new IOException("파일이 없습니다: " + imagePath);
+            }
+            int maxWidth = 0;
+            for (int width : widths) {
+                maxWidth = Math.max(maxWidth, width);
+            }
+            // 한 번만 디코딩해서 모든 크기를 만듦
+            BufferedImage source = ImageResizer.read(file, maxWidth);
+            if (source == null) {
+                return null; // ImageIO 가 모르는 형식 (webp 등)
+            }
+
+            String listPath = null;
+            for (int i = 0; i < widths.length; i++) {
+                String path;
+                if (source.getWidth() <= widths[i]) {
+                    path = imagePath; // 키울 필요는 없음
+                } else {
+                    BufferedImage scaled = ImageResizer.scaleToWidth(source, widths[i]);
+                    path = storageService.storeVariant(imagePath, widths[i], target -> ImageResizer.writeJpeg(scaled, target));
+                }
+                if (i == 0) {
+                    listPath = path;
+                }
+            }
+            return listPath;
+        } catch (IOException | RuntimeException e) {
+            outcome.failed = true;
+            failedCounter.increment();
+            log.warn("media.cover.failed songId={}: {}", songId, e.getMessage());
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // 남은 작업은 다음 시작 때 processPending 이 다시 처리하므로 오래 기다리지 않음
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.facebeat.service;
+
+import com.facebeat.repository.SongNoteRepository;
+import com.facebeat.util.ChartGenerator;
+import com.facebeat.util.OnsetDetector;
+import com.facebeat.util.PcmDecoder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 곡 오디오를 분석해서 난이도별 노트 차트(song_notes)를 만듭니다.
+ * 분석(디코딩 + FFT)은 트랜잭션 밖에서 하고, 저장만 짧은 트랜잭션 하나로
+ * 기존 차트 삭제 + JDBC 배치 INSERT 를 합니다 (노트마다 엔티티를 만들지 않음).
+ * 노트가 바뀌면 커밋 후 차트 응답 캐시(ChartCache)를 무효화합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class NoteChartService {
+
+    private static final String INSERT_NOTE_SQL =
+            "INSERT INTO song_notes (song_id, difficulty, time_ms, lane, note_type) VALUES (?, ?, ?, ?, ?)";
+
+    private final SongNoteRepository songNoteRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ChartCache chartCache;
+    private final ChangeLogService changeLogService;
+
+    public boolean hasChart(Long songId) {
+        return songNoteRepository.existsBySongId(songId);
+    }
+
+    /** 오디오를 디코딩하면서 온셋을 찾고 난이도별 차트를 만듭니다 (CPU 작업, DB 는 건드리지 않음). */
+    public Map<Integer, List<ChartGenerator.Note>> analyze(Path audioFile, Integer bpm) throws IOException {
+        OnsetDetector[] detector = new OnsetDetector[1];
+        PcmDecoder.decode(audioFile, sampleRate -> {
+            detector[0] = new OnsetDetector(sampleRate);
+            return detector[0]::accept;
+        });
+        List<OnsetDetector.Onset> onsets = detector[0].finish();
+
+        Map<Integer, List<ChartGenerator.Note>> charts = new LinkedHashMap<>();
+        for (int difficulty : ChartGenerator.DIFFICULTIES) {
+            charts.put(difficulty, ChartGenerator.generate(onsets, bpm, difficulty));
+        }
+        return charts;
+    }
+
+    /**
+     * 곡의 차트를 통째로 바꿉니다.
+     *
+     * @return 그 사이 곡이 삭제돼서 저장하지 않았으면 false
+     */
+    public boolean saveChart(Long songId, Map<Integer, List<ChartGenerator.Note>> charts) {
+        List<Object[]> rows = new ArrayList<>();
+        charts.forEach((difficulty, notes) -> {
+            for (ChartGenerator.Note note : notes) {
+                rows.add(new Object[]{songId, difficulty, note.timeMs(), note.lane(), note.type()});
+            }
+        });
+
+        Boolean saved = transactionTemplate.execute(status -> {
+            // 곡 행을 잠가서 저장 중에 곡이 삭제되지 않도록 함 (삭제가 먼저 끝났으면 0)
+            Integer songs = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM music WHERE id = ? FOR UPDATE", Integer.class, songId);
+            if (songs == null || songs == 0) {
+                return false;
+            }
+            deleteChart(songId);
+            jdbcTemplate.batchUpdate(INSERT_NOTE_SQL, rows);
+            changeLogService.append(ChangeLogService.Type.CHART, ChangeLogService.Action.UPDATED, songId);
+            return true;
+        });
+        return Boolean.TRUE.equals(saved);
+    }
+
+    /** 곡의 노트를 모두 지웁니다. 곡 삭제 트랜잭션 안에서 music 행보다 먼저 호출합니다. */
+    public void deleteChart(Long songId) {
+        jdbcTemplate.update("DELETE FROM song_notes WHERE song_id = ?", songId);
+        invalidateAfterCommit(songId);
+    }
+
+    private void invalidateAfterCommit(Long songId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    chartCache.invalidate(songId);
+                }
+            });
+        } else {
+            chartCache.invalidate(songId);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.facebeat.service;
+
+import com.facebeat.dto.response.RankingDiffResponse;
+import com.facebeat.dto.response.RankingResponse;
+import com.facebeat.dto.response.RankingSnapshotResponse;
+import com.facebeat.util.LeaderboardEntry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 전체 랭킹 실시간 스트림 (GET /api/scores/ranking/stream, Server-Sent Events).
+ *
+ * 틱(ranking.stream.tick-ms)마다 메모리 리더보드 version 을 보고, 바뀌었을 때만 상위 N 개를 직전과 비교해서
+ * diff(entered / moved / left) 하나를 만듭니다. 틱 사이에 점수가 몰려도 diff 는 한 번입니다.
+ * 이벤트는 SSE 프레임 바이트로 한 번만 직렬화하고 모든 구독자에게 같은 배열을 보냅니다.
+ *
+ * 쓰기는 writer 스레드 풀에서 구독자마다 하나씩 순서대로 합니다 (틱 스레드는 큐에 넣기만 함).
+ * 못 보낸 프레임이 max-pending 개를 넘은 느린 구독자는 큐를 비우고 연결을 끊습니다 -
+ * 브라우저 EventSource 가 다시 접속하면 snapshot 부터 다시 받아서 맞춰집니다.
+ */
+@Slf4j
+@Service
+public class RankingStreamService {
+
+    private static final byte[] PING_FRAME = ": ping\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final LeaderboardService leaderboardService;
+    private final ObjectMapper objectMapper;
+    private final int size;
+    private final int maxSubscribers;
+    private final int maxPending;
+    private final long timeoutMillis;
+    private final long heartbeatMillis;
+    private final ExecutorService writers;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final LongAdder dropped = new LongAdder();
+
+    // 틱과 구독 시작을 직렬화 (snapshot 과 그 뒤 diff 사이에 빠지는 이벤트가 없도록)
+    private final ReentrantLock stateLock = new ReentrantLock();
+    private long seenVersion = -1;
+    private long eventId;
+    private List<LeaderboardEntry> last = List.of();
+    private byte[] snapshotFrame;
+    private long lastSentAt = System.currentTimeMillis();
+
+    public RankingStreamService(LeaderboardService leaderboardService,
+                                ObjectMapper objectMapper,
+                                @Value("${ranking.stream.size:10}") int size,
+                                @Value("${ranking.stream.max-subscribers:10000}") int maxSubscribers,
+                                @Value("${ranking.stream.max-pending:32}") int maxPending,
+                                @Value("${ranking.stream.timeout-ms:600000}") long timeoutMillis,
+                                @Value("${ranking.stream.heartbeat-ms:15000}") long heartbeatMillis,
+                                @Value("${ranking.stream.writer-threads:8}") int writerThreads) {
+        this.leaderboardService = leaderboardService;
+        this.objectMapper = objectMapper;
+        this.size = Math.min(size, leaderboardService.capacity());
+        this.maxSubscribers = maxSubscribers;
+        this.maxPending = maxPending;
+        this.timeoutMillis = timeoutMillis;
+        this.heartbeatMillis = heartbeatMillis;
+        AtomicInteger threadNo = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writerThreads, r -> {
+            Thread t = new Thread(r, "ranking-stream-writer-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * 새 구독자. 먼저 현재 순위 snapshot 을 보내고 이후 diff 를 이어서 보냅니다.
+     * 구독자가 max-subscribers 에 차 있으면 null.
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+
+        stateLock.lock();
+        try {
+            // 틱 전에 바뀐 것이 있으면 기존 구독자에게 먼저 보내고 새 구독자는 그 뒤 snapshot 부터
+            byte[] diffFrame = refresh();
+            if (diffFrame != null) {
+                broadcast(diffFrame);
+            }
+            subscriber.offer(snapshotFrame);
+            subscribers.add(subscriber);
+        } finally {
+            stateLock.unlock();
+        }
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${ranking.stream.tick-ms:500}")
+    public void tick() {
+        stateLock.lock();
+        try {
+            byte[] diffFrame = refresh();
+            long now = System.currentTimeMillis();
+            if (diffFrame != null) {
+                broadcast(diffFrame);
+                lastSentAt = now;
+            } else if (now - lastSentAt >= heartbeatMillis) {
+                // 끊긴 연결은 쓰기가 실패해야 알 수 있으므로 가끔 주석 줄을 보냄
+                broadcast(PING_FRAME);
+                lastSentAt = now;
+            }
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /** 느려서 끊은 구독자 수 */
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.close();
+        }
+        writers.shutdownNow();
+    }
+
+    // 리더보드가 바뀌었으면 snapshot 을 새로 만들고 diff 프레임을 돌려줌 (stateLock 안에서 호출)
+    private byte[] refresh() {
+        long version = leaderboardService.version();
+        if (version == seenVersion) {
+            return null;
+        }
+        seenVersion = version;
+
+        List<LeaderboardEntry> current = leaderboardService.top(null, size);
+        RankingDiffResponse diff = diff(last, current);
+        last = current;
+
+        if (snapshotFrame != null && diff.getEntered().isEmpty() && diff.getMoved().isEmpty() && diff.getLeft().isEmpty()) {
+            // 순위권 밖 점수만 들어온 경우 - 보낼 것 없음
+            return null;
+        }
+        List<RankingResponse> items = new ArrayList<>(current.size());
+        for (LeaderboardEntry entry : current) {
+            items.add(LeaderboardService.toResponse(entry));
+        }
+        eventId++;
+        snapshotFrame = frame("snapshot", new RankingSnapshotResponse(eventId, items));
+        return frame("diff", new RankingDiffResponse(eventId, diff.getEntered(), diff.getMoved(), diff.getLeft()));
+    }
+
+    private static RankingDiffResponse diff(List<LeaderboardEntry> before, List<LeaderboardEntry> after) {
+        Map<Long, Integer> oldRanks = new HashMap<>(before.size() * 2);
+        for (int i = 0; i < before.size(); i++) {
+            oldRanks.put(before.get(i).scoreId(), i + 1);
+        }
+
+        List<RankingDiffResponse.Entered> entered = new ArrayList<>();
+        List<RankingDiffResponse.Moved> moved = new ArrayList<>();
+        for (int i = 0; i < after.size(); i++) {
+            LeaderboardEntry entry = after.get(i);
+            Integer from = oldRanks.remove(entry.scoreId());
+            if (from == null) {
+                entered.add(new RankingDiffResponse.Entered(i + 1, LeaderboardService.toResponse(entry)));
+            } else if (from != i + 1) {
+                moved.add(new RankingDiffResponse.Moved(entry.scoreId(), from, i + 1));
+            }
+        }
+        // 남은 것 = 순위 밖으로 나간 기록
+        return new RankingDiffResponse(0, entered, moved, new ArrayList<>(oldRanks.keySet()));
+    }
+
+    private byte[] frame(String event, Object payload) {
+        String json = objectMapper.writeValueAsString(payload);
+        return ("id: " + eventId + "\nevent: " + event + "\ndata: " + json + "\n\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void broadcast(byte[] frame) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(frame);
+        }
+    }
+
+    /** 구독자 한 명 - 보낼 프레임 큐와 writer 스레드에서 한 번에 하나씩 보내기 */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Queue<byte[]> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(byte[] frame) {
+            if (closed.get()) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > maxPending) {
+                // 따라오지 못함 - 쌓아 두지 않고 끊음 (재접속하면 snapshot 으로 다시 맞춤)
+                dropped.increment();
+                close();
+                return;
+            }
+            pending.add(frame);
+            if (draining.compareAndSet(false, true)) {
+                writers.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                byte[] frame;
+                while (!closed.get() && (frame = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    try {
+                        // 모든 구독자가 같은 바이트 배열을 그대로 씀 (구독자마다 다시 직렬화하지 않음)
+                        emitter.send(Set.of(new ResponseBodyEmitter.DataWithMediaType(frame, MediaType.TEXT_PLAIN)));
+                    } catch (Exception e) {
+                        close();
+                    }
+                }
+                draining.set(false);
+                // 내려놓는 사이에 들어온 프레임이 있으면 다시 맡음
+                if (closed.get() || pending.isEmpty() || !draining.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            subscribers.remove(this);
+            pending.clear();
+            pendingCount.set(0);
+            try {
+                emitter.complete();
+            } catch (Exception e) {
+                log.debug("ranking.stream close failed: {}", e.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.facebeat.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 자기가 쓴 것은 바로 읽히게 (read-your-writes).
+ * 읽기 전용 트랜잭션은 복제본(ReplicaRoutingDataSource)으로 가는데, 복제본은 primary 보다 조금 늦습니다.
+ * 그래서 점수 저장/회원가입이 커밋된 뒤 datasource.read-replicas.read-your-writes-ms 동안은
+ * 그 플레이어의 요청에서 하는 읽기를 primary 로 보냅니다.
+ *
+ * "지금 누구의 요청인가"는 bind() 로 현재 스레드에 묶습니다 (ReadYourWritesFilter, UserService.login).
+ * 기록은 이 서버 메모리에만 있어서 다른 서버로 간 요청은 복제본에서 읽을 수 있습니다.
+ * 복제본 설정이 없으면 이 값을 보는 곳이 없어서 아무 효과가 없습니다.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    /** bind() 로 묶은 것을 원래대로 되돌림 (try-with-resources 용) */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final ThreadLocal<String> CURRENT_USER = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private final long windowNanos;
+
+    // userId -> primary 에서 읽어야 하는 마지막 시각(nanoTime)
+    private final Map<String, Long> recentWriters = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(@Value("${datasource.read-replicas.read-your-writes-ms:5000}") long windowMillis) {
+        this.windowNanos = windowMillis * 1_000_000L;
+    }
+
+    /** 커밋되면 이 플레이어들을 "방금 쓴 사람"으로 기록합니다 (트랜잭션 밖이면 바로). */
+    public void recordAfterCommit(Collection<String> userIds) {
+        if (windowNanos <= 0 || userIds.isEmpty()) {
+            return;
+        }
+        Set<String> distinct = new LinkedHashSet<>(userIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            distinct.forEach(this::recordWrite);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                distinct.forEach(ReadYourWritesTracker.this::recordWrite);
+            }
+        });
+    }
+
+    public void recordWrite(String userId) {
+        if (windowNanos > 0 && userId != null) {
+            recentWriters.put(userId, System.nanoTime() + windowNanos);
+        }
+    }
+
+    /** 현재 스레드의 요청 주인을 정합니다. null 이면 아무 것도 묶지 않습니다. */
+    public Scope bind(String userId) {
+        String previous = CURRENT_USER.get();
+        if (userId == null) {
+            return () -> { };
+        }
+        CURRENT_USER.set(userId);
+        return () -> {
+            if (previous == null) {
+                CURRENT_USER.remove();
+            } else {
+                CURRENT_USER.set(previous);
+            }
+        };
+    }
+
+    /** 읽기 전용이어도 primary 에서 읽어야 하는 경우 (예: 복제 지연을 견딜 수 없는 확인) */
+    public <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                FORCE_PRIMARY.remove();
+            } else {
+                FORCE_PRIMARY.set(previous);
+            }
+        }
+    }
+
+    /** 지금 스레드의 읽기를 primary 로 보내야 하는지 (ReplicaRoutingDataSource 가 커넥션을 얻을 때 확인) */
+    public boolean shouldReadPrimary() {
+        if (FORCE_PRIMARY.get() != null) {
+            return true;
+        }
+        String userId = CURRENT_USER.get();
+        if (userId == null) {
+            return false;
+        }
+        Long until = recentWriters.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (System.nanoTime() - until < 0) {
+            return true;
+        }
+        recentWriters.remove(userId, until);
+        return false;
+    }
+
+    /** 다시 읽지 않은 지난 기록 정리 (메모리가 계속 늘지 않도록) */
+    @Scheduled(fixedDelayString = "${datasource.read-replicas.read-your-writes-sweep-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        recentWriters.values().removeIf(until -> now - until >= 0);
+    }
+
+    public int trackedCount() {
+        return recentWriters.size();
+    }
+}
@@ -0,0 +1,60 @@
+package com.facebeat.service;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 서버 여러 대에서 같은 예약 작업이 동시에 돌지 않도록 하는 DB 잠금 (scheduler_locks, V18).
+ *
+ * 잠금은 작업 이름마다 한 줄이고, locked_until 이 지난 줄만 조건부 UPDATE 로 가져갈 수 있어서
+ * 한 번에 한 서버만 성공합니다. 잡은 서버가 죽어도 locked_until 이 지나면 풀리므로,
+ * 오래 걸리는 작업은 중간중간 extend() 로 늘립니다. 트랜잭션 밖에서 바로 커밋됩니다 (항상 primary).
+ */
+@Service
+public class SchedulerLockService {
+
+    private static final String TAKE_SQL =
+            "UPDATE scheduler_locks SET locked_until = ?, locked_by = ? WHERE name = ? AND locked_until < ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO scheduler_locks (name, locked_until, locked_by) VALUES (?, ?, ?)";
+    private static final String EXTEND_SQL =
+            "UPDATE scheduler_locks SET locked_until = ? WHERE name = ? AND locked_by = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId;
+
+    public SchedulerLockService(JdbcTemplate jdbcTemplate, ChangeLogService changeLogService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nodeId = changeLogService.nodeId();
+    }
+
+    /** 잠금을 잡으면 true (다른 서버가 잡고 있으면 false) */
+    public boolean tryLock(String name, Duration lockFor) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp until = Timestamp.valueOf(now.plus(lockFor));
+        if (jdbcTemplate.update(TAKE_SQL, until, nodeId, name, Timestamp.valueOf(now)) == 1) {
+            return true;
+        }
+        try {
+            // 처음 잡는 작업이면 줄이 없음 - 두 서버가 동시에 넣으면 기본 키 때문에 하나만 성공
+            return jdbcTemplate.update(INSERT_SQL, name, until, nodeId) == 1;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /** 잡고 있는 잠금의 만료를 지금부터 lockFor 뒤로 늘립니다. 이미 다른 서버로 넘어갔으면 false. */
+    public boolean extend(String name, Duration lockFor) {
+        return jdbcTemplate.update(EXTEND_SQL, Timestamp.valueOf(LocalDateTime.now().plus(lockFor)), name, nodeId) == 1;
+    }
+
+    /** 작업이 끝나면 바로 다음 서버가 잡을 수 있도록 만료 시각을 지금으로 */
+    public void unlock(String name) {
+        jdbcTemplate.update(EXTEND_SQL, Timestamp.valueOf(LocalDateTime.now()), name, nodeId);
+    }
+}
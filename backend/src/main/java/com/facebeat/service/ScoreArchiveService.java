@@ -0,0 +1,165 @@
+package com.facebeat.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 보관 기간(scores.archive.retention-days)이 지난 점수를 scores -> scores_archive 로 옮기는 정리 작업.
+ *
+ * batch-size 개씩 별도의 짧은 트랜잭션으로 옮기고(INSERT ... SELECT + DELETE), 사이사이 pause-ms 만큼 쉬어서
+ * 점수 저장/랭킹 조회가 긴 잠금에 막히지 않게 합니다. 기간별 집계와 최고 기록은 따로 있어서 영향이 없습니다.
+ *
+ * 전체/곡별 랭킹(리더보드, /api/scores/ranking*)은 scores 를 읽으므로, 플레이어의 곡별 최고 기록
+ * (user_best_scores.score_id 가 가리키는 점수)은 오래돼도 옮기지 않습니다. 그래서 전체 기간 랭킹의 1등은
+ * 보관 기간이 지나도 그대로 남고, 옮겨지는 것은 같은 플레이어의 더 낮은 옛 기록뿐입니다.
+ * 남겨 둔 점수를 chunk 마다 처음부터 다시 훑지 않도록 (created_at, id) 커서로 이어서 읽습니다.
+ * 옮긴 점수가 있으면 메모리 리더보드를 DB 와 맞춰 다시 채웁니다.
+ *
+ * 서버가 여러 대여도 한 대만 돌도록 scheduler_locks 잠금(SchedulerLockService)을 잡고 시작하고,
+ * chunk 마다 잠금을 lock-minutes 만큼 늘립니다. 그 사이 잠금을 잃으면(멈춘 사이 다른 서버가 가져감) 그만둡니다.
+ */
+@Slf4j
+@Service
+public class ScoreArchiveService {
+
+    // 최고 기록 여부는 user_best_scores 기본 키 (user_id, song_id) 로 바로 확인
+    private static final String SELECT_EXPIRED_SQL =
+            "SELECT s.id, s.created_at, NOT EXISTS (SELECT 1 FROM user_best_scores b " +
+            "WHERE b.user_id = s.user_id AND b.song_id = s.song_id AND b.score_id = s.id) AS expired " +
+            "FROM scores s WHERE s.created_at < ? " +
+            "AND (s.created_at > ? OR (s.created_at = ? AND s.id > ?)) ORDER BY s.created_at, s.id LIMIT ?";
+    private static final String COPY_SQL =
+            "INSERT INTO scores_archive (id, user_id, song_id, score_value, combo, grade, created_at) " +
+            "SELECT id, user_id, song_id, score_value, combo, grade, created_at FROM scores WHERE id IN (%s)";
+    private static final String DELETE_SQL = "DELETE FROM scores WHERE id IN (%s)";
+    private static final String LOCK_NAME = "scores-archive";
+
+    // 이미 지나온 위치 (보관 기간이 지났지만 최고 기록이라 남긴 점수 포함)
+    private record Cursor(Timestamp createdAt, long id) {
+        static final Cursor START = new Cursor(Timestamp.valueOf(LocalDateTime.of(1970, 1, 1, 0, 0)), 0);
+    }
+
+    private record Chunk(Cursor next, int moved) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaderboardService leaderboardService;
+    private final WindowedLeaderboardService windowedLeaderboardService;
+    private final ChangeLogService changeLogService;
+    private final SchedulerLockService schedulerLocks;
+    private final Duration lockFor;
+    private final int retentionDays;
+    private final int batchSize;
+    private final long pauseMillis;
+
+    public ScoreArchiveService(JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               LeaderboardService leaderboardService,
+                               WindowedLeaderboardService windowedLeaderboardService,
+                               ChangeLogService changeLogService,
+                               SchedulerLockService schedulerLocks,
+                               @Value("${scores.archive.lock-minutes:30}") long lockMinutes,
+                               @Value("${scores.archive.retention-days:90}") int retentionDays,
+                               @Value("${scores.archive.batch-size:1000}") int batchSize,
+                               @Value("${scores.archive.pause-ms:50}") long pauseMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.leaderboardService = leaderboardService;
+        this.windowedLeaderboardService = windowedLeaderboardService;
+        this.changeLogService = changeLogService;
+        this.schedulerLocks = schedulerLocks;
+        this.lockFor = Duration.ofMinutes(lockMinutes);
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    @Scheduled(cron = "${scores.archive.cron:0 30 4 * * *}")
+    public void archiveExpired() {
+        if (!schedulerLocks.tryLock(LOCK_NAME, lockFor)) {
+            log.info("scores.archive skipped: running on another node");
+            return;
+        }
+        try {
+            archive();
+        } finally {
+            schedulerLocks.unlock(LOCK_NAME);
+        }
+    }
+
+    private void archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long moved = 0;
+        long pruned = 0;
+        try {
+            // 1. 점수 옮기기 (chunk 마다 커밋)
+            Chunk chunk = new Chunk(Cursor.START, 0);
+            while ((chunk = moveChunk(cutoff, chunk.next())) != null) {
+                moved += chunk.moved();
+                if (!schedulerLocks.extend(LOCK_NAME, lockFor)) {
+                    log.warn("scores.archive lost lock after moving {} scores", moved);
+                    return;
+                }
+                pause();
+            }
+
+            // 2. 지난 일간 집계 지우기
+            int deleted;
+            while ((deleted = windowedLeaderboardService.pruneDaily(batchSize)) > 0) {
+                pruned += deleted;
+                pause();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (moved > 0) {
+                // 다른 서버도 메모리 리더보드를 다시 채우도록
+                transactionTemplate.executeWithoutResult(status -> changeLogService.append(
+                        ChangeLogService.Type.SCORE, ChangeLogService.Action.ARCHIVED, null));
+                leaderboardService.rebuild();
+            }
+            log.info("scores.archive cutoff={} moved={} dailyBucketsPruned={}", cutoff, moved, pruned);
+        }
+    }
+
+    /** 커서 뒤의 batch-size 개를 읽어서 최고 기록이 아닌 것만 옮깁니다. 더 읽을 것이 없으면 null. */
+    private Chunk moveChunk(LocalDateTime cutoff, Cursor after) {
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = new ArrayList<>();
+            Cursor[] last = {null};
+            jdbcTemplate.query(SELECT_EXPIRED_SQL, rs -> {
+                last[0] = new Cursor(rs.getTimestamp(2), rs.getLong(1));
+                if (rs.getBoolean(3)) {
+                    ids.add(rs.getLong(1));
+                }
+            }, Timestamp.valueOf(cutoff), after.createdAt(), after.createdAt(), after.id(), batchSize);
+            if (last[0] == null) {
+                return null;
+            }
+            if (ids.isEmpty()) {
+                return new Chunk(last[0], 0);
+            }
+            String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+            Object[] args = ids.toArray();
+            jdbcTemplate.update(COPY_SQL.formatted(placeholders), args);
+            return new Chunk(last[0], jdbcTemplate.update(DELETE_SQL.formatted(placeholders), args));
+        });
+    }
+
+    private void pause() throws InterruptedException {
+        if (pauseMillis > 0) {
+            Thread.sleep(pauseMillis);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.facebeat.service;
+
+import com.facebeat.dto.response.ScoreImportResponse;
+import com.facebeat.entity.Score;
+import com.facebeat.repository.SongRepository;
+import com.facebeat.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 대회/오프라인 이벤트 점수 일괄 가져오기.
+ * NDJSON 또는 CSV 스트림을 한 줄씩 읽어서(메모리 사용량 일정) 검증하고,
+ * chunk-size 개씩 별도 트랜잭션 + JDBC 배치 INSERT 로 저장합니다.
+ * 잘못된 행은 건너뛰고 줄 번호와 함께 결과에 담습니다.
+ * 유저 확인은 UserIdIndex 로 확실히 없는 아이디를 먼저 거르고, 나머지는 chunk 마다 IN 조회 한 번으로 합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ScoreImportService {
+
+    public enum Format { NDJSON, CSV }
+
+    // 검증을 마친 한 행 (엔티티는 저장 트랜잭션 안에서 만듦)
+    private record Row(long line, String userId, long songId, int score, LocalDateTime createdAt) {}
+
+    private final ScoreService scoreService;
+    private final SongIdCache songIdCache;
+    private final SongRepository songRepository;
+    private final UserRepository userRepository;
+    private final UserIdIndex userIdIndex;
+    private final ReadYourWritesTracker readYourWrites;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${scores.import.chunk-size:1000}")
+    private int chunkSize;
+
+    public ScoreImportResponse importScores(InputStream in, Format format) throws IOException {
+        ScoreImportResponse result = new ScoreImportResponse();
+
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                // CSV 헤더 줄은 건너뜀
+                if (format == Format.CSV && lineNo == 1 && line.startsWith("userId")) {
+                    continue;
+                }
+
+                try {
+                    Row row = format == Format.CSV ? parseCsv(lineNo, line) : parseJson(lineNo, line);
+                    // 확실히 없는 아이디는 바로 거름 (있을 수도 있는 아이디는 저장 직전에 DB 로 확인)
+                    if (!userIdIndex.mightContain(row.userId())) {
+                        throw new IllegalArgumentException("없는 유저입니다: " + row.userId());
+                    }
+                    chunk.add(row);
+                } catch (IllegalArgumentException | JacksonException | DateTimeParseException e) {
+                    result.addError(lineNo, e.getMessage());
+                }
+
+                if (chunk.size() >= chunkSize) {
+                    flush(chunk, result);
+                }
+            }
+        }
+        flush(chunk, result);
+        return result;
+    }
+
+    private Row parseCsv(long lineNo, String line) {
+        // userId,songId,score[,createdAt]
+        String[] cols = line.split(",", -1);
+        if (cols.length < 3) {
+            throw new IllegalArgumentException("컬럼이 부족합니다 (userId,songId,score[,createdAt])");
+        }
+        return toRow(lineNo, cols[0].trim(), parseLong(cols[1].trim(), "songId"), parseInt(cols[2].trim(), "score"),
+                cols.length > 3 ? cols[3].trim() : null);
+    }
+
+    private Row parseJson(long lineNo, String line) {
+        JsonNode node = objectMapper.readTree(line);
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("JSON 객체가 아닙니다.");
+        }
+        JsonNode userId = node.get("userId");
+        JsonNode songId = node.get("songId");
+        JsonNode score = node.get("score");
+        JsonNode createdAt = node.get("createdAt");
+        if (userId == null || songId == null || score == null) {
+            throw new IllegalArgumentException("userId, songId, score 는 필수입니다.");
+        }
+        return toRow(lineNo, userId.asString(), parseLong(songId.asString(), "songId"), parseInt(score.asString(), "score"),
+                createdAt == null || createdAt.isNull() ? null : createdAt.asString());
+    }
+
+    private Row toRow(long lineNo, String userId, long songId, int score, String createdAt) {
+        if (userId.isEmpty()) {
+            throw new IllegalArgumentException("userId 가 비어 있습니다.");
+        }
+        if (!songIdCache.contains(songId)) {
+            throw new IllegalArgumentException("없는 곡입니다: " + songId);
+        }
+        LocalDateTime time = createdAt == null || createdAt.isEmpty()
+                ? null
+                : LocalDateTime.parse(createdAt).truncatedTo(ChronoUnit.SECONDS);
+        return new Row(lineNo, userId, songId, score, time);
+    }
+
+    private void flush(List<Row> chunk, ScoreImportResponse result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        // chunk 의 아이디를 IN 조회 한 번으로 확인 (방금 가입한 유저가 복제본 지연으로 빠지지 않도록 primary 에서)
+        Set<String> requested = new HashSet<>();
+        for (Row row : chunk) {
+            requested.add(row.userId());
+        }
+        Set<String> existing = new HashSet<>(
+                readYourWrites.onPrimary(() -> userRepository.findExistingUserIds(requested)));
+        chunk.removeIf(row -> {
+            if (existing.contains(row.userId())) {
+                return false;
+            }
+            result.addError(row.line(), "없는 유저입니다: " + row.userId());
+            return true;
+        });
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        try {
+            // chunk 마다 별도 트랜잭션 - 실패해도 앞에서 저장한 chunk 는 유지됨
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Score> scores = new ArrayList<>(chunk.size());
+                for (Row row : chunk) {
+                    Score score = Score.builder()
+                            .userId(row.userId())
+                            .song(songRepository.getReferenceById(row.songId()))
+                            .score(row.score())
+                            .build();
+                    score.setCreatedAt(row.createdAt()); // null 이면 @PrePersist 가 현재 시각으로 채움
+                    scores.add(score);
+                }
+                scoreService.saveAll(scores);
+            });
+            result.addImported(chunk.size());
+        } catch (RuntimeException e) {
+            for (Row row : chunk) {
+                result.addError(row.line(), "저장 실패: " + e.getMessage());
+            }
+        }
+        chunk.clear();
+    }
+
+    private static long parseLong(String value, String field) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " 값이 숫자가 아닙니다: " + value);
+        }
+    }
+
+    private static int parseInt(String value, String field) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " 값이 숫자가 아닙니다: " + value);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.facebeat.service;
+
+import com.facebeat.dto.request.ScoreRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 점수 write-behind 적재.
+ * POST /api/scores 는 큐에 넣기만 하고 바로 응답하고, 백그라운드 스레드가
+ * batch-size 개가 모이거나 flush-interval-ms 가 지나면 한 트랜잭션 / JDBC 배치로 저장합니다.
+ * 큐가 가득 차면 offer-timeout-ms 만큼만 기다리고 거절합니다(호출 쪽에서 503).
+ *
+ * 주의: 응답은 저장 전에 나가므로, 서버가 비정상 종료되면 큐에 남은 점수는 유실될 수 있습니다.
+ * 정상 종료 시에는 남은 점수를 모두 저장하고 내려갑니다.
+ */
+@Slf4j
+@Service
+public class ScoreIngestionService {
+
+    private final ScoreService scoreService;
+    private final SongIdCache songIdCache;
+
+    private final BlockingQueue<ScoreRequest> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutMillis;
+
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter rejectedCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running = true;
+    private Thread flusher;
+
+    public ScoreIngestionService(ScoreService scoreService,
+                                 SongIdCache songIdCache,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${scores.ingest.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${scores.ingest.batch-size:200}") int batchSize,
+                                 @Value("${scores.ingest.flush-interval-ms:200}") long flushIntervalMillis,
+                                 @Value("${scores.ingest.offer-timeout-ms:50}") long offerTimeoutMillis) {
+        this.scoreService = scoreService;
+        this.songIdCache = songIdCache;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+
+        this.flushTimer = Timer.builder("scores.ingest.flush")
+                .description("점수 배치 저장(트랜잭션 커밋까지) 소요 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("scores.ingest.batch.size")
+                .description("한 번에 저장한 점수 개수")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("scores.ingest.rejected")
+                .description("큐가 가득 차서 거절한 점수 개수")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("scores.ingest.failed")
+                .description("저장에 실패해서 버려진 점수 개수")
+                .register(meterRegistry);
+        Gauge.builder("scores.ingest.queue.depth", queue, BlockingQueue::size)
+                .description("저장 대기 중인 점수 개수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher = new Thread(this::runFlushLoop, "score-ingest-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * 점수를 적재 큐에 넣습니다.
+     *
+     * @return 큐가 가득 차서 넣지 못했으면 false
+     * @throws IllegalArgumentException 없는 곡 id 인 경우
+     */
+    public boolean submit(ScoreRequest request) throws InterruptedException {
+        if (!songIdCache.contains(request.getSongId())) {
+            throw new IllegalArgumentException("노래가 없습니다.");
+        }
+        if (queue.offer(request, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            return true;
+        }
+        rejectedCounter.increment();
+        return false;
+    }
+
+    private void runFlushLoop() {
+        List<ScoreRequest> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                // 첫 점수가 올 때까지 기다렸다가, 그 시점부터 flush-interval 동안 batch-size 까지 모음
+                ScoreRequest first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    ScoreRequest next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                // 종료 요청 - 모으던 배치를 저장하고, 루프 조건에서 남은 점수도 마저 저장한 뒤 빠져나감
+                running = false;
+                flush(batch);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<ScoreRequest> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            scoreService.saveScores(batch);
+            batchSizeSummary.record(batch.size());
+        } catch (RuntimeException e) {
+            // 잘못된 행 하나(없는 userId 등) 때문에 배치 전체를 버리지 않도록 한 건씩 다시 저장
+            for (ScoreRequest request : batch) {
+                try {
+                    scoreService.saveScore(request);
+                } catch (RuntimeException rowError) {
+                    failedCounter.increment();
+                    log.warn("score.save.failed userId={} songId={}: {}",
+                            request.getUserId(), request.getSongId(), rowError.getMessage());
+                }
+            }
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+    }
+}
@@ -1,61 +1,210 @@
 package com.facebeat.service;
 
 import com.facebeat.dto.request.ScoreRequest; //[추가] 저장 요청 DTO
+import com.facebeat.dto.response.BestScoreResponse;
+import com.facebeat.dto.response.RankingPageResponse;
 import com.facebeat.dto.response.RankingResponse;
 import com.facebeat.entity.Score;
 import com.facebeat.entity.Song; //[추가]
 import com.facebeat.entity.User; //[추가]
+import com.facebeat.entity.UserBestScore;
 import com.facebeat.repository.ScoreRepository;
 import com.facebeat.repository.SongRepository; //[추가]
+import com.facebeat.repository.UserBestScoreRepository;
 import com.facebeat.repository.UserRepository; //[추가]
+import com.facebeat.util.RankingCursor;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
 
 @Service
+@Timed(value = "service.calls", histogram = true)
 @RequiredArgsConstructor
 public class ScoreService {
 
     private final ScoreRepository scoreRepository;
     private final UserRepository userRepository; //[추가]
     private final SongRepository songRepository; //[추가]
+    private final LeaderboardService leaderboardService;
+    private final SongIdCache songIdCache;
+    private final UserBestScoreRepository userBestScoreRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final WindowedLeaderboardService windowedLeaderboardService;
+    private final ChangeLogService changeLogService;
+    private final ReadYourWritesTracker readYourWrites;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // 최고 기록 upsert - 새 점수가 더 높을 때만 바꿉니다.
+    // MySQL 은 SET 을 왼쪽부터 적용해서 뒤쪽 식이 바뀐 값을 보므로 score_value 는 반드시 마지막에 둡니다.
+    // (IF 대신 CASE 를 써서 테스트용 H2 MySQL 모드에서도 같은 SQL 이 돕니다)
+    private static final String UPSERT_BEST_SQL =
+            "INSERT INTO user_best_scores (user_id, song_id, score_value, score_id, achieved_at) VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "score_id = CASE WHEN VALUES(score_value) > score_value THEN VALUES(score_id) ELSE score_id END, " +
+            "achieved_at = CASE WHEN VALUES(score_value) > score_value THEN VALUES(achieved_at) ELSE achieved_at END, " +
+            "score_value = GREATEST(score_value, VALUES(score_value))";
+
+    // 같은 플레이어/곡 안에서 랭킹 순서 (점수 높은 순, 먼저 낸 순, id 순) - WindowedLeaderboardService 도 사용
+    static final Comparator<Score> RANKING_ORDER = Comparator
+            .comparing(Score::getScore, Comparator.reverseOrder())
+            .thenComparing(Score::getCreatedAt)
+            .thenComparing(Score::getId);
+
+    private static final Comparator<UserBestScore.Key> BEST_KEY_ORDER = Comparator
+            .comparing(UserBestScore.Key::getUserId)
+            .thenComparing(UserBestScore.Key::getSongId);
 
     /* 1. 점수 저장 기능 추가 */
     @Transactional
     public void saveScore(ScoreRequest request) {
-    // 1. 노래 조회 (노래는 그대로 숫자로 찾음)
-    Song song = songRepository.findById(request.getSongId())
-            .orElseThrow(() -> new IllegalArgumentException("노래가 없습니다."));
+        saveScores(List.of(request));
+    }
 
-    // 2. 점수 엔티티 생성 (여기가 중요!)
-    Score score = Score.builder()
-            .userId(request.getUserId()) // 👈 [핵심] 이제 String(문자열)을 그대로 넣습니다!
-            .song(song)
-            .score(request.getScore())
-            .build();
+    /* 1-1. 여러 점수를 한 트랜잭션에서 저장 (ScoreIngestionService 가 모아서 호출) */
+    @Transactional
+    public void saveScores(List<ScoreRequest> requests) {
+        List<Score> scores = new ArrayList<>(requests.size());
+        for (ScoreRequest request : requests) {
+            if (!songIdCache.contains(request.getSongId())) {
+                throw new IllegalArgumentException("노래가 없습니다.");
+            }
 
-    // 3. 저장
-    scoreRepository.save(score);
+            // 1. 노래는 프록시만 얻어옴 (곡 id 는 SongIdCache 로 검증, SELECT 없음)
+            Song song = songRepository.getReferenceById(request.getSongId());
+
+            // 2. 점수 엔티티 생성 (userId 는 문자열 그대로)
+            scores.add(Score.builder()
+                    .userId(request.getUserId())
+                    .song(song)
+                    .score(request.getScore())
+                    .build());
+        }
+        saveAll(scores);
     }
-    @Transactional(readOnly = true)
+
+    /* 1-2. 점수 엔티티 일괄 저장 - 모든 점수 저장 경로가 여기로 모입니다. */
+    @Transactional
+    public void saveAll(List<Score> scores) {
+        // 시퀀스 id 라서 saveAll 이 INSERT 를 JDBC 배치로 묶어서 보냄
+        scoreRepository.saveAll(scores);
+
+        // 같은 트랜잭션에서 최고 기록 / 기간별 집계 갱신 (점수 INSERT 가 롤백되면 같이 롤백)
+        upsertBestScores(scores);
+        windowedLeaderboardService.record(scores);
+
+        // 다른 서버의 메모리 리더보드용 변경 기록 (배치 하나에 한 줄, 점수 id 목록)
+        StringJoiner ids = new StringJoiner(",");
+        for (Score score : scores) {
+            ids.add(String.valueOf(score.getId()));
+        }
+        changeLogService.append(ChangeLogService.Type.SCORE, ChangeLogService.Action.ADDED, null, ids.toString());
+
+        // 커밋되면 메모리 리더보드에 반영
+        leaderboardService.recordAfterCommit(scores);
+        // 커밋되면 잠시 동안 이 플레이어들의 조회는 복제본 대신 primary 에서 (복제 지연 동안 자기 점수가 안 보이지 않게)
+        readYourWrites.recordAfterCommit(scores.stream().map(Score::getUserId).toList());
+    }
+
+    private void upsertBestScores(List<Score> scores) {
+        // 1. 배치 안에서 플레이어/곡마다 가장 좋은 기록만 남김 (id, createdAt 은 saveAll 에서 이미 채워짐)
+        //    키 순서로 정렬해 두면 동시에 도는 배치끼리 행 잠금을 같은 순서로 잡아서 데드락이 나지 않습니다.
+        Map<UserBestScore.Key, Score> bests = new TreeMap<>(BEST_KEY_ORDER);
+        for (Score score : scores) {
+            bests.merge(new UserBestScore.Key(score.getUserId(), score.getSong().getId()), score,
+                    (a, b) -> RANKING_ORDER.compare(a, b) <= 0 ? a : b);
+        }
+
+        // 2. 한 번의 JDBC 배치로 upsert
+        List<Object[]> rows = new ArrayList<>(bests.size());
+        for (Score best : bests.values()) {
+            rows.add(new Object[]{best.getUserId(), best.getSong().getId(), best.getScore(),
+                    best.getId(), Timestamp.valueOf(best.getCreatedAt())});
+        }
+        jdbcTemplate.batchUpdate(UPSERT_BEST_SQL, rows);
+    }
+
+    // 랭킹은 메모리 리더보드에서 바로 꺼냅니다 (DB 조회 없음)
     public List<RankingResponse> getTop10Ranking() {
-        // 1. DB에서 데이터 가져오기
-        List<Score> scores = scoreRepository.findTop10ByOrderByScoreDescCreatedAtAsc();
-        
-        List<RankingResponse> responseList = new ArrayList<>();
-        
-        // 2. DTO로 변환
-        for (Score s : scores) {
-            responseList.add(RankingResponse.builder()
-                .userId(s.getUserId())     // 유저 아이디
-                .songTitle(s.getSong().getTitle())   // 🔥 [수정] getSong().getTitle()
-                .score(s.getScore())                 // 🔥 [수정] getScore()
-                .build());
-        }
-        
-        return responseList;
-    }
-}
\ No newline at end of file
+        return leaderboardService.topResponses(null, 10);
+    }
+
+    /* 2. 랭킹 페이지 조회 (songId 가 null 이면 전체 랭킹) */
+    @Transactional(readOnly = true)
+    public RankingPageResponse getRankingPage(Long songId, int limit, String after) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit 은 1 ~ " + MAX_PAGE_SIZE + " 사이여야 합니다.");
+        }
+
+        List<RankingResponse> items;
+        if (after == null || after.isBlank()) {
+            // 첫 페이지는 메모리 리더보드로 충분하면 거기서 꺼냅니다.
+            items = limit <= leaderboardService.capacity()
+                    ? leaderboardService.topResponses(songId, limit)
+                    : firstPage(songId, limit);
+        } else {
+            RankingCursor cursor = RankingCursor.decode(after);
+            PageRequest page = PageRequest.of(0, limit);
+            items = songId == null
+                    ? scoreRepository.findRankingPageAfter(cursor.score(), cursor.createdAt(), cursor.scoreId(), page)
+                    : scoreRepository.findSongRankingPageAfter(songId, cursor.score(), cursor.createdAt(), cursor.scoreId(), page);
+        }
+
+        String nextCursor = null;
+        if (items.size() == limit) {
+            RankingResponse last = items.get(items.size() - 1);
+            nextCursor = new RankingCursor(last.getScore(), last.getCreatedAt(), last.getScoreId()).encode();
+        }
+        return new RankingPageResponse(items, nextCursor);
+    }
+
+    private List<RankingResponse> firstPage(Long songId, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        return songId == null
+                ? scoreRepository.findRankingPage(page)
+                : scoreRepository.findSongRankingPage(songId, page);
+    }
+
+    /* 3. 내 최고 기록 (songId 가 있으면 그 곡만) */
+    @Transactional(readOnly = true)
+    public List<BestScoreResponse> getBestScores(String userId, Long songId) {
+        return songId == null
+                ? userBestScoreRepository.findBestsByUserId(userId)
+                : userBestScoreRepository.findBest(userId, songId);
+    }
+
+    /* 4. 곡별 랭킹 - 플레이어당 최고 기록 하나씩 (커서 형식은 getRankingPage 와 같음) */
+    @Transactional(readOnly = true)
+    public RankingPageResponse getBestRankingPage(Long songId, int limit, String after) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit 은 1 ~ " + MAX_PAGE_SIZE + " 사이여야 합니다.");
+        }
+
+        PageRequest page = PageRequest.of(0, limit);
+        List<RankingResponse> items;
+        if (after == null || after.isBlank()) {
+            items = userBestScoreRepository.findSongRankingPage(songId, page);
+        } else {
+            RankingCursor cursor = RankingCursor.decode(after);
+            items = userBestScoreRepository.findSongRankingPageAfter(songId, cursor.score(), cursor.createdAt(), cursor.scoreId(), page);
+        }
+
+        String nextCursor = null;
+        if (items.size() == limit) {
+            RankingResponse last = items.get(items.size() - 1);
+            nextCursor = new RankingCursor(last.getScore(), last.getCreatedAt(), last.getScoreId()).encode();
+        }
+        return new RankingPageResponse(items, nextCursor);
+    }
+}
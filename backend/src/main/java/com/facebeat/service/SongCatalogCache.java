@@ -0,0 +1,106 @@
+package com.facebeat.service;
+
+import com.facebeat.dto.response.SongResponse;
+import com.facebeat.repository.SongRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * GET /api/songs 응답 캐시.
+ * 곡 목록을 미리 JSON 바이트 / gzip 바이트로 직렬화해서 strong ETag 와 함께 들고 있습니다.
+ * 곡이 추가/삭제되어 커밋되면 SongService 가 invalidate() 를 부르고, 다음 요청에서 한 번만 다시 만듭니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SongCatalogCache {
+
+    public record Snapshot(List<SongResponse> songs, Map<Long, SongResponse> byId,
+                           byte[] json, byte[] gzip, String etag) {
+
+        public SongResponse find(Long id) {
+            return byId.get(id);
+        }
+    }
+
+    private final SongRepository songRepository;
+    private final ObjectMapper objectMapper;
+    private final ReadYourWritesTracker readYourWrites;
+
+    private volatile Snapshot current;
+
+    // 다시 만드는 것은 한 번에 하나만 (DB 조회 중에 가상 스레드가 캐리어 스레드를 붙잡지 않도록 synchronized 대신 사용)
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    // invalidate() 마다 증가. 만드는 도중에 무효화되면 그 결과는 저장하지 않음
+    private final AtomicLong version = new AtomicLong();
+
+    public Snapshot get() {
+        Snapshot snapshot = current;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        rebuildLock.lock();
+        try {
+            if (current != null) {
+                return current;
+            }
+            long started = version.get();
+            Snapshot built = build();
+            if (version.get() == started) {
+                current = built;
+            }
+            return built;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+        current = null;
+    }
+
+    private Snapshot build() {
+        // 무효화 직후(곡 추가/삭제 커밋 뒤)에만 다시 만들므로, 복제본이 아직 따라오지 않은 목록을 캐시하지 않도록 primary 에서
+        List<SongResponse> songs = List.copyOf(readYourWrites.onPrimary(songRepository::findAllResponses));
+        Map<Long, SongResponse> byId = new HashMap<>(songs.size() * 2);
+        for (SongResponse song : songs) {
+            byId.put(song.getId(), song);
+        }
+        byte[] json = objectMapper.writeValueAsBytes(songs);
+        return new Snapshot(songs, Map.copyOf(byId), json, gzip(json), etag(json));
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String etag(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
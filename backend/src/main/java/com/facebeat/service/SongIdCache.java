@@ -0,0 +1,41 @@
+package com.facebeat.service;
+
+import com.facebeat.repository.SongRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 존재하는 곡 id 목록 캐시.
+ * 점수 적재/가져오기에서 곡 id 검증을 DB 조회 없이 하기 위해 사용합니다.
+ * SongService 가 곡 추가/삭제 커밋 후에 갱신합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SongIdCache {
+
+    private final SongRepository songRepository;
+    private volatile Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void reload() {
+        Set<Long> loaded = ConcurrentHashMap.newKeySet();
+        loaded.addAll(songRepository.findAllIds());
+        ids = loaded;
+    }
+
+    public boolean contains(Long songId) {
+        return songId != null && ids.contains(songId);
+    }
+
+    public void add(Long songId) {
+        ids.add(songId);
+    }
+
+    public void remove(Long songId) {
+        ids.remove(songId);
+    }
+}
@@ -0,0 +1,450 @@
+package com.facebeat.service;
+
+import com.facebeat.dto.response.SongResponse;
+import com.facebeat.dto.response.SongSearchResponse;
+import com.facebeat.repository.SongRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 곡 검색용 메모리 색인 (GET /api/songs/search).
+ *
+ * 1. 제목/가수: 정규화한 문자열(NFKC, 소문자, 공백 제거)의 한 글자(unigram)와 두 글자(bigram)마다
+ *    그 글자가 들어 있는 곡 id 를 정렬된 long[] 로 들고 있습니다. 검색어의 bigram 목록을 짧은 것부터 교차한 뒤
+ *    검색어가 실제로 이어서 들어 있는지 한 번 더 확인합니다. 한글은 음절, 영문은 글자 단위로 똑같이 동작합니다.
+ * 2. BPM/난이도: 값 순서로 정렬한 int[] 와 같은 순서의 id long[] 를 두고 이진 탐색으로 범위를 자릅니다.
+ *
+ * 검색은 잠금 없이 volatile 스냅숏 하나만 봅니다. 곡이 추가/수정/삭제되면 그 곡의 글자 목록만 고친
+ * 새 스냅숏으로 교체합니다 (SongService / MediaProcessingService 커밋 후, 다른 서버의 변경은 ChangeLogPoller).
+ */
+@Component
+@RequiredArgsConstructor
+public class SongSearchIndex {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // 제목과 가수 사이 구분 글자 (검색어에서는 지우므로 두 필드에 걸쳐서 맞는 일이 없음)
+    private static final char FIELD_SEPARATOR = '\u0000';
+    private static final long[] NO_IDS = new long[0];
+
+    private record Doc(SongResponse song, String title, String text) {}
+
+    // 제목 순, 같으면 id 순
+    private static final Comparator<Doc> TITLE_ORDER =
+            Comparator.comparing(Doc::title).thenComparingLong(doc -> doc.song().getId());
+
+    private record Snapshot(Map<Long, Doc> docs, Doc[] byTitle, Map<String, long[]> postings,
+                            RangeColumn bpm, RangeColumn difficulty) {}
+
+    private final SongRepository songRepository;
+    private final ReadYourWritesTracker readYourWrites;
+
+    private volatile Snapshot current =
+            new Snapshot(Map.of(), new Doc[0], Map.of(), RangeColumn.EMPTY, RangeColumn.EMPTY);
+
+    // 갱신은 한 번에 하나만 (DB 조회 중에 가상 스레드가 캐리어 스레드를 붙잡지 않도록 synchronized 대신 사용)
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    @PostConstruct
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            current = build(songRepository.findAllResponses());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 곡 하나를 DB 에서 다시 읽어서 반영합니다 (추가/수정). 그 사이 삭제됐으면 색인에서 뺍니다.
+     * 커밋 직후라 복제본에는 아직 없을 수 있으므로 primary 에서 읽습니다.
+     */
+    public void refresh(Long songId) {
+        writeLock.lock();
+        try {
+            Optional<SongResponse> song = readYourWrites.onPrimary(() -> songRepository.findResponseById(songId));
+            Snapshot removed = without(current, songId);
+            current = song.isPresent() ? with(removed, song.get()) : removed;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(Long songId) {
+        writeLock.lock();
+        try {
+            current = without(current, songId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 조건에 맞는 곡을 제목 순으로 한 페이지 (page 는 0 부터).
+     * 검색어가 있으면 제목이 검색어로 시작하는 곡이 먼저 나옵니다. 조건이 잘못되면 IllegalArgumentException.
+     */
+    public SongSearchResponse search(String q, Integer bpmMin, Integer bpmMax, Integer difficulty, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("page 는 0 이상이어야 합니다.");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size 는 1 ~ " + MAX_PAGE_SIZE + " 사이여야 합니다.");
+        }
+        if (bpmMin != null && bpmMax != null && bpmMin > bpmMax) {
+            throw new IllegalArgumentException("bpmMin 이 bpmMax 보다 큽니다.");
+        }
+
+        Snapshot snapshot = current;
+        String query = normalize(q);
+
+        List<Doc> matches;
+        if (query.isEmpty() && bpmMin == null && bpmMax == null && difficulty == null) {
+            // 1. 조건이 없으면 미리 정렬해 둔 목록에서 그 페이지만 자름
+            matches = Arrays.asList(snapshot.byTitle());
+        } else {
+            // 2. 후보가 가장 적은 조건 하나를 고름 (BPM/난이도는 이진 탐색으로 개수만 먼저 셈)
+            long[] candidates = query.isEmpty() ? null : textCandidates(snapshot, query);
+            if (bpmMin != null || bpmMax != null) {
+                int min = bpmMin == null ? Integer.MIN_VALUE : bpmMin;
+                int max = bpmMax == null ? Integer.MAX_VALUE : bpmMax;
+                if (candidates == null || snapshot.bpm().count(min, max) < candidates.length) {
+                    candidates = snapshot.bpm().ids(min, max);
+                }
+            }
+            if (difficulty != null
+                    && (candidates == null || snapshot.difficulty().count(difficulty, difficulty) < candidates.length)) {
+                candidates = snapshot.difficulty().ids(difficulty, difficulty);
+            }
+
+            // 3. 나머지 조건은 곡마다 직접 확인 (bigram 이 모두 있어도 떨어져 있을 수 있으므로 검색어도 다시 확인)
+            //    후보가 전체의 1/8 이상이면 정렬하는 것보다 제목 순 목록을 처음부터 훑는 편이 빠름
+            matches = new ArrayList<>(Math.min(candidates.length, 1024));
+            if (candidates.length * 8L >= snapshot.byTitle().length) {
+                for (Doc doc : snapshot.byTitle()) {
+                    if (matches(doc, query, bpmMin, bpmMax, difficulty)) {
+                        matches.add(doc);
+                    }
+                }
+            } else {
+                for (long id : candidates) {
+                    Doc doc = snapshot.docs().get(id);
+                    if (doc != null && matches(doc, query, bpmMin, bpmMax, difficulty)) {
+                        matches.add(doc);
+                    }
+                }
+                matches.sort(TITLE_ORDER);
+            }
+
+            // 4. 제목이 검색어로 시작하는 곡을 앞으로 (각각 제목 순은 유지)
+            if (!query.isEmpty()) {
+                List<Doc> ordered = new ArrayList<>(matches.size());
+                for (Doc doc : matches) {
+                    if (doc.title().startsWith(query)) {
+                        ordered.add(doc);
+                    }
+                }
+                for (Doc doc : matches) {
+                    if (!doc.title().startsWith(query)) {
+                        ordered.add(doc);
+                    }
+                }
+                matches = ordered;
+            }
+        }
+
+        int total = matches.size();
+        long from = (long) page * size;
+        List<SongResponse> items = new ArrayList<>(size);
+        for (long i = from; i < Math.min(total, from + size); i++) {
+            items.add(matches.get((int) i).song());
+        }
+        return new SongSearchResponse(items, total, page, size);
+    }
+
+    private static boolean matches(Doc doc, String query, Integer bpmMin, Integer bpmMax, Integer difficulty) {
+        Integer bpm = doc.song().getBpm();
+        return doc.text().contains(query)
+                && (bpmMin == null || (bpm != null && bpm >= bpmMin))
+                && (bpmMax == null || (bpm != null && bpm <= bpmMax))
+                && (difficulty == null || difficulty.equals(doc.song().getDifficulty()));
+    }
+
+    private static long[] textCandidates(Snapshot snapshot, String query) {
+        if (query.length() == 1) {
+            return snapshot.postings().getOrDefault(query, NO_IDS);
+        }
+        long[][] lists = new long[query.length() - 1][];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = snapshot.postings().get(query.substring(i, i + 2));
+            if (lists[i] == null) {
+                return NO_IDS;
+            }
+        }
+        // 가장 짧은 목록부터 교차하면 후보가 빨리 줄어듦
+        Arrays.sort(lists, Comparator.comparingInt(ids -> ids.length));
+        long[] result = lists[0];
+        for (int i = 1; i < lists.length && result.length > 0; i++) {
+            result = intersect(result, lists[i]);
+        }
+        return result;
+    }
+
+    // 둘 다 id 순 정렬. 짧은 쪽의 id 를 긴 쪽에서 이진 탐색
+    private static long[] intersect(long[] a, long[] b) {
+        long[] small = a.length <= b.length ? a : b;
+        long[] large = small == a ? b : a;
+        long[] result = new long[small.length];
+        int count = 0;
+        int from = 0;
+        for (long id : small) {
+            if (from == large.length) {
+                break;
+            }
+            int pos = Arrays.binarySearch(large, from, large.length, id);
+            if (pos >= 0) {
+                result[count++] = id;
+                from = pos + 1;
+            } else {
+                from = -pos - 1;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    private static Snapshot build(List<SongResponse> songs) {
+        Map<Long, Doc> docs = new HashMap<>(songs.size() * 2);
+        Map<String, List<Long>> grams = new HashMap<>();
+        for (SongResponse song : songs) {
+            Doc doc = doc(song);
+            docs.put(song.getId(), doc);
+            for (String gram : grams(doc.text())) {
+                grams.computeIfAbsent(gram, key -> new ArrayList<>()).add(song.getId());
+            }
+        }
+        Map<String, long[]> postings = new HashMap<>(grams.size() * 2);
+        grams.forEach((gram, ids) -> postings.put(gram, ids.stream().mapToLong(Long::longValue).sorted().toArray()));
+
+        Doc[] byTitle = docs.values().toArray(new Doc[0]);
+        Arrays.sort(byTitle, TITLE_ORDER);
+        return new Snapshot(docs, byTitle, postings,
+                RangeColumn.of(songs, SongResponse::getBpm), RangeColumn.of(songs, SongResponse::getDifficulty));
+    }
+
+    private static Snapshot with(Snapshot snapshot, SongResponse song) {
+        long id = song.getId();
+        Doc doc = doc(song);
+
+        Map<Long, Doc> docs = new HashMap<>(snapshot.docs());
+        docs.put(id, doc);
+        Map<String, long[]> postings = new HashMap<>(snapshot.postings());
+        for (String gram : grams(doc.text())) {
+            postings.put(gram, insertId(postings.get(gram), id));
+        }
+
+        Doc[] old = snapshot.byTitle();
+        int pos = -Arrays.binarySearch(old, doc, TITLE_ORDER) - 1;
+        Doc[] byTitle = new Doc[old.length + 1];
+        System.arraycopy(old, 0, byTitle, 0, pos);
+        byTitle[pos] = doc;
+        System.arraycopy(old, pos, byTitle, pos + 1, old.length - pos);
+
+        return new Snapshot(docs, byTitle, postings,
+                snapshot.bpm().with(song.getBpm(), id), snapshot.difficulty().with(song.getDifficulty(), id));
+    }
+
+    private static Snapshot without(Snapshot snapshot, Long songId) {
+        Doc doc = snapshot.docs().get(songId);
+        if (doc == null) {
+            return snapshot;
+        }
+        long id = songId;
+
+        Map<Long, Doc> docs = new HashMap<>(snapshot.docs());
+        docs.remove(songId);
+        Map<String, long[]> postings = new HashMap<>(snapshot.postings());
+        for (String gram : grams(doc.text())) {
+            long[] ids = removeId(postings.get(gram), id);
+            if (ids.length == 0) {
+                postings.remove(gram);
+            } else {
+                postings.put(gram, ids);
+            }
+        }
+
+        Doc[] old = snapshot.byTitle();
+        int pos = Arrays.binarySearch(old, doc, TITLE_ORDER);
+        Doc[] byTitle = new Doc[old.length - 1];
+        System.arraycopy(old, 0, byTitle, 0, pos);
+        System.arraycopy(old, pos + 1, byTitle, pos, old.length - pos - 1);
+
+        return new Snapshot(docs, byTitle, postings,
+                snapshot.bpm().without(doc.song().getBpm(), id),
+                snapshot.difficulty().without(doc.song().getDifficulty(), id));
+    }
+
+    private static long[] insertId(long[] ids, long id) {
+        if (ids == null) {
+            return new long[]{id};
+        }
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos >= 0) {
+            return ids;
+        }
+        pos = -pos - 1;
+        long[] copy = new long[ids.length + 1];
+        System.arraycopy(ids, 0, copy, 0, pos);
+        copy[pos] = id;
+        System.arraycopy(ids, pos, copy, pos + 1, ids.length - pos);
+        return copy;
+    }
+
+    private static long[] removeId(long[] ids, long id) {
+        int pos = ids == null ? -1 : Arrays.binarySearch(ids, id);
+        if (pos < 0) {
+            return ids == null ? NO_IDS : ids;
+        }
+        long[] copy = new long[ids.length - 1];
+        System.arraycopy(ids, 0, copy, 0, pos);
+        System.arraycopy(ids, pos + 1, copy, pos, ids.length - pos - 1);
+        return copy;
+    }
+
+    private static Doc doc(SongResponse song) {
+        String title = normalize(song.getTitle());
+        return new Doc(song, title, title + FIELD_SEPARATOR + normalize(song.getArtist()));
+    }
+
+    // 구분 글자는 건너뛰므로 두 필드에 걸친 bigram 은 만들지 않음
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>(text.length() * 2);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == FIELD_SEPARATOR) {
+                continue;
+            }
+            grams.add(String.valueOf(c));
+            if (i + 1 < text.length() && text.charAt(i + 1) != FIELD_SEPARATOR) {
+                grams.add(text.substring(i, i + 2));
+            }
+        }
+        return grams;
+    }
+
+    // 전각/반각, 호환 자모 등은 NFKC 로 맞추고, 띄어쓰기는 무시 ("아이 유" 로 "아이유" 검색)
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder out = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (!Character.isWhitespace(c) && c != FIELD_SEPARATOR) {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    /** 값 순서(같으면 id 순)로 정렬한 값과 id. 값이 null 인 곡은 넣지 않음 */
+    private record RangeColumn(int[] values, long[] ids) {
+
+        static final RangeColumn EMPTY = new RangeColumn(new int[0], NO_IDS);
+
+        static RangeColumn of(List<SongResponse> songs, Function<SongResponse, Integer> field) {
+            List<SongResponse> present = songs.stream()
+                    .filter(song -> field.apply(song) != null)
+                    .sorted(Comparator.comparing(field).thenComparing(SongResponse::getId))
+                    .toList();
+            int[] values = new int[present.size()];
+            long[] ids = new long[present.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = field.apply(present.get(i));
+                ids[i] = present.get(i).getId();
+            }
+            return new RangeColumn(values, ids);
+        }
+
+        // (value, id) 보다 앞에 오는 항목 수
+        private int position(int value, long id) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] < value || (values[mid] == value && ids[mid] < id)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int from(int min) {
+            return position(min, Long.MIN_VALUE);
+        }
+
+        private int to(int max) {
+            return max == Integer.MAX_VALUE ? values.length : position(max + 1, Long.MIN_VALUE);
+        }
+
+        /** min 이상 max 이하인 곡 수 */
+        int count(int min, int max) {
+            return Math.max(0, to(max) - from(min));
+        }
+
+        /** min 이상 max 이하인 곡 id (값 순서) */
+        long[] ids(int min, int max) {
+            int from = from(min);
+            return Arrays.copyOfRange(ids, from, Math.max(from, to(max)));
+        }
+
+        RangeColumn with(Integer value, long id) {
+            if (value == null) {
+                return this;
+            }
+            int pos = position(value, id);
+            int[] newValues = new int[values.length + 1];
+            long[] newIds = new long[ids.length + 1];
+            System.arraycopy(values, 0, newValues, 0, pos);
+            System.arraycopy(ids, 0, newIds, 0, pos);
+            newValues[pos] = value;
+            newIds[pos] = id;
+            System.arraycopy(values, pos, newValues, pos + 1, values.length - pos);
+            System.arraycopy(ids, pos, newIds, pos + 1, ids.length - pos);
+            return new RangeColumn(newValues, newIds);
+        }
+
+        RangeColumn without(Integer value, long id) {
+            if (value == null) {
+                return this;
+            }
+            int pos = position(value, id);
+            if (pos == values.length || values[pos] != value || ids[pos] != id) {
+                return this;
+            }
+            int[] newValues = new int[values.length - 1];
+            long[] newIds = new long[ids.length - 1];
+            System.arraycopy(values, 0, newValues, 0, pos);
+            System.arraycopy(ids, 0, newIds, 0, pos);
+            System.arraycopy(values, pos + 1, newValues, pos, values.length - pos - 1);
+            System.arraycopy(ids, pos + 1, newIds, pos, ids.length - pos - 1);
+            return new RangeColumn(newValues, newIds);
+        }
+    }
+}
@@ -2,19 +2,32 @@ package com.facebeat.service;
 
 import com.facebeat.entity.Song;
 import com.facebeat.repository.SongRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 
+@Slf4j
 @Service
+@Timed(value = "service.calls", histogram = true)
 @RequiredArgsConstructor
 public class SongService {
 
     private final SongRepository songRepository;
     private final StorageService storageService;
+    private final LeaderboardService leaderboardService;
+    private final SongIdCache songIdCache;
+    private final SongCatalogCache songCatalogCache;
+    private final SongSearchIndex songSearchIndex;
+    private final MediaProcessingService mediaProcessingService;
+    private final NoteChartService noteChartService;
+    private final ChangeLogService changeLogService;
 
     @Transactional
     public Song addSong(Song song, MultipartFile songFile, MultipartFile imageFile) {
@@ -26,8 +39,37 @@ public class SongService {
         song.setFilePath(songPath);
         song.setImagePath(imagePath);
 
-        // 3. DB에 엔티티 저장
-        return songRepository.save(song);
+        // 3. DB에 엔티티 저장 (다른 서버도 캐시를 갱신하도록 변경 기록을 같은 트랜잭션에 남김)
+        Song saved = songRepository.save(song);
+        changeLogService.append(ChangeLogService.Type.SONG, ChangeLogService.Action.ADDED, saved.getId());
+
+        // 4. 커밋되면 곡 id 캐시에 추가 (점수 적재 시 검증용) + 곡 목록 캐시 무효화 + 검색 색인에 추가
+        //    길이 추출 / 커버 축소 / 차트 생성은 백그라운드로 넘김 (업로드 응답은 기다리지 않음)
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                songIdCache.add(saved.getId());
+                songCatalogCache.invalidate();
+                songSearchIndex.refresh(saved.getId());
+                mediaProcessingService.submit(saved.getId(), songPath, imagePath, saved.getBpm());
+                if (log.isInfoEnabled()) {
+                    log.info("song.upload songId={} title={} file={} bytes={} image={}", saved.getId(), saved.getTitle(),
+                            songPath, songFile == null ? 0 : songFile.getSize(), imagePath);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                // 저장소에 "아직 커밋 전" 으로 잡혀 있던 참조를 풀어줌
+                storageService.release(songPath);
+                storageService.release(imagePath);
+                // 롤백됐으면 이번에 올린 파일은 아무도 안 쓰므로 정리
+                if (status == STATUS_ROLLED_BACK) {
+                    deleteUnreferencedFiles(songPath, imagePath);
+                }
+            }
+        });
+        return saved;
     }
 
     @Transactional
@@ -36,12 +78,31 @@ public class SongService {
         Song song = songRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid song Id:" + id));
 
-        // 2. 실제 파일 삭제
-        storageService.delete(song.getFilePath());
-        storageService.delete(song.getImagePath());
+        String songPath = song.getFilePath();
+        String imagePath = song.getImagePath();
 
-        // 3. DB에서 레코드 삭제
+        // 2. DB에서 레코드 삭제 (노트는 FK CASCADE 가 없는 예전 테이블도 있으므로 먼저 직접 삭제)
+        noteChartService.deleteChart(id);
         songRepository.delete(song);
+        changeLogService.append(ChangeLogService.Type.SONG, ChangeLogService.Action.DELETED, id);
+
+        // 3. 점수는 FK CASCADE 로 같이 지워지므로 커밋 후 곡 id 캐시, 곡 목록 캐시, 검색 색인, 리더보드에서도 제거
+        //    실제 파일은 다른 곡이 같은 파일을 쓰고 있지 않을 때만 삭제 (내용 기반 저장소는 파일을 공유함)
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deleteUnreferencedFiles(songPath, imagePath);
+                songIdCache.remove(id);
+                songCatalogCache.invalidate();
+                songSearchIndex.remove(id);
+                leaderboardService.removeSong(id);
+            }
+        });
+    }
+
+    private void deleteUnreferencedFiles(String songPath, String imagePath) {
+        storageService.deleteIfUnreferenced(songPath, () -> songRepository.countByFilePath(songPath));
+        storageService.deleteIfUnreferenced(imagePath, () -> songRepository.countByImagePath(imagePath));
     }
 
     @Transactional(readOnly = true)
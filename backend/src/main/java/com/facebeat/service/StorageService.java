@@ -1,77 +1,291 @@
 package com.facebeat.service;
 
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
 
+/**
+ * 업로드 파일 저장소.
+ *
+ * storage.deduplicate=true (기본값) 이면 내용 기반 저장을 사용합니다.
+ *  - 복사하면서 동시에 SHA-256 을 계산하고(한 번만 읽음), /songs/ab/cd/{hash}.mp3 처럼 해시로 저장
+ *  - 같은 파일을 다시 올리면 기존 파일을 그대로 공유
+ *  - 삭제는 deleteIfUnreferenced 로, 이 경로를 쓰는 music 행이 하나도 없을 때만 실제 파일을 지움
+ * false 이면 예전처럼 매번 UUID 이름으로 저장합니다.
+ *
+ * 커버 이미지의 축소본(/images/ab/cd/{hash}_w320.jpg)은 원본 경로에서 이름이 정해지므로
+ * 같은 이미지를 쓰는 곡끼리 공유되고, 원본을 지울 때 함께 지워집니다.
+ */
+@Slf4j
 @Service
+@Timed(value = "service.calls", histogram = true)
 public class StorageService {
 
-    @Value("${storage.location}/images")
-    private String imageUploadPath;
+    private static final int LOCK_STRIPES = 64;
 
-    @Value("${storage.location}/songs")
-    private String songUploadPath;
+    /** 저장소 밖(../ 등)을 가리키거나 경로로 쓸 수 없는 값 (요청 처리 중이면 400, ApiExceptionHandler) */
+    public static class InvalidPathException extends IllegalArgumentException {
+        public InvalidPathException(String message) {
+            super(message);
+        }
+    }
+
+    private final Path root;
+    private final boolean deduplicate;
+    private final int[] imageVariantWidths;
+
+    // 경로별 잠금 (저장 <-> 삭제가 같은 파일을 두고 엇갈리지 않도록)
+    // synchronized 대신 ReentrantLock: 잠금 안에서 파일 I/O 와 DB 조회(referenceCount)를 하므로
+    // 가상 스레드(application-virtual.properties)가 기다리는 동안 캐리어 스레드를 붙잡지 않도록 함
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    // 저장은 했지만 아직 music 행이 커밋되지 않은 경로 -> 그동안에는 삭제하지 않음
+    private final Map<String, Integer> pendingReferences = new ConcurrentHashMap<>();
 
+    public StorageService(@Value("${storage.location}") String storageLocation,
+                          @Value("${storage.deduplicate:true}") boolean deduplicate,
+                          @Value("${storage.image-variant-widths:320,96}") int[] imageVariantWidths) {
+        this.root = Paths.get(storageLocation).toAbsolutePath().normalize();
+        this.deduplicate = deduplicate;
+        this.imageVariantWidths = imageVariantWidths.clone();
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * 파일을 저장하고 DB 에 넣을 경로(/songs/... 또는 /images/...)를 돌려줍니다.
+     * 내용 기반 저장일 때는 돌려준 경로가 release() 될 때까지 삭제되지 않습니다.
+     */
     public String store(MultipartFile file, String type) {
         if (file == null || file.isEmpty()) {
             return null;
         }
 
+        String subDir;
+        if ("image".equals(type)) {
+            subDir = "images";
+        } else if ("song".equals(type)) {
+            subDir = "songs";
+        } else {
+            throw new IllegalArgumentException("Invalid file type specified.");
+        }
+
         String originalFilename = file.getOriginalFilename();
         String extension = "";
         if (originalFilename != null && originalFilename.contains(".")) {
-            extension = originalFilename.substring(originalFilename.lastIndexOf("."));
+            extension = originalFilename.substring(originalFilename.lastIndexOf(".")).toLowerCase(Locale.ROOT);
         }
-        String storedFilename = UUID.randomUUID().toString() + extension;
 
-        Path destinationPath;
-        String subPath;
+        try {
+            Path destinationPath = root.resolve(subDir);
+            Files.createDirectories(destinationPath);
 
-        if ("image".equals(type)) {
-            destinationPath = Paths.get(imageUploadPath);
-            subPath = "/images/";
-        } else if ("song".equals(type)) {
-            destinationPath = Paths.get(songUploadPath);
-            subPath = "/songs/";
-        } else {
-            throw new IllegalArgumentException("Invalid file type specified.");
+            if (!deduplicate) {
+                String storedFilename = UUID.randomUUID().toString() + extension;
+                try (InputStream inputStream = file.getInputStream()) {
+                    Files.copy(inputStream, destinationPath.resolve(storedFilename), StandardCopyOption.REPLACE_EXISTING);
+                }
+                return "/" + subDir + "/" + storedFilename; // DB에 저장될 경로
+            }
+
+            return storeByContent(file, destinationPath, subDir, extension);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store file.", e);
+        }
+    }
+
+    private String storeByContent(MultipartFile file, Path destinationPath, String subDir, String extension)
+            throws IOException {
+        // 1. 같은 디렉터리의 임시 파일로 복사하면서 해시 계산 (다시 읽지 않음)
+        Path temp = destinationPath.resolve(".upload-" + UUID.randomUUID() + ".tmp");
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            Files.copy(in, temp);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
         }
+        String hash = HexFormat.of().formatHex(digest.digest());
 
+        // 2. /songs/ab/cd/{hash}.mp3 로 옮김 (디렉터리 하나에 파일이 몰리지 않도록 두 단계로 나눔)
+        String relative = subDir + "/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + extension;
+        String webPath = "/" + relative;
+        Path target = root.resolve(relative);
+
+        ReentrantLock lock = lockFor(webPath);
+        lock.lock();
         try {
-            if (!Files.exists(destinationPath)) {
-                Files.createDirectories(destinationPath);
+            try {
+                if (!Files.exists(target)) {
+                    Files.createDirectories(target.getParent());
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (FileAlreadyExistsException e) {
+                // 다른 프로세스가 먼저 같은 내용을 저장함 -> 공유
+            } finally {
+                // 이미 같은 내용이 있어서 옮기지 않았으면 임시 파일 정리
+                Files.deleteIfExists(temp);
             }
-            try (InputStream inputStream = file.getInputStream()) {
-                Path destinationFile = destinationPath.resolve(storedFilename);
-                Files.copy(inputStream, destinationFile, StandardCopyOption.REPLACE_EXISTING);
+            pendingReferences.merge(webPath, 1, Integer::sum);
+        } finally {
+            lock.unlock();
+        }
+        return webPath;
+    }
+
+    /** store() 로 받은 경로를 쓰는 music 행이 커밋(또는 롤백)되었으면 호출합니다. */
+    public void release(String filePath) {
+        if (filePath == null || !deduplicate) {
+            return;
+        }
+        ReentrantLock lock = lockFor(filePath);
+        lock.lock();
+        try {
+            pendingReferences.computeIfPresent(filePath, (k, v) -> v > 1 ? v - 1 : null);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 아무도 참조하지 않을 때만 파일을 삭제합니다.
+     *
+     * @param referenceCount 이 경로를 쓰는 music 행 개수 (잠금 안에서 호출됨)
+     */
+    public void deleteIfUnreferenced(String filePath, LongSupplier referenceCount) {
+        if (filePath == null || filePath.isEmpty()) {
+            return;
+        }
+        ReentrantLock lock = lockFor(filePath);
+        lock.lock();
+        try {
+            if (pendingReferences.containsKey(filePath) || referenceCount.getAsLong() > 0) {
+                return;
             }
-            return subPath + storedFilename; // DB에 저장될 경로
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to store file.", e);
+            delete(filePath);
+            if (filePath.startsWith("/images/")) {
+                for (int width : imageVariantWidths) {
+                    delete(variantPath(filePath, width));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 커버 축소본 가로 크기 목록 (첫 번째가 목록 화면용) */
+    public int[] imageVariantWidths() {
+        return imageVariantWidths.clone();
+    }
+
+    /** /images/ab/cd/{hash}.png -> /images/ab/cd/{hash}_w320.jpg */
+    public String variantPath(String imagePath, int width) {
+        int dot = imagePath.lastIndexOf('.');
+        String base = dot > imagePath.lastIndexOf('/') ? imagePath.substring(0, dot) : imagePath;
+        return base + "_w" + width + ".jpg";
+    }
+
+    /**
+     * 원본 이미지의 축소본을 저장합니다. writer 는 임시 파일에 내용을 씁니다.
+     * 이미 있으면(같은 이미지를 쓰는 다른 곡이 만들었으면) 그대로 쓰고,
+     * 그 사이 원본이 삭제됐으면 남기지 않고 null 을 돌려줍니다.
+     */
+    public String storeVariant(String imagePath, int width, VariantWriter writer) throws IOException {
+        String webPath = variantPath(imagePath, width);
+        Path target = resolve(webPath);
+        if (Files.exists(target)) {
+            return webPath;
+        }
+
+        // 1. 잠금 밖에서 같은 디렉터리의 임시 파일로 씀 (인코딩이 오래 걸려도 삭제를 막지 않음)
+        Path temp = target.resolveSibling(".variant-" + UUID.randomUUID() + ".tmp");
+        try {
+            writer.write(temp);
+
+            // 2. 원본 삭제(deleteIfUnreferenced)와 같은 잠금 안에서 옮김
+            ReentrantLock lock = lockFor(imagePath);
+            lock.lock();
+            try {
+                if (!Files.exists(resolve(imagePath))) {
+                    return null;
+                }
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                lock.unlock();
+            }
+            return webPath;
+        } finally {
+            Files.deleteIfExists(temp);
         }
     }
 
+    @FunctionalInterface
+    public interface VariantWriter {
+        void write(Path target) throws IOException;
+    }
+
+    /**
+     * DB 에 저장된 경로(/songs/xxx.mp3 등)를 실제 파일 경로로 바꿉니다.
+     * storage.location 밖을 가리키는 경로(../ 등)나 경로로 쓸 수 없는 문자가 있으면 InvalidPathException.
+     */
+    public Path resolve(String filePath) {
+        // filePath는 /images/file.png 와 같은 형태이므로 앞의 /를 제거해야 함
+        String cleanPath = filePath.startsWith("/") ? filePath.substring(1) : filePath;
+        Path resolved;
+        try {
+            resolved = root.resolve(cleanPath).normalize();
+        } catch (java.nio.file.InvalidPathException e) {
+            throw new InvalidPathException("Invalid file path: " + filePath);
+        }
+        if (!resolved.startsWith(root)) {
+            throw new InvalidPathException("Invalid file path: " + filePath);
+        }
+        return resolved;
+    }
+
     public void delete(String filePath) {
         if (filePath == null || filePath.isEmpty()) {
             return;
         }
         try {
-            // filePath는 /images/file.png 와 같은 형태이므로 앞의 /를 제거해야 함
-            String cleanPath = filePath.startsWith("/") ? filePath.substring(1) : filePath;
-            Path fileToDelete = Paths.get("src/main/resources/static").resolve(cleanPath);
+            Path fileToDelete = resolve(filePath);
             Files.deleteIfExists(fileToDelete);
         } catch (IOException e) {
             // 파일 삭제 실패 시 로깅만 하고 에러를 던지지 않을 수 있음 (선택)
-            System.err.println("Failed to delete file: " + filePath);
+            log.warn("storage.delete.failed path={}", filePath, e);
+        }
+    }
+
+    private ReentrantLock lockFor(String filePath) {
+        return locks[Math.floorMod(filePath.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
 }
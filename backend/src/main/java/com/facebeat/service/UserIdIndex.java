@@ -0,0 +1,99 @@
+package com.facebeat.service;
+
+import com.facebeat.repository.UserRepository;
+import com.facebeat.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * member.user_id 존재 여부 인덱스 (Bloom filter).
+ * GET /api/users/check-id 에서 "확실히 없는 아이디"는 DB 를 거치지 않고 바로 답하기 위해 사용합니다.
+ * 시작할 때 전체 아이디로 만들고, 회원가입할 때 추가합니다.
+ * 가입이 늘어서 처음 잡은 크기를 넘으면 두 배 크기로 다시 만듭니다.
+ */
+@Component
+public class UserIdIndex {
+
+    private final UserRepository userRepository;
+    private final double fpp;
+    private final long minCapacity;
+
+    private volatile BloomFilter filter;
+    private final AtomicLong inserted = new AtomicLong();
+
+    // 다시 만들기는 한 번에 하나만
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    // 다시 만드는 동안 들어온 아이디 (새 필터에도 넣어야 함)
+    private boolean reloading;
+    private final List<String> addedDuringReload = new ArrayList<>();
+
+    public UserIdIndex(UserRepository userRepository,
+                       @Value("${users.bloom.fpp:0.01}") double fpp,
+                       @Value("${users.bloom.min-capacity:10000}") long minCapacity) {
+        this.userRepository = userRepository;
+        this.fpp = fpp;
+        this.minCapacity = minCapacity;
+        this.filter = BloomFilter.create(minCapacity, fpp);
+    }
+
+    @PostConstruct
+    public void reload() {
+        reloadLock.lock();
+        try {
+            rebuild();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void rebuild() {
+        synchronized (this) {
+            reloading = true;
+            addedDuringReload.clear();
+        }
+        List<String> userIds = userRepository.findAllUserIds();
+        BloomFilter loaded = BloomFilter.create(Math.max(minCapacity, userIds.size() * 2L), fpp);
+        for (String userId : userIds) {
+            loaded.put(userId);
+        }
+        synchronized (this) {
+            for (String userId : addedDuringReload) {
+                loaded.put(userId);
+            }
+            inserted.set(userIds.size() + addedDuringReload.size());
+            addedDuringReload.clear();
+            reloading = false;
+            filter = loaded;
+        }
+    }
+
+    /** false 면 확실히 없는 아이디, true 면 있을 수도 있음 (DB 로 확인 필요) */
+    public boolean mightContain(String userId) {
+        return userId != null && filter.mightContain(userId);
+    }
+
+    public void add(String userId) {
+        synchronized (this) {
+            filter.put(userId);
+            if (reloading) {
+                addedDuringReload.add(userId);
+            }
+        }
+        // 처음 잡은 크기를 넘어서 오탐률이 올라가기 시작함 (이미 다른 스레드가 다시 만들고 있으면 넘어감)
+        if (inserted.incrementAndGet() > filter.expectedInsertions() && reloadLock.tryLock()) {
+            try {
+                if (inserted.get() > filter.expectedInsertions()) {
+                    rebuild();
+                }
+            } finally {
+                reloadLock.unlock();
+            }
+        }
+    }
+}
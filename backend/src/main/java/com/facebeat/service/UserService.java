@@ -3,54 +3,98 @@ package com.facebeat.service;
 import com.facebeat.dto.request.SignupRequest;
 import com.facebeat.entity.User;
 import com.facebeat.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.List;
+
+@Slf4j
 @Service
+@Timed(value = "service.calls", histogram = true)
 @RequiredArgsConstructor
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final UserIdIndex userIdIndex;
+    private final ChangeLogService changeLogService;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadYourWritesTracker readYourWrites;
 
     // ✨ [추가됨] 0. 아이디 중복 확인 (Controller에서 사용)
-    @Transactional(readOnly = true)
+    // Bloom filter 가 "없음"이라고 하면 DB 조회 없이 바로 false,
+    // "있을 수도 있음"일 때만 존재 여부 쿼리로 확인 (엔티티를 만들지 않음)
     public boolean checkIdDuplicate(String userId) {
-        // 아이디로 조회했을 때 존재하면 true, 없으면 false 반환
-        return userRepository.findByUserId(userId).isPresent();
+        if (!userIdIndex.mightContain(userId)) {
+            return false;
+        }
+        return userRepository.existsByUserId(userId);
     }
 
     // 1. 회원가입
-    @Transactional
+    // 해시 계산(수백 ms)은 트랜잭션/DB 커넥션을 잡지 않은 상태에서 해시 스레드 풀에서 함
+    // 해시 스레드 풀이 가득 차면 PasswordHashingService.OverloadedException
     public void signup(SignupRequest request) {
         // 중복 체크 (혹시 몰라 한 번 더 안전장치)
-        if (userRepository.findByUserId(request.getUserId()).isPresent()) {
+        if (checkIdDuplicate(request.getUserId())) {
             throw new IllegalArgumentException("이미 존재하는 아이디입니다.");
         }
 
         // 비밀번호 암호화
-        String encodedPassword = passwordEncoder.encode(request.getPassword());
+        String encodedPassword = passwordHashingService.encode(request.getPassword());
 
         // User 엔티티 생성 및 저장
         // UserId = UserName
+        // 아이디 인덱스에는 저장 전에 넣음 (저장이 실패해도 "있을 수도 있음"이 될 뿐이라 안전)
         User user = new User(request.getUserId(), request.getUserId(), encodedPassword);
-        userRepository.save(user);
+        userIdIndex.add(request.getUserId());
+        try {
+            // 다른 서버의 아이디 인덱스에도 들어가도록 변경 기록을 같은 트랜잭션에 남김
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.save(user);
+                changeLogService.append(ChangeLogService.Type.USER, ChangeLogService.Action.ADDED, user.getUserId());
+                // 가입 직후 로그인이 아직 복제되지 않은 복제본에서 "없는 아이디"가 되지 않도록
+                readYourWrites.recordAfterCommit(List.of(user.getUserId()));
+            });
+        } catch (DataIntegrityViolationException e) {
+            // 해시하는 사이에 같은 아이디가 먼저 가입함 (user_id UNIQUE)
+            throw new IllegalArgumentException("이미 존재하는 아이디입니다.");
+        }
     }
 
     // 2. 로그인
-    @Transactional(readOnly = true)
+    // 조회 -> (트랜잭션 밖에서) 해시 비교 -> 필요하면 새 cost 로 다시 해시해서 교체
+    // 해시 스레드 풀이 가득 차면 PasswordHashingService.OverloadedException
     public User login(String userId, String password) {
-        // 1. 아이디로 찾기
-        User user = userRepository.findByUserId(userId)
-                .orElse(null);
+        // 1. 아이디로 찾기 (복제본 설정이 있으면 복제본에서, 방금 가입한 아이디면 primary 에서)
+        User user;
+        try (ReadYourWritesTracker.Scope scope = readYourWrites.bind(userId)) {
+            user = userRepository.findByUserId(userId)
+                    .orElse(null);
+        }
 
         // 2. 비밀번호 검증 (DB의 암호화된 비번과 비교)
-        if (user != null && passwordEncoder.matches(password, user.getPassword())) {
-            return user;
+        if (user == null || !passwordHashingService.matches(password, user.getPassword())) {
+            log.info("user.login userId={} result={}", userId, user == null ? "unknown-user" : "bad-password");
+            return null; // 로그인 실패
         }
 
-        return null; // 로그인 실패
+        // 3. 설정된 cost 와 다르면 다시 해시 (실패해도 로그인은 성공)
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            try {
+                String rehashed = passwordHashingService.encode(password);
+                if (userRepository.updatePasswordHash(user.getId(), user.getPassword(), rehashed) > 0) {
+                    user.setPassword(rehashed);
+                }
+            } catch (PasswordHashingService.OverloadedException e) {
+                // 바쁠 때는 다음 로그인에 다시 시도
+            }
+        }
+        log.info("user.login userId={} result=ok", userId);
+        return user;
     }
 }
\ No newline at end of file
@@ -0,0 +1,152 @@
+package com.facebeat.service;
+
+import com.facebeat.dto.response.RankingResponse;
+import com.facebeat.entity.Score;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 일간 / 주간 / 시즌(분기) 리더보드 (leaderboard_buckets, V15).
+ *
+ * 기간마다 플레이어당 한 줄(그 기간 최고 기록 + 플레이 수)을 점수 저장 트랜잭션 안에서 upsert 하고,
+ * 조회는 idx_leaderboard_buckets_rank 를 따라 상위 limit 줄만 읽습니다 - 기간 안 플레이어 수와 상관없이 비용이 같습니다.
+ * 지난 일간 집계는 ScoreArchiveService 가 ranking.windows.daily-retention-days 가 지나면 지웁니다.
+ */
+@Service
+public class WindowedLeaderboardService {
+
+    public enum Window {
+        DAILY, WEEKLY, SEASON;
+
+        /** date 가 속한 기간의 첫날 */
+        public LocalDate bucketStart(LocalDate date) {
+            return switch (this) {
+                case DAILY -> date;
+                case WEEKLY -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case SEASON -> LocalDate.of(date.getYear(), (date.getMonthValue() - 1) / 3 * 3 + 1, 1);
+            };
+        }
+
+        /** daily / weekly / season (대소문자 무시) */
+        public static Window from(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("기간은 daily, weekly, season 중 하나여야 합니다: " + name);
+            }
+        }
+    }
+
+    // 기간 최고 기록 upsert - 플레이 수는 항상 더하고, 기록은 새 점수가 더 높을 때만 바꿈
+    // (score_value 를 마지막에 두는 이유는 ScoreService.UPSERT_BEST_SQL 과 같음)
+    private static final String UPSERT_BUCKET_SQL =
+            "INSERT INTO leaderboard_buckets " +
+            "(window_type, bucket_start, user_id, song_id, score_value, score_id, achieved_at, play_count) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "play_count = play_count + VALUES(play_count), " +
+            "song_id = CASE WHEN VALUES(score_value) > score_value THEN VALUES(song_id) ELSE song_id END, " +
+            "score_id = CASE WHEN VALUES(score_value) > score_value THEN VALUES(score_id) ELSE score_id END, " +
+            "achieved_at = CASE WHEN VALUES(score_value) > score_value THEN VALUES(achieved_at) ELSE achieved_at END, " +
+            "score_value = GREATEST(score_value, VALUES(score_value))";
+
+    private static final String SELECT_TOP_SQL =
+            "SELECT b.user_id, m.title, b.score_value, b.score_id, b.achieved_at " +
+            "FROM leaderboard_buckets b JOIN music m ON m.id = b.song_id " +
+            "WHERE b.window_type = ? AND b.bucket_start = ? " +
+            "ORDER BY b.score_value DESC, b.achieved_at ASC, b.score_id ASC LIMIT ?";
+
+    // 같은 기간/플레이어 안에서 가장 좋은 기록과 그 배치의 플레이 수
+    private record Bucket(Window window, LocalDate start, String userId) {}
+
+    private static final class Best {
+        Score score;
+        int plays;
+    }
+
+    // 기본 키 순서 - 동시에 도는 배치끼리 행 잠금을 같은 순서로 잡도록
+    private static final Comparator<Bucket> KEY_ORDER = Comparator
+            .comparing(Bucket::window)
+            .thenComparing(Bucket::start)
+            .thenComparing(Bucket::userId);
+
+    private static final int MAX_LIMIT = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int dailyRetentionDays;
+
+    public WindowedLeaderboardService(JdbcTemplate jdbcTemplate,
+                                      @Value("${ranking.windows.daily-retention-days:35}") int dailyRetentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dailyRetentionDays = dailyRetentionDays;
+    }
+
+    /**
+     * 점수들을 기간별 집계에 반영합니다. ScoreService.saveAll 의 트랜잭션 안에서 불러야 합니다
+     * (id, createdAt 이 채워진 뒤).
+     */
+    public void record(List<Score> scores) {
+        // 1. 배치 안에서 (기간, 플레이어) 마다 최고 기록과 플레이 수를 먼저 모음
+        Map<Bucket, Best> buckets = new TreeMap<>(KEY_ORDER);
+        for (Score score : scores) {
+            LocalDate day = score.getCreatedAt().toLocalDate();
+            for (Window window : Window.values()) {
+                Best best = buckets.computeIfAbsent(
+                        new Bucket(window, window.bucketStart(day), score.getUserId()), k -> new Best());
+                best.plays++;
+                if (best.score == null || ScoreService.RANKING_ORDER.compare(score, best.score) < 0) {
+                    best.score = score;
+                }
+            }
+        }
+
+        // 2. 한 번의 JDBC 배치로 upsert
+        List<Object[]> rows = new ArrayList<>(buckets.size());
+        buckets.forEach((bucket, best) -> rows.add(new Object[]{
+                bucket.window().name(), Date.valueOf(bucket.start()), bucket.userId(),
+                best.score.getSong().getId(), best.score.getScore(), best.score.getId(),
+                Timestamp.valueOf(best.score.getCreatedAt()), best.plays}));
+        jdbcTemplate.batchUpdate(UPSERT_BUCKET_SQL, rows);
+    }
+
+    /** 지금 진행 중인 기간의 상위 limit 명 */
+    public List<RankingResponse> top(Window window, int limit) {
+        return top(window, LocalDate.now(), limit);
+    }
+
+    /** date 가 속한 기간의 상위 limit 명 (지난 기간도 조회 가능) */
+    public List<RankingResponse> top(Window window, LocalDate date, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit 은 1 ~ " + MAX_LIMIT + " 사이여야 합니다.");
+        }
+        return jdbcTemplate.query(SELECT_TOP_SQL, (rs, rowNum) -> RankingResponse.builder()
+                        .userId(rs.getString(1))
+                        .songTitle(rs.getString(2))
+                        .score(rs.getInt(3))
+                        .scoreId(rs.getLong(4))
+                        .createdAt(rs.getTimestamp(5).toLocalDateTime())
+                        .build(),
+                window.name(), Date.valueOf(window.bucketStart(date)), limit);
+    }
+
+    /** 보관 기간이 지난 일간 집계를 최대 batchSize 줄 지웁니다. 지운 줄 수를 돌려줍니다. */
+    public int pruneDaily(int batchSize) {
+        LocalDate cutoff = LocalDate.now().minusDays(dailyRetentionDays);
+        return jdbcTemplate.update(
+                "DELETE FROM leaderboard_buckets WHERE window_type = 'DAILY' AND bucket_start < ? LIMIT ?",
+                Date.valueOf(cutoff), batchSize);
+    }
+}
@@ -0,0 +1,237 @@
+package com.facebeat.util;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * 오디오 파일의 길이와 기본 정보를 읽습니다 (디코딩 없이 헤더만).
+ *  - MP3: ID3v2 태그를 건너뛰고 Xing/Info/VBRI 헤더의 프레임 수를 쓰고, 없으면 프레임 헤더를 따라가며 셉니다.
+ *  - WAV/AIFF/AU: javax.sound.sampled 로 읽습니다.
+ */
+public final class AudioInfoReader {
+
+    public record AudioInfo(long durationMillis, int sampleRate, int channels, int bitrateKbps) {
+
+        public int durationSeconds() {
+            return (int) Math.round(durationMillis / 1000.0);
+        }
+    }
+
+    // [version][layer] -> kbps. version: 0 = MPEG1, 1 = MPEG2/2.5 / layer: 0 = L1, 1 = L2, 2 = L3
+    private static final int[][][] BITRATES = {
+            {
+                    {0, 32, 64, 96, 128, 160, 192, 224, 256, 288, 320, 352, 384, 416, 448},
+                    {0, 32, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, 384},
+                    {0, 32, 40, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320},
+            },
+            {
+                    {0, 32, 48, 56, 64, 80, 96, 112, 128, 144, 160, 176, 192, 224, 256},
+                    {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160},
+                    {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160},
+            },
+    };
+
+    // [versionBits] -> sample rates (versionBits: 0 = MPEG2.5, 2 = MPEG2, 3 = MPEG1)
+    private static final int[][] SAMPLE_RATES = {
+            {11025, 12000, 8000},
+            null,
+            {22050, 24000, 16000},
+            {44100, 48000, 32000},
+    };
+
+    private AudioInfoReader() {
+    }
+
+    public static AudioInfo read(Path file) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".mp3")) {
+            return readMp3(file);
+        }
+        try {
+            AudioFileFormat format = AudioSystem.getAudioFileFormat(file.toFile());
+            float frameRate = format.getFormat().getFrameRate();
+            long frames = format.getFrameLength();
+            if (frames == AudioSystem.NOT_SPECIFIED || frameRate <= 0) {
+                throw new IOException("Unknown audio length: " + file);
+            }
+            int sampleRate = (int) format.getFormat().getSampleRate();
+            int channels = format.getFormat().getChannels();
+            int bits = format.getFormat().getSampleSizeInBits();
+            return new AudioInfo((long) (frames * 1000.0 / frameRate), sampleRate, channels,
+                    bits > 0 ? sampleRate * channels * bits / 1000 : 0);
+        } catch (UnsupportedAudioFileException e) {
+            throw new IOException("Unsupported audio file: " + file, e);
+        }
+    }
+
+    private static AudioInfo readMp3(Path file) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 64 * 1024)) {
+            long audioBytes = Files.size(file);
+            audioBytes -= skipId3v2(in);
+
+            byte[] header = new byte[4];
+            // 첫 프레임 찾기 (sync 11비트)
+            if (!findFrame(in, header)) {
+                throw new IOException("No MPEG audio frame found: " + file);
+            }
+            Frame first = Frame.parse(header);
+            if (first == null) {
+                throw new IOException("Invalid MPEG audio frame: " + file);
+            }
+
+            // 첫 프레임 본문에서 Xing/Info/VBRI 헤더 확인
+            byte[] body = new byte[Math.max(0, first.length - 4)];
+            readFully(in, body);
+            long frames = vbrFrameCount(first, body);
+            if (frames > 0) {
+                long millis = frames * first.samplesPerFrame * 1000L / first.sampleRate;
+                int kbps = (int) (audioBytes * 8 / Math.max(1, millis));
+                return new AudioInfo(millis, first.sampleRate, first.channels, kbps);
+            }
+
+            // VBR 헤더가 없으면 프레임을 끝까지 따라가며 셈 (프레임 길이만큼 건너뛰므로 빠름)
+            frames = 1;
+            long bitrateSum = first.bitrateKbps;
+            while (true) {
+                int b = in.read();
+                if (b < 0) {
+                    break;
+                }
+                header[0] = (byte) b;
+                if (in.readNBytes(header, 1, 3) < 3) {
+                    break;
+                }
+                Frame frame = Frame.parse(header);
+                if (frame == null) {
+                    // 뒤쪽 ID3v1/APE 태그 등
+                    break;
+                }
+                frames++;
+                bitrateSum += frame.bitrateKbps;
+                if (in.skip(frame.length - 4) < frame.length - 4) {
+                    break;
+                }
+            }
+            long millis = frames * first.samplesPerFrame * 1000L / first.sampleRate;
+            return new AudioInfo(millis, first.sampleRate, first.channels, (int) (bitrateSum / frames));
+        }
+    }
+
+    private static long skipId3v2(InputStream in) throws IOException {
+        in.mark(10);
+        byte[] tag = in.readNBytes(10);
+        if (tag.length == 10 && tag[0] == 'I' && tag[1] == 'D' && tag[2] == '3') {
+            // 크기는 synchsafe 정수 (바이트당 7비트)
+            long size = ((tag[6] & 0x7F) << 21) | ((tag[7] & 0x7F) << 14) | ((tag[8] & 0x7F) << 7) | (tag[9] & 0x7F);
+            boolean footer = (tag[5] & 0x10) != 0;
+            long skip = size + (footer ? 10 : 0);
+            in.skipNBytes(skip);
+            return 10 + skip;
+        }
+        in.reset();
+        return 0;
+    }
+
+    private static boolean findFrame(InputStream in, byte[] header) throws IOException {
+        int prev = -1;
+        int b;
+        while ((b = in.read()) >= 0) {
+            if (prev == 0xFF && (b & 0xE0) == 0xE0) {
+                header[0] = (byte) 0xFF;
+                header[1] = (byte) b;
+                if (in.readNBytes(header, 2, 2) < 2) {
+                    return false;
+                }
+                if (Frame.parse(header) != null) {
+                    return true;
+                }
+                prev = -1;
+                continue;
+            }
+            prev = b;
+        }
+        return false;
+    }
+
+    private static long vbrFrameCount(Frame frame, byte[] body) {
+        // Xing/Info 는 side info 바로 뒤에 있음 (본문 기준 오프셋이므로 헤더 4바이트 제외)
+        int sideInfo = frame.mpeg1
+                ? (frame.channels == 1 ? 17 : 32)
+                : (frame.channels == 1 ? 9 : 17);
+        if (body.length >= sideInfo + 12) {
+            String tag = new String(body, sideInfo, 4, java.nio.charset.StandardCharsets.US_ASCII);
+            if ("Xing".equals(tag) || "Info".equals(tag)) {
+                int flags = readInt(body, sideInfo + 4);
+                if ((flags & 0x1) != 0) {
+                    return readInt(body, sideInfo + 8) & 0xFFFFFFFFL;
+                }
+            }
+        }
+        // VBRI (Fraunhofer) 는 헤더 뒤 32바이트 위치 고정
+        if (body.length >= 32 + 18) {
+            String tag = new String(body, 32, 4, java.nio.charset.StandardCharsets.US_ASCII);
+            if ("VBRI".equals(tag)) {
+                return readInt(body, 32 + 14) & 0xFFFFFFFFL;
+            }
+        }
+        return 0;
+    }
+
+    private static int readInt(byte[] b, int off) {
+        return ((b[off] & 0xFF) << 24) | ((b[off + 1] & 0xFF) << 16) | ((b[off + 2] & 0xFF) << 8) | (b[off + 3] & 0xFF);
+    }
+
+    private static void readFully(InputStream in, byte[] buf) throws IOException {
+        if (in.readNBytes(buf, 0, buf.length) < buf.length) {
+            throw new EOFException();
+        }
+    }
+
+    private record Frame(boolean mpeg1, int samplesPerFrame, int sampleRate, int channels,
+                         int bitrateKbps, int length) {
+
+        static Frame parse(byte[] h) {
+            if ((h[0] & 0xFF) != 0xFF || (h[1] & 0xE0) != 0xE0) {
+                return null;
+            }
+            int versionBits = (h[1] >> 3) & 0x3;
+            int layerBits = (h[1] >> 1) & 0x3;
+            int bitrateIndex = (h[2] >> 4) & 0xF;
+            int sampleRateIndex = (h[2] >> 2) & 0x3;
+            int padding = (h[2] >> 1) & 0x1;
+            int channelMode = (h[3] >> 6) & 0x3;
+            if (versionBits == 1 || layerBits == 0 || bitrateIndex == 0 || bitrateIndex == 15 || sampleRateIndex == 3) {
+                return null;
+            }
+            boolean mpeg1 = versionBits == 3;
+            int layer = 4 - layerBits; // 1, 2, 3
+            int bitrate = BITRATES[mpeg1 ? 0 : 1][layer - 1][bitrateIndex];
+            int sampleRate = SAMPLE_RATES[versionBits][sampleRateIndex];
+
+            int samples;
+            int length;
+            if (layer == 1) {
+                samples = 384;
+                length = (12 * bitrate * 1000 / sampleRate + padding) * 4;
+            } else if (layer == 2 || mpeg1) {
+                samples = 1152;
+                length = 144 * bitrate * 1000 / sampleRate + padding;
+            } else {
+                samples = 576;
+                length = 72 * bitrate * 1000 / sampleRate + padding;
+            }
+            if (length < 5) {
+                return null;
+            }
+            return new Frame(mpeg1, samples, sampleRate, channelMode == 3 ? 1 : 2, bitrate, length);
+        }
+    }
+}
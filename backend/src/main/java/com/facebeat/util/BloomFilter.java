@@ -0,0 +1,90 @@
+package com.facebeat.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 문자열 Bloom filter (잠금 없음).
+ * mightContain 이 false 면 절대 넣은 적이 없는 값이고, true 면 fpp 확률로 틀릴 수 있습니다.
+ * 비트는 AtomicLongArray 에 두고 CAS 로 켜므로 put / mightContain 을 여러 스레드에서 동시에 불러도 됩니다.
+ * 해시는 64비트 하나를 두 개로 나눠 k 개를 만듭니다 (Kirsch-Mitzenmacher).
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long numBits;
+    private final int numHashes;
+    private final long expectedInsertions;
+
+    private BloomFilter(long numBits, int numHashes, long expectedInsertions) {
+        int words = (int) ((numBits + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.numBits = (long) words * 64;
+        this.numHashes = numHashes;
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    /**
+     * @param expectedInsertions 넣을 값 개수 (넘으면 오탐률이 fpp 보다 올라감)
+     * @param fpp                원하는 오탐률 (예: 0.01)
+     */
+    public static BloomFilter create(long expectedInsertions, double fpp) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        return new BloomFilter(Math.max(64, m), k, n);
+    }
+
+    public long expectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public void put(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            long bit = indexOf(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long old;
+            while (((old = bits.get(word)) & mask) == 0) {
+                if (bits.compareAndSet(word, old, old | mask)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            long bit = indexOf(h1 + i * h2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long indexOf(int combined) {
+        // 음수가 되지 않도록 비트를 뒤집어서 사용
+        return (combined < 0 ? ~combined : combined) % numBits;
+    }
+
+    /** FNV-1a 64 (char 단위, 바이트 배열을 만들지 않음) + splitmix64 마무리 섞기 */
+    private static long hash64(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 30;
+        h *= 0xbf58476d1ce4e5b9L;
+        h ^= h >>> 27;
+        h *= 0x94d049bb133111ebL;
+        h ^= h >>> 31;
+        return h;
+    }
+}
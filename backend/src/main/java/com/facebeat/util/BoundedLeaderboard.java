@@ -0,0 +1,67 @@
+package com.facebeat.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Predicate;
+
+/**
+ * 상위 capacity 개만 정렬된 상태로 들고 있는 리더보드.
+ * 읽기는 락 없이 앞에서부터 n 개를 순회하고(O(n)), 쓰기만 this 로 직렬화합니다.
+ */
+public class BoundedLeaderboard {
+
+    private final int capacity;
+    private final ConcurrentSkipListSet<LeaderboardEntry> entries =
+            new ConcurrentSkipListSet<>(LeaderboardEntry.RANK_ORDER);
+    private int size;
+
+    public BoundedLeaderboard(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 점수를 반영합니다. 순위권 밖이거나 이미 들어있는 점수(같은 scoreId)면 false.
+     */
+    public synchronized boolean offer(LeaderboardEntry entry) {
+        if (size >= capacity && LeaderboardEntry.RANK_ORDER.compare(entry, entries.last()) >= 0) {
+            return false;
+        }
+        if (!entries.add(entry)) {
+            return false;
+        }
+        if (++size > capacity) {
+            entries.pollLast();
+            size--;
+        }
+        return true;
+    }
+
+    public synchronized void removeIf(Predicate<LeaderboardEntry> filter) {
+        if (entries.removeIf(filter)) {
+            size = entries.size();
+        }
+    }
+
+    /** 상위 n 개 (n 이 capacity 보다 크면 가지고 있는 만큼만) */
+    public List<LeaderboardEntry> top(int n) {
+        List<LeaderboardEntry> result = new ArrayList<>(Math.min(n, capacity));
+        Iterator<LeaderboardEntry> it = entries.iterator();
+        while (result.size() < n && it.hasNext()) {
+            result.add(it.next());
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+}
@@ -0,0 +1,159 @@
+package com.facebeat.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 노트 차트 바이너리 형식 (GET /api/songs/{id}/chart).
+ *
+ * <pre>
+ * "FBCH"            매직 4바이트
+ * version           1바이트 (현재 1)
+ * sections          1바이트 (난이도 개수)
+ * 난이도마다:
+ *   difficulty      1바이트
+ *   count           varint (노트 수)
+ *   노트마다:
+ *     delta         varint (이전 노트와의 time_ms 차이, 첫 노트는 0 부터)
+ *     packed        1바이트 (하위 4비트 lane, 상위 4비트 note_type)
+ * </pre>
+ * varint 는 7비트씩 little-endian, 최상위 비트가 1 이면 다음 바이트가 이어짐.
+ * 노트 간격이 보통 128ms ~ 16초라서 노트 하나가 2~3바이트입니다.
+ */
+public final class ChartCodec {
+
+    public static final byte[] MAGIC = {'F', 'B', 'C', 'H'};
+    public static final int VERSION = 1;
+
+    private ChartCodec() {
+    }
+
+    /**
+     * 난이도 -> 시간순 노트를 모읍니다. 노트마다 객체를 만들지 않고 int 배열에 쌓습니다.
+     * add() 는 (difficulty, time_ms) 순서로 불러야 합니다.
+     */
+    public static final class Builder {
+
+        private final Map<Integer, int[]> sections = new LinkedHashMap<>();
+        private final Map<Integer, Integer> sizes = new LinkedHashMap<>();
+        private int noteCount;
+
+        public Builder add(int difficulty, int timeMs, int lane, int type) {
+            int[] notes = sections.computeIfAbsent(difficulty, d -> new int[3 * 256]);
+            int size = sizes.getOrDefault(difficulty, 0);
+            if (size * 3 == notes.length) {
+                notes = Arrays.copyOf(notes, notes.length * 2);
+                sections.put(difficulty, notes);
+            }
+            notes[size * 3] = timeMs;
+            notes[size * 3 + 1] = lane;
+            notes[size * 3 + 2] = type;
+            sizes.put(difficulty, size + 1);
+            noteCount++;
+            return this;
+        }
+
+        public int noteCount() {
+            return noteCount;
+        }
+
+        public byte[] toBinary() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(6 + sections.size() * 4 + noteCount * 3);
+            out.writeBytes(MAGIC);
+            out.write(VERSION);
+            out.write(sections.size());
+            sections.forEach((difficulty, notes) -> {
+                int size = sizes.get(difficulty);
+                out.write(difficulty);
+                writeVarint(out, size);
+                int previous = 0;
+                for (int i = 0; i < size; i++) {
+                    int time = notes[i * 3];
+                    writeVarint(out, time - previous);
+                    out.write((notes[i * 3 + 1] & 0x0F) | ((notes[i * 3 + 2] & 0x0F) << 4));
+                    previous = time;
+                }
+            });
+            return out.toByteArray();
+        }
+
+        /** JSON 대체 형식: {"version":1,"charts":{"1":[{"timeMs":..,"lane":..,"type":..},...]}} */
+        public byte[] toJson() {
+            StringBuilder json = new StringBuilder(32 + noteCount * 40);
+            json.append("{\"version\":").append(VERSION).append(",\"charts\":{");
+            boolean firstSection = true;
+            for (Map.Entry<Integer, int[]> section : sections.entrySet()) {
+                if (!firstSection) {
+                    json.append(',');
+                }
+                firstSection = false;
+                json.append('"').append(section.getKey()).append("\":[");
+                int[] notes = section.getValue();
+                int size = sizes.get(section.getKey());
+                for (int i = 0; i < size; i++) {
+                    if (i > 0) {
+                        json.append(',');
+                    }
+                    json.append("{\"timeMs\":").append(notes[i * 3])
+                            .append(",\"lane\":").append(notes[i * 3 + 1])
+                            .append(",\"type\":").append(notes[i * 3 + 2])
+                            .append('}');
+                }
+                json.append(']');
+            }
+            json.append("}}");
+            return json.toString().getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /** 바이너리를 다시 읽습니다 (테스트 / 다른 클라이언트 구현 참고용). */
+    public static Map<Integer, List<ChartGenerator.Note>> decode(byte[] data) {
+        if (data.length < 6 || !Arrays.equals(data, 0, 4, MAGIC, 0, 4)) {
+            throw new IllegalArgumentException("Not a chart");
+        }
+        if (data[4] != VERSION) {
+            throw new IllegalArgumentException("Unsupported chart version: " + data[4]);
+        }
+        int[] pos = {6};
+        Map<Integer, List<ChartGenerator.Note>> charts = new LinkedHashMap<>();
+        for (int s = 0; s < (data[5] & 0xFF); s++) {
+            int difficulty = data[pos[0]++] & 0xFF;
+            int count = readVarint(data, pos);
+            List<ChartGenerator.Note> notes = new ArrayList<>(count);
+            int time = 0;
+            for (int i = 0; i < count; i++) {
+                time += readVarint(data, pos);
+                int packed = data[pos[0]++] & 0xFF;
+                notes.add(new ChartGenerator.Note(time, packed & 0x0F, packed >>> 4));
+            }
+            charts.put(difficulty, notes);
+        }
+        return charts;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(byte[] data, int[] pos) {
+        int value = 0;
+        int shift = 0;
+        while (true) {
+            int b = data[pos[0]++] & 0xFF;
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.facebeat.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * 온셋 목록으로 난이도별 노트 차트를 만듭니다.
+ *  1. 곡 BPM 으로 박자 간격을 정하고, 온셋들의 위상(원형 평균)으로 첫 박 위치를 맞춤
+ *  2. 난이도별 격자(EASY 1박, NORMAL 1/2박, HARD 1/4박)에 온셋을 붙임
+ *  3. 센 온셋부터 골라서 노트 사이 최소 간격을 지킴 (표정을 바꿀 시간이 필요하므로 간격이 넉넉함)
+ *  4. 레인은 온셋이 가장 크게 울린 주파수 대역으로 정하고, 같은 레인이 3번 연속 나오지 않게 밀어줌
+ */
+public final class ChartGenerator {
+
+    public static final int LANES = OnsetDetector.BANDS;
+
+    public static final int TYPE_TAP = 0;
+    // 정박에 오는 특히 센 노트 (상위 10%)
+    public static final int TYPE_ACCENT = 1;
+
+    public static final int EASY = 1;
+    public static final int NORMAL = 2;
+    public static final int HARD = 3;
+    public static final int[] DIFFICULTIES = {EASY, NORMAL, HARD};
+
+    public record Note(int timeMs, int lane, int type) {}
+
+    private ChartGenerator() {
+    }
+
+    public static List<Note> generate(List<OnsetDetector.Onset> onsets, Integer bpm, int difficulty) {
+        if (onsets.isEmpty()) {
+            return List.of();
+        }
+        int subdivision = switch (difficulty) {
+            case EASY -> 1;
+            case HARD -> 4;
+            default -> 2;
+        };
+        int minGapMs = switch (difficulty) {
+            case EASY -> 1500;
+            case HARD -> 600;
+            default -> 1000;
+        };
+
+        // 1. 격자 (BPM 이 없으면 10ms 단위로만 맞춤)
+        double step;
+        double offset;
+        if (bpm != null && bpm > 0) {
+            double beat = 60000.0 / bpm;
+            step = beat / subdivision;
+            offset = phase(onsets, beat);
+            // 첫 박보다 앞에 있는 온셋도 격자에 들어오도록 한 박씩 당김
+            int firstOnsetMs = onsets.stream().mapToInt(OnsetDetector.Onset::timeMs).min().getAsInt();
+            while (offset > firstOnsetMs) {
+                offset -= beat;
+            }
+        } else {
+            step = 10;
+            offset = 0;
+        }
+
+        // 2. 격자 칸마다 가장 센 온셋 하나만 남김
+        TreeMap<Long, OnsetDetector.Onset> slots = new TreeMap<>();
+        for (OnsetDetector.Onset onset : onsets) {
+            long slot = Math.round((onset.timeMs() - offset) / step);
+            slots.merge(slot, onset, (a, b) -> a.strength() >= b.strength() ? a : b);
+        }
+
+        // 3. 센 것부터 최소 간격을 지키며 고름
+        long minGapSlots = Math.max(1, (long) Math.ceil(minGapMs / step));
+        List<Long> byStrength = new ArrayList<>(slots.keySet());
+        byStrength.sort(Comparator.comparing((Long s) -> slots.get(s).strength()).reversed());
+        TreeMap<Long, OnsetDetector.Onset> picked = new TreeMap<>();
+        for (Long slot : byStrength) {
+            Long before = picked.floorKey(slot);
+            Long after = picked.ceilingKey(slot);
+            if ((before == null || slot - before >= minGapSlots) && (after == null || after - slot >= minGapSlots)) {
+                picked.put(slot, slots.get(slot));
+            }
+        }
+
+        if (picked.isEmpty()) {
+            return List.of();
+        }
+
+        // 4. 강세 기준 (고른 노트 중 상위 10%)
+        float[] strengths = new float[picked.size()];
+        int n = 0;
+        for (OnsetDetector.Onset onset : picked.values()) {
+            strengths[n++] = onset.strength();
+        }
+        Arrays.sort(strengths);
+        float accentThreshold = strengths[(int) Math.floor(strengths.length * 0.9)];
+
+        List<Note> notes = new ArrayList<>(picked.size());
+        int lastLane = -1;
+        int repeats = 0;
+        for (var entry : picked.entrySet()) {
+            long slot = entry.getKey();
+            OnsetDetector.Onset onset = entry.getValue();
+
+            int lane = onset.band() % LANES;
+            if (lane == lastLane && repeats >= 2) {
+                lane = (lane + 1) % LANES;
+            }
+            repeats = lane == lastLane ? repeats + 1 : 1;
+            lastLane = lane;
+
+            boolean onBeat = slot % subdivision == 0;
+            int type = onBeat && onset.strength() >= accentThreshold ? TYPE_ACCENT : TYPE_TAP;
+            // 당긴 격자에서는 첫 칸이 0ms 보다 조금 앞일 수 있음
+            notes.add(new Note((int) Math.max(0, Math.round(offset + slot * step)), lane, type));
+        }
+        return notes;
+    }
+
+    /**
+     * 박 위치 추정: 각 온셋 시각을 박 주기의 각도로 보고 세기 가중 원형 평균을 구함.
+     *
+     * @return 0 이상 beat 미만의 첫 박 위치 (ms)
+     */
+    static double phase(List<OnsetDetector.Onset> onsets, double beat) {
+        double x = 0;
+        double y = 0;
+        for (OnsetDetector.Onset onset : onsets) {
+            double angle = 2 * Math.PI * onset.timeMs() / beat;
+            x += onset.strength() * Math.cos(angle);
+            y += onset.strength() * Math.sin(angle);
+        }
+        double offset = Math.atan2(y, x) / (2 * Math.PI) * beat;
+        return offset < 0 ? offset + beat : offset;
+    }
+}
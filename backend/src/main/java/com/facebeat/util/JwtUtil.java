@@ -0,0 +1,143 @@
+package com.facebeat.util;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * HMAC-SHA256 로 서명한 JWT (header.payload.signature, 각 부분은 URL-safe Base64).
+ *
+ * 키는 kid(키 이름)별로 여러 개를 들고 있고, 새 토큰은 activeKid 키로 서명합니다.
+ * 검증은 header 의 kid 에 맞는 키로 하므로, 키를 바꿀 때 새 키를 active 로 두고 옛 키를 잠시 남겨 두면
+ * 이미 나간 토큰도 만료될 때까지 쓸 수 있습니다.
+ * header 는 kid 마다 모양이 정해져 있어서 JSON 으로 읽지 않고 미리 만든 문자열과 비교만 합니다.
+ * payload 의 role 은 권한 이름 (없으면 null - 이 값이 들어가기 전에 발급된 토큰).
+ */
+public class JwtUtil {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /** 검증된 토큰 내용 */
+    public record Claims(String userId, String role, String kid, long expiresAt) {}
+
+    /** 형식 / 서명 / 만료 중 하나라도 맞지 않음 */
+    public static class InvalidTokenException extends RuntimeException {
+        public InvalidTokenException(String message) {
+            super(message);
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final String activeKid;
+    private final long ttlSeconds;
+    // kid -> 키
+    private final Map<String, SecretKeySpec> keys = new LinkedHashMap<>();
+    // 인코딩된 header -> kid
+    private final Map<String, String> kidByHeader = new HashMap<>();
+    private final Map<String, String> headerByKid = new HashMap<>();
+
+    public JwtUtil(ObjectMapper objectMapper, Map<String, byte[]> keys, String activeKid, long ttlSeconds) {
+        if (!keys.containsKey(activeKid)) {
+            throw new IllegalArgumentException("서명 키 " + activeKid + " 가 없습니다.");
+        }
+        this.objectMapper = objectMapper;
+        this.activeKid = activeKid;
+        this.ttlSeconds = ttlSeconds;
+        keys.forEach((kid, secret) -> {
+            if (secret.length < 32) {
+                throw new IllegalArgumentException("서명 키 " + kid + " 는 32 바이트 이상이어야 합니다.");
+            }
+            this.keys.put(kid, new SecretKeySpec(secret, ALGORITHM));
+            String header = encode("{\"alg\":\"HS256\",\"typ\":\"JWT\",\"kid\":\"" + kid + "\"}");
+            kidByHeader.put(header, kid);
+            headerByKid.put(kid, header);
+        });
+    }
+
+    public String activeKid() {
+        return activeKid;
+    }
+
+    public long ttlSeconds() {
+        return ttlSeconds;
+    }
+
+    /** nowSeconds 부터 ttl 동안 쓸 수 있는 토큰 */
+    public String issue(String userId, String role, long nowSeconds) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("sub", userId);
+        payload.put("role", role);
+        payload.put("iat", nowSeconds);
+        payload.put("exp", nowSeconds + ttlSeconds);
+        String signingInput = headerByKid.get(activeKid) + "." + encode(objectMapper.writeValueAsString(payload));
+        return signingInput + "." + ENCODER.encodeToString(sign(keys.get(activeKid), signingInput));
+    }
+
+    public Claims verify(String token, long nowSeconds) {
+        int first = token.indexOf('.');
+        int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+        if (second < 0 || token.indexOf('.', second + 1) >= 0) {
+            throw new InvalidTokenException("토큰 형식이 잘못되었습니다.");
+        }
+
+        // 1. header -> 키 (모르는 kid 나 다른 alg 는 여기서 걸림)
+        String kid = kidByHeader.get(token.substring(0, first));
+        if (kid == null) {
+            throw new InvalidTokenException("알 수 없는 서명 키입니다.");
+        }
+
+        // 2. 서명 (상수 시간 비교)
+        byte[] signature;
+        try {
+            signature = DECODER.decode(token.substring(second + 1));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTokenException("토큰 형식이 잘못되었습니다.");
+        }
+        if (!MessageDigest.isEqual(signature, sign(keys.get(kid), token.substring(0, second)))) {
+            throw new InvalidTokenException("서명이 맞지 않습니다.");
+        }
+
+        // 3. 내용 + 만료
+        JsonNode payload;
+        try {
+            payload = objectMapper.readTree(DECODER.decode(token.substring(first + 1, second)));
+        } catch (RuntimeException e) {
+            throw new InvalidTokenException("토큰 형식이 잘못되었습니다.");
+        }
+        JsonNode sub = payload.get("sub");
+        JsonNode exp = payload.get("exp");
+        JsonNode role = payload.get("role");
+        if (sub == null || exp == null || !exp.isNumber() || (role != null && !role.isString())) {
+            throw new InvalidTokenException("토큰 형식이 잘못되었습니다.");
+        }
+        if (exp.asLong() <= nowSeconds) {
+            throw new InvalidTokenException("만료된 토큰입니다.");
+        }
+        return new Claims(sub.asString(), role == null ? null : role.asString(), kid, exp.asLong());
+    }
+
+    private static byte[] sign(SecretKeySpec key, String signingInput) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String encode(String json) {
+        return ENCODER.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
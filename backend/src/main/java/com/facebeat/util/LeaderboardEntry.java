@@ -0,0 +1,22 @@
+package com.facebeat.util;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * 리더보드에 올라가는 점수 한 줄.
+ * 정렬 기준은 DB 랭킹 쿼리와 동일하게 (점수 DESC, 기록 시각 ASC, id ASC) 입니다.
+ */
+public record LeaderboardEntry(
+        Long scoreId,
+        String userId,
+        Long songId,
+        String songTitle,
+        int score,
+        LocalDateTime createdAt) {
+
+    public static final Comparator<LeaderboardEntry> RANK_ORDER = Comparator
+            .comparingInt(LeaderboardEntry::score).reversed()
+            .thenComparing(LeaderboardEntry::createdAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(LeaderboardEntry::scoreId);
+}
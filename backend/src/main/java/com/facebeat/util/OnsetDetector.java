@@ -0,0 +1,231 @@
+package com.facebeat.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 스펙트럼 플럭스 기반 온셋(타격음) 검출기.
+ *
+ * PCM(모노 float)을 조금씩 넣으면(accept) 1024 샘플 창 / 512 샘플 간격으로 FFT 를 돌려
+ * 프레임마다 플럭스(직전 프레임 대비 로그 크기 증가량의 합)만 남기고 샘플은 버립니다.
+ * 그래서 곡 길이와 상관없이 PCM 을 메모리에 들고 있지 않습니다 (3분 곡 = 플럭스 약 1.5만 개).
+ * finish() 에서 이동 평균 임계값 + 극댓값으로 온셋을 고릅니다.
+ *
+ * 온셋마다 플럭스가 가장 크게 늘어난 주파수 대역(0 = 저음 ~ BANDS-1 = 고음)도 같이 돌려줍니다.
+ */
+public final class OnsetDetector {
+
+    public static final int FRAME_SIZE = 1024;
+    public static final int HOP_SIZE = 512;
+    public static final int BANDS = 5;
+
+    // 대역 경계 (Hz): 킥 / 베이스 / 보컬·스네어 몸통 / 스네어·기타 어택 / 하이햇
+    private static final double[] BAND_EDGES_HZ = {150, 400, 1500, 5000};
+
+    // 로그 압축 계수 (작은 소리의 변화도 잡히도록)
+    private static final float COMPRESSION = 100f;
+    // 피크 주변 극댓값 검사 범위 / 이동 평균 범위 (프레임)
+    private static final int MAX_WINDOW = 3;
+    private static final int MEAN_WINDOW = 10;
+    // 정규화된 플럭스 기준 임계값 여유분
+    private static final float DELTA = 0.3f;
+    // 두 온셋 사이 최소 간격 (프레임, 약 35ms)
+    private static final int MIN_DISTANCE = 3;
+
+    public record Onset(int timeMs, float strength, int band) {}
+
+    private final float sampleRate;
+
+    private final float[] window = new float[FRAME_SIZE];
+    private final float[] cos = new float[FRAME_SIZE / 2];
+    private final float[] sin = new float[FRAME_SIZE / 2];
+    private final int[] bitReverse = new int[FRAME_SIZE];
+    private final int[] bandOfBin = new int[FRAME_SIZE / 2 + 1];
+    private final int[] binsInBand = new int[BANDS];
+
+    // 현재 창 (앞쪽 filled 개가 유효)
+    private final float[] frame = new float[FRAME_SIZE];
+    private int filled;
+
+    private final float[] re = new float[FRAME_SIZE];
+    private final float[] im = new float[FRAME_SIZE];
+    private float[] previous = new float[FRAME_SIZE / 2 + 1];
+    private float[] current = new float[FRAME_SIZE / 2 + 1];
+    private final float[] bandFlux = new float[BANDS];
+    private boolean first = true;
+
+    // 프레임별 결과
+    private float[] flux = new float[4096];
+    private byte[] band = new byte[4096];
+    private int frames;
+
+    public OnsetDetector(float sampleRate) {
+        this.sampleRate = sampleRate;
+        for (int i = 0; i < FRAME_SIZE; i++) {
+            window[i] = (float) (0.5 - 0.5 * Math.cos(2 * Math.PI * i / FRAME_SIZE)); // Hann
+        }
+        for (int i = 0; i < FRAME_SIZE / 2; i++) {
+            cos[i] = (float) Math.cos(-2 * Math.PI * i / FRAME_SIZE);
+            sin[i] = (float) Math.sin(-2 * Math.PI * i / FRAME_SIZE);
+        }
+        int bits = Integer.numberOfTrailingZeros(FRAME_SIZE);
+        for (int i = 0; i < FRAME_SIZE; i++) {
+            bitReverse[i] = Integer.reverse(i) >>> (32 - bits);
+        }
+        for (int k = 0; k <= FRAME_SIZE / 2; k++) {
+            double hz = (double) k * sampleRate / FRAME_SIZE;
+            int b = 0;
+            while (b < BAND_EDGES_HZ.length && hz >= BAND_EDGES_HZ[b]) {
+                b++;
+            }
+            bandOfBin[k] = b;
+            if (k > 0) {
+                binsInBand[b]++;
+            }
+        }
+    }
+
+    /** 모노 샘플(-1 ~ 1)을 넣습니다. 여러 번 나눠서 넣어도 됩니다. */
+    public void accept(float[] samples, int offset, int length) {
+        int end = offset + length;
+        while (offset < end) {
+            int n = Math.min(FRAME_SIZE - filled, end - offset);
+            System.arraycopy(samples, offset, frame, filled, n);
+            filled += n;
+            offset += n;
+            if (filled == FRAME_SIZE) {
+                analyzeFrame();
+                // 창을 HOP 만큼 밀기
+                System.arraycopy(frame, HOP_SIZE, frame, 0, FRAME_SIZE - HOP_SIZE);
+                filled = FRAME_SIZE - HOP_SIZE;
+            }
+        }
+    }
+
+    /** 지금까지 넣은 소리에서 온셋을 고릅니다 (시간순). */
+    public List<Onset> finish() {
+        if (frames == 0) {
+            return List.of();
+        }
+        // 1. 곡 전체 평균/표준편차로 정규화 (곡마다 음량이 달라도 같은 임계값을 쓰기 위해)
+        double sum = 0;
+        double sumSq = 0;
+        for (int i = 0; i < frames; i++) {
+            sum += flux[i];
+            sumSq += (double) flux[i] * flux[i];
+        }
+        double mean = sum / frames;
+        double std = Math.sqrt(Math.max(0, sumSq / frames - mean * mean));
+        if (std == 0) {
+            return List.of();
+        }
+        float[] x = new float[frames];
+        for (int i = 0; i < frames; i++) {
+            x[i] = (float) ((flux[i] - mean) / std);
+        }
+
+        // 2. 이동 평균은 누적합으로 O(n)
+        double[] prefix = new double[frames + 1];
+        for (int i = 0; i < frames; i++) {
+            prefix[i + 1] = prefix[i] + x[i];
+        }
+
+        // 3. 극댓값이면서 주변 평균 + DELTA 를 넘는 프레임이 온셋
+        List<Onset> onsets = new ArrayList<>();
+        int last = -MIN_DISTANCE;
+        for (int i = 0; i < frames; i++) {
+            if (i - last < MIN_DISTANCE) {
+                continue;
+            }
+            int from = Math.max(0, i - MAX_WINDOW);
+            int to = Math.min(frames - 1, i + MAX_WINDOW);
+            boolean isMax = true;
+            for (int j = from; j <= to && isMax; j++) {
+                isMax = x[j] <= x[i];
+            }
+            if (!isMax) {
+                continue;
+            }
+            int meanFrom = Math.max(0, i - MEAN_WINDOW);
+            int meanTo = Math.min(frames, i + MEAN_WINDOW + 1);
+            double localMean = (prefix[meanTo] - prefix[meanFrom]) / (meanTo - meanFrom);
+            if (x[i] >= localMean + DELTA && x[i] > 0) {
+                onsets.add(new Onset(frameTimeMs(i), x[i], band[i]));
+                last = i;
+            }
+        }
+        return onsets;
+    }
+
+    public int frameCount() {
+        return frames;
+    }
+
+    private int frameTimeMs(int frameIndex) {
+        // 플럭스는 새 소리가 창 뒤쪽 절반에 들어왔을 때 가장 크게 늘어나므로 창 중앙을 온셋 시각으로 봄
+        return (int) Math.round((frameIndex * (double) HOP_SIZE + FRAME_SIZE / 2.0) * 1000.0 / sampleRate);
+    }
+
+    private void analyzeFrame() {
+        // 1. 창 함수 + 비트 반전 순서로 복사
+        for (int i = 0; i < FRAME_SIZE; i++) {
+            int j = bitReverse[i];
+            re[j] = frame[i] * window[i];
+            im[j] = 0;
+        }
+        // 2. radix-2 FFT (제자리)
+        for (int size = 2; size <= FRAME_SIZE; size <<= 1) {
+            int half = size >> 1;
+            int step = FRAME_SIZE / size;
+            for (int start = 0; start < FRAME_SIZE; start += size) {
+                for (int k = 0; k < half; k++) {
+                    float wr = cos[k * step];
+                    float wi = sin[k * step];
+                    int a = start + k;
+                    int b = a + half;
+                    float tr = re[b] * wr - im[b] * wi;
+                    float ti = re[b] * wi + im[b] * wr;
+                    re[b] = re[a] - tr;
+                    im[b] = im[a] - ti;
+                    re[a] += tr;
+                    im[a] += ti;
+                }
+            }
+        }
+        // 3. 로그 크기 -> 양의 증가량 합 (대역별로도 기록)
+        Arrays.fill(bandFlux, 0);
+        float total = 0;
+        for (int k = 1; k <= FRAME_SIZE / 2; k++) {
+            float magnitude = (float) Math.log1p(COMPRESSION * Math.sqrt(re[k] * re[k] + im[k] * im[k]));
+            current[k] = magnitude;
+            float diff = magnitude - previous[k];
+            if (diff > 0 && !first) {
+                total += diff;
+                bandFlux[bandOfBin[k]] += diff;
+            }
+        }
+        first = false;
+        float[] swap = previous;
+        previous = current;
+        current = swap;
+
+        // 고음 대역일수록 bin 이 많으므로 bin 당 평균으로 비교
+        int strongest = 0;
+        float strongestFlux = -1;
+        for (int b = 0; b < BANDS; b++) {
+            if (binsInBand[b] > 0 && bandFlux[b] / binsInBand[b] > strongestFlux) {
+                strongestFlux = bandFlux[b] / binsInBand[b];
+                strongest = b;
+            }
+        }
+
+        if (frames == flux.length) {
+            flux = Arrays.copyOf(flux, frames * 2);
+            band = Arrays.copyOf(band, frames * 2);
+        }
+        flux[frames] = total;
+        band[frames] = (byte) strongest;
+        frames++;
+    }
+}
@@ -0,0 +1,87 @@
+package com.facebeat.util;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Function;
+
+/**
+ * 오디오 파일을 16비트 PCM 으로 디코딩해서 모노 float 샘플로 조금씩 넘겨줍니다.
+ * WAV/AIFF 는 JDK 가, MP3 는 classpath 의 mp3spi 가 디코딩합니다 (AudioSystem SPI).
+ */
+public final class PcmDecoder {
+
+    private static final int CHUNK_FRAMES = 8192;
+
+    @FunctionalInterface
+    public interface SampleSink {
+        void accept(float[] samples, int offset, int length);
+    }
+
+    private PcmDecoder() {
+    }
+
+    /**
+     * 파일 전체를 디코딩하면서 모노 샘플을 sink 로 넘깁니다 (버퍼 하나만 재사용).
+     *
+     * @param sinkFactory 샘플레이트를 받아서 sink 를 만듦 (헤더를 읽은 직후 한 번 호출)
+     */
+    public static void decode(Path file, Function<Float, SampleSink> sinkFactory) throws IOException {
+        try (AudioInputStream in = open(file)) {
+            AudioFormat format = in.getFormat();
+            SampleSink sink = sinkFactory.apply(format.getSampleRate());
+            int channels = format.getChannels();
+            boolean bigEndian = format.isBigEndian();
+            int frameBytes = channels * 2;
+
+            byte[] buffer = new byte[CHUNK_FRAMES * frameBytes];
+            float[] mono = new float[CHUNK_FRAMES];
+            int carry = 0;
+            int read;
+            while ((read = in.read(buffer, carry, buffer.length - carry)) > 0) {
+                int available = carry + read;
+                int frames = available / frameBytes;
+                for (int f = 0; f < frames; f++) {
+                    int base = f * frameBytes;
+                    int sum = 0;
+                    for (int c = 0; c < channels; c++) {
+                        int lo = buffer[base + c * 2 + (bigEndian ? 1 : 0)] & 0xFF;
+                        int hi = buffer[base + c * 2 + (bigEndian ? 0 : 1)];
+                        sum += (hi << 8) | lo;
+                    }
+                    mono[f] = sum / (32768f * channels);
+                }
+                sink.accept(mono, 0, frames);
+                // 프레임 경계에 걸린 나머지 바이트는 다음 읽기 앞에 붙임
+                carry = available - frames * frameBytes;
+                System.arraycopy(buffer, frames * frameBytes, buffer, 0, carry);
+            }
+        }
+    }
+
+    private static AudioInputStream open(Path file) throws IOException {
+        InputStream raw = new BufferedInputStream(Files.newInputStream(file), 64 * 1024);
+        try {
+            AudioInputStream source = AudioSystem.getAudioInputStream(raw);
+            AudioFormat base = source.getFormat();
+            if (base.getEncoding() == AudioFormat.Encoding.PCM_SIGNED && base.getSampleSizeInBits() == 16) {
+                return source;
+            }
+            AudioFormat pcm = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, base.getSampleRate(), 16,
+                    base.getChannels(), base.getChannels() * 2, base.getSampleRate(), false);
+            return AudioSystem.getAudioInputStream(pcm, source);
+        } catch (UnsupportedAudioFileException e) {
+            raw.close();
+            throw new IOException("Unsupported audio file: " + file, e);
+        } catch (IOException | RuntimeException e) {
+            raw.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.facebeat.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 랭킹 keyset 페이지네이션 커서.
+ * 마지막으로 받은 행의 (점수, 기록 시각, id) 를 URL-safe Base64 로 감싼 값입니다.
+ */
+public record RankingCursor(int score, LocalDateTime createdAt, long scoreId) {
+
+    public String encode() {
+        String raw = score + "_" + createdAt + "_" + scoreId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static RankingCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("_");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+            return new RankingCursor(Integer.parseInt(parts[0]), LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.", e);
+        }
+    }
+}
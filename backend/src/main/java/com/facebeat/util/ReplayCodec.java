@@ -0,0 +1,169 @@
+package com.facebeat.util;
+
+import java.util.Arrays;
+
+/**
+ * 플레이 기록(replay) 바이너리 형식과 점수 다시 계산 (POST /api/scores 의 replay, Base64).
+ *
+ * <pre>
+ * "FBRP"            매직 4바이트
+ * version           1바이트 (현재 1)
+ * count             varint (판정한 노트 수)
+ * 노트마다:
+ *   delta           varint (이전 노트 id 와의 차이, 1 이상 - 첫 노트는 0 부터)
+ *   packed          1바이트 (하위 4비트 판정 0=miss 1=good 2=perfect, 상위 4비트 감정)
+ *   probability     1바이트 (그 감정의 표정 확률 * 255 반올림)
+ * </pre>
+ * varint 는 ChartCodec 과 같이 7비트씩 little-endian. 노트 하나가 보통 3바이트입니다.
+ *
+ * 노트 id 는 RhythmGame.jsx 의 noteSeq (0 부터 생성 순서) 이고, 노트는 가장 빨라도 0.8초(HARD spawnRange)마다
+ * 생성되므로 id 가 곧 생성 시각의 하한입니다 (id * 0.8초). 그래서 곡 길이로 가능한 최대 id 를 정해서
+ * 곡보다 긴 기록(노트 수 또는 마지막 노트 위치가 넘침)은 조작으로 보고 MismatchException 으로 거절합니다.
+ *
+ * 점수 계산은 RhythmGame.jsx 의 handleJudgement 와 같은 식입니다. 클라이언트도 확률을 같은 방식으로
+ * 1바이트로 줄인 값(q / 255)으로 판정하므로 양쪽 double 계산 결과가 같습니다.
+ * 식이나 EMOTION_CONFIG 를 바꾸면 두 곳을 같이 바꾸고 VERSION 을 올려야 합니다.
+ */
+public final class ReplayCodec {
+
+    public static final byte[] MAGIC = {'F', 'B', 'R', 'P'};
+    public static final int VERSION = 1;
+    // 한 판에 판정할 수 있는 최대 노트 수 (가장 빠른 생성 간격 0.8초로 4시간 넘게) - 곡 길이를 모를 때의 상한
+    public static final int MAX_NOTES = 20_000;
+    // 노트 생성 간격의 최솟값 (RhythmGame.jsx HARD spawnRange 의 800ms)
+    public static final long MIN_SPAWN_INTERVAL_MS = 800;
+
+    // 감정 순서는 RhythmGame.jsx 의 EMOTIONS (neutral, happy, surprised, angry, sad)
+    private static final double[] PERFECT = {0.90, 0.80, 0.75, 0.60, 0.55};
+    private static final double[] GOOD = {0.50, 0.45, 0.40, 0.30, 0.25};
+
+    public static final int MISS = 0;
+    public static final int GOOD_HIT = 1;
+    public static final int PERFECT_HIT = 2;
+
+    /** 다시 계산한 결과 */
+    public record Result(int score, int notes, int perfect, int good, int miss) {}
+
+    /** 형식은 맞지만 기록 안의 판정이 확률로 계산한 판정과 다름 (조작 의심, 컨트롤러에서 422) */
+    public static class MismatchException extends IllegalArgumentException {
+        public MismatchException(String message) {
+            super(message);
+        }
+    }
+
+    private ReplayCodec() {
+    }
+
+    /**
+     * 길이가 durationSeconds 인 곡에서 나올 수 있는 노트 수 (0초에 첫 노트, 이후 0.8초마다).
+     * 곡 길이는 초 단위로 잘려 저장되므로 1초 여유를 둡니다. 길이를 모르면 MAX_NOTES.
+     */
+    public static int maxNotes(Integer durationSeconds) {
+        if (durationSeconds == null || durationSeconds <= 0) {
+            return MAX_NOTES;
+        }
+        long notes = (durationSeconds + 1L) * 1000 / MIN_SPAWN_INTERVAL_MS + 1;
+        return (int) Math.min(notes, MAX_NOTES);
+    }
+
+    /** 곡 길이를 모를 때 (노트 수 상한 MAX_NOTES) */
+    public static Result score(byte[] data) {
+        return score(data, MAX_NOTES);
+    }
+
+    /**
+     * 처음부터 끝까지 한 번 읽으면서 점수를 더합니다 (노트마다 객체를 만들지 않음).
+     * 형식이 틀렸거나 노트 id 가 늘어나지 않으면 IllegalArgumentException,
+     * 적힌 판정이 확률로 계산한 판정과 다르거나 노트 수 / 노트 id 가 maxNotes(곡 길이)를 넘으면 MismatchException.
+     */
+    public static Result score(byte[] data, int maxNotes) {
+        if (data.length < 6 || !Arrays.equals(data, 0, 4, MAGIC, 0, 4)) {
+            throw new IllegalArgumentException("플레이 기록 형식이 아닙니다.");
+        }
+        if (data[4] != VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 플레이 기록 버전입니다: " + data[4]);
+        }
+
+        int pos = 5;
+        // count (varint)
+        int count = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (pos >= data.length || shift > 28) {
+                throw new IllegalArgumentException("플레이 기록이 잘렸습니다.");
+            }
+            int b = data[pos++] & 0xFF;
+            count |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        if (count < 0 || count > MAX_NOTES || count > (data.length - pos) / 3) {
+            throw new IllegalArgumentException("노트 수가 맞지 않습니다: " + count);
+        }
+        if (count > maxNotes) {
+            throw new MismatchException("곡 길이에 비해 노트가 너무 많습니다: " + count + " (최대 " + maxNotes + ")");
+        }
+
+        int score = 0;
+        int perfect = 0;
+        int good = 0;
+        long noteId = 0;
+        for (int i = 0; i < count; i++) {
+            // 1. 노트 id (이전과의 차이)
+            int delta = 0;
+            for (int shift = 0; ; shift += 7) {
+                if (pos >= data.length || shift > 28) {
+                    throw new IllegalArgumentException("플레이 기록이 잘렸습니다.");
+                }
+                int b = data[pos++] & 0xFF;
+                delta |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    break;
+                }
+            }
+            if (delta < 0 || (i > 0 && delta == 0)) {
+                throw new IllegalArgumentException("노트 id 가 중복되었거나 순서가 맞지 않습니다.");
+            }
+            noteId = i == 0 ? delta : noteId + delta;
+            if (noteId >= maxNotes) {
+                throw new MismatchException("노트 " + noteId + " 는 곡이 끝난 뒤에 생성될 수 없습니다.");
+            }
+
+            // 2. 판정 + 감정, 확률
+            if (pos + 2 > data.length) {
+                throw new IllegalArgumentException("플레이 기록이 잘렸습니다.");
+            }
+            int packed = data[pos++] & 0xFF;
+            int q = data[pos++] & 0xFF;
+            int emotion = packed >>> 4;
+            int judgement = packed & 0x0F;
+            if (emotion >= PERFECT.length) {
+                throw new IllegalArgumentException("알 수 없는 감정입니다: " + emotion);
+            }
+
+            // 3. handleJudgement 와 같은 식
+            double prob = q / 255.0;
+            int expected;
+            if (prob >= PERFECT[emotion]) {
+                double ratio = (prob - PERFECT[emotion]) / (1 - PERFECT[emotion]);
+                score += 150 + (int) Math.floor(ratio * 50);
+                expected = PERFECT_HIT;
+                perfect++;
+            } else if (prob >= GOOD[emotion]) {
+                double ratio = (prob - GOOD[emotion]) / (PERFECT[emotion] - GOOD[emotion]);
+                score += 50 + (int) Math.floor(ratio * 99);
+                expected = GOOD_HIT;
+                good++;
+            } else {
+                expected = MISS;
+            }
+            if (judgement != expected) {
+                throw new MismatchException("노트 " + noteId + " 의 판정이 표정 확률과 맞지 않습니다.");
+            }
+        }
+        if (pos != data.length) {
+            throw new IllegalArgumentException("플레이 기록 뒤에 남은 데이터가 있습니다.");
+        }
+        return new Result(score, count, perfect, good, count - perfect - good);
+    }
+}
@@ -0,0 +1,6 @@
+-- 곡별 랭킹 keyset 페이지네이션용 커버링 인덱스
+-- (song_id, score_value DESC, created_at, id) 순서가 ORDER BY 와 같아서 정렬 없이 필요한 만큼만 읽습니다.
+CREATE INDEX idx_scores_song_rank ON scores (song_id, score_value DESC, created_at, id, user_id);
+
+-- 전체 랭킹용 인덱스
+CREATE INDEX idx_scores_rank ON scores (score_value DESC, created_at, id, user_id);
@@ -0,0 +1,10 @@
+-- scores.id 를 IDENTITY 대신 시퀀스(pooled, 50개씩 할당)로 발급하기 위한 테이블
+-- MySQL 에는 시퀀스가 없어서 Hibernate 가 이 형식(컬럼명 next_val)의 테이블로 흉내 냅니다.
+-- IDENTITY 는 INSERT 마다 키를 받아와야 해서 JDBC 배치가 꺼지기 때문입니다.
+CREATE TABLE scores_seq (
+    next_val BIGINT
+);
+
+-- pooled optimizer 는 읽은 값에서 (allocationSize - 1) 을 뺀 값부터 사용하므로
+-- 기존 최대 id + 50 으로 시작해야 기존 행과 겹치지 않습니다.
+INSERT INTO scores_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM scores;
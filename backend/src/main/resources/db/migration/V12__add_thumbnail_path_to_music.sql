@@ -0,0 +1,2 @@
+-- 목록 화면용으로 줄인 커버 이미지 경로 (업로드 후 백그라운드에서 채움)
+ALTER TABLE music ADD COLUMN thumbnail_path VARCHAR(500) AFTER image_path;
@@ -0,0 +1,17 @@
+-- song_notes 는 지금까지 ddl-auto 로만 만들어졌으므로 없으면 여기서 만듦
+CREATE TABLE IF NOT EXISTS song_notes (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    song_id BIGINT,
+    time_ms INT,
+    lane INT,
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (song_id) REFERENCES music(id) ON DELETE CASCADE
+);
+
+-- 난이도별 차트 (1 = EASY, 2 = NORMAL, 3 = HARD) / 노트 종류 (0 = 일반, 1 = 강세)
+ALTER TABLE song_notes
+    ADD COLUMN difficulty INT NOT NULL DEFAULT 2,
+    ADD COLUMN note_type TINYINT NOT NULL DEFAULT 0;
+
+-- 차트 조회 (곡 + 난이도, 시간순)
+CREATE INDEX idx_song_notes_chart ON song_notes (song_id, difficulty, time_ms);
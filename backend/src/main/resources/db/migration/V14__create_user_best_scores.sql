@@ -0,0 +1,26 @@
+-- 플레이어별 곡별 최고 기록 (점수를 저장할 때 같은 트랜잭션에서 갱신, ScoreService.saveAll)
+-- 내 최고 기록은 기본 키 한 번으로, 곡별 랭킹(플레이어당 한 줄)은 idx_user_best_song_rank 로 바로 읽습니다.
+-- scores 를 GROUP BY 해서 구하면 기록이 쌓일수록 느려지기 때문입니다.
+CREATE TABLE user_best_scores (
+    user_id VARCHAR(50) NOT NULL,
+    song_id BIGINT NOT NULL,
+    score_value INT NOT NULL,
+    score_id BIGINT NOT NULL,       -- 최고 기록을 낸 scores.id (랭킹 커서의 마지막 기준)
+    achieved_at DATETIME NOT NULL,  -- 최고 기록을 낸 scores.created_at
+    PRIMARY KEY (user_id, song_id),
+    CONSTRAINT fk_user_best_member FOREIGN KEY (user_id) REFERENCES member(user_id) ON DELETE CASCADE,
+    CONSTRAINT fk_user_best_music FOREIGN KEY (song_id) REFERENCES music(id) ON DELETE CASCADE
+);
+
+-- 곡별 랭킹 keyset 페이지네이션용 커버링 인덱스 (idx_scores_song_rank 와 같은 순서)
+CREATE INDEX idx_user_best_song_rank ON user_best_scores (song_id, score_value DESC, achieved_at, score_id, user_id);
+
+-- 기존 기록으로 채우기 - 플레이어/곡마다 랭킹 순서(점수 높은 순, 먼저 낸 순, id 순)의 첫 번째 기록
+INSERT INTO user_best_scores (user_id, song_id, score_value, score_id, achieved_at)
+SELECT user_id, song_id, score_value, id, COALESCE(created_at, NOW())
+FROM (
+    SELECT s.*, ROW_NUMBER() OVER (PARTITION BY s.user_id, s.song_id
+                                   ORDER BY s.score_value DESC, s.created_at ASC, s.id ASC) AS rn
+    FROM scores s
+) ranked
+WHERE rn = 1;
@@ -0,0 +1,47 @@
+-- 기간별(일간/주간/시즌) 리더보드 집계 (WindowedLeaderboardService)
+-- 기간 하나(window_type, bucket_start)에 플레이어마다 한 줄 - 그 기간의 최고 기록과 플레이 수.
+-- 점수를 저장할 때 같은 트랜잭션에서 갱신하므로 scores 를 훑지 않고, 오래된 점수를 보관 테이블로 옮겨도 남습니다.
+--   DAILY  : bucket_start = 그날
+--   WEEKLY : bucket_start = 그 주 월요일
+--   SEASON : bucket_start = 그 분기 첫날 (1/1, 4/1, 7/1, 10/1)
+CREATE TABLE leaderboard_buckets (
+    window_type VARCHAR(10) NOT NULL,
+    bucket_start DATE NOT NULL,
+    user_id VARCHAR(50) NOT NULL,
+    song_id BIGINT NOT NULL,        -- 최고 기록을 낸 곡
+    score_value INT NOT NULL,
+    score_id BIGINT NOT NULL,
+    achieved_at DATETIME NOT NULL,
+    play_count INT NOT NULL DEFAULT 1,
+    PRIMARY KEY (window_type, bucket_start, user_id),
+    CONSTRAINT fk_leaderboard_buckets_member FOREIGN KEY (user_id) REFERENCES member(user_id) ON DELETE CASCADE,
+    CONSTRAINT fk_leaderboard_buckets_music FOREIGN KEY (song_id) REFERENCES music(id) ON DELETE CASCADE
+);
+
+-- 기간별 상위 N 명 - ORDER BY 와 같은 순서라 N 개만 읽고 끝납니다 (기간 안의 플레이어 수와 무관)
+CREATE INDEX idx_leaderboard_buckets_rank
+    ON leaderboard_buckets (window_type, bucket_start, score_value DESC, achieved_at, score_id, user_id);
+
+-- 기존 기록으로 채우기
+INSERT INTO leaderboard_buckets (window_type, bucket_start, user_id, song_id, score_value, score_id, achieved_at, play_count)
+SELECT window_type, bucket_start, user_id, song_id, score_value, id, achieved_at, plays
+FROM (
+    SELECT b.*,
+           ROW_NUMBER() OVER (PARTITION BY b.window_type, b.bucket_start, b.user_id
+                              ORDER BY b.score_value DESC, b.achieved_at ASC, b.id ASC) AS rn,
+           COUNT(*) OVER (PARTITION BY b.window_type, b.bucket_start, b.user_id) AS plays
+    FROM (
+        SELECT 'DAILY' AS window_type, DATE(created_at) AS bucket_start,
+               user_id, song_id, score_value, id, created_at AS achieved_at
+        FROM scores WHERE created_at IS NOT NULL
+        UNION ALL
+        SELECT 'WEEKLY', DATE(created_at) - INTERVAL WEEKDAY(created_at) DAY,
+               user_id, song_id, score_value, id, created_at
+        FROM scores WHERE created_at IS NOT NULL
+        UNION ALL
+        SELECT 'SEASON', MAKEDATE(YEAR(created_at), 1) + INTERVAL (QUARTER(created_at) - 1) QUARTER,
+               user_id, song_id, score_value, id, created_at
+        FROM scores WHERE created_at IS NOT NULL
+    ) b
+) ranked
+WHERE rn = 1;
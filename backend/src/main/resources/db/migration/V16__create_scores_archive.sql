@@ -0,0 +1,17 @@
+-- 보관 기간이 지난 점수를 옮겨 두는 테이블 (ScoreArchiveService)
+-- 랭킹 쿼리가 보는 scores 는 최근 기록만 남아서 인덱스가 계속 작게 유지됩니다.
+-- 옮긴 뒤에도 기간별 집계(leaderboard_buckets)와 최고 기록(user_best_scores)은 그대로 남습니다.
+-- 회원/곡이 지워져도 기록은 남기도록 외래키는 걸지 않습니다.
+CREATE TABLE scores_archive (
+    id BIGINT PRIMARY KEY,
+    user_id VARCHAR(50) NOT NULL,
+    song_id BIGINT NOT NULL,
+    score_value INT NOT NULL,
+    combo INT,
+    grade VARCHAR(10),
+    created_at DATETIME,
+    archived_at DATETIME DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 옮길 점수를 오래된 순으로 조금씩 찾기 위한 인덱스
+CREATE INDEX idx_scores_created_at ON scores (created_at, id);
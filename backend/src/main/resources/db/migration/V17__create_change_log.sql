@@ -0,0 +1,15 @@
+-- 서버 여러 대의 메모리 캐시를 맞추기 위한 변경 기록 (ChangeLogService / ChangeLogPoller)
+-- 곡/차트/회원/점수를 바꾸는 트랜잭션 안에서 한 줄씩 쓰고, 각 서버가 id 순서로 읽어서 자기 캐시를 갱신합니다.
+-- 별도 메시지 브로커 없이 DB 만으로 동작합니다. 오래된 줄은 changelog.retention-hours 가 지나면 지웁니다.
+CREATE TABLE change_log (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    type VARCHAR(20) NOT NULL,      -- SONG, CHART, USER, SCORE
+    action VARCHAR(20) NOT NULL,    -- ADDED, UPDATED, DELETED, ARCHIVED
+    entity_id VARCHAR(50),          -- 곡 id / 회원 user_id (점수는 payload 에 id 목록)
+    payload TEXT,
+    origin VARCHAR(36) NOT NULL,    -- 기록한 서버 (자기 변경은 커밋 직후 이미 반영했으므로 건너뜀)
+    created_at DATETIME NOT NULL
+);
+
+-- 오래된 줄 정리 / 시작할 때 최근 기록 다시 읽기용
+CREATE INDEX idx_change_log_created_at ON change_log (created_at);
@@ -0,0 +1,7 @@
+-- 서버 여러 대 중 한 대만 돌아야 하는 예약 작업용 잠금 (SchedulerLockService)
+-- 잡은 서버가 죽어도 locked_until 이 지나면 다른 서버가 가져갈 수 있습니다. 줄은 처음 잡을 때 만들어집니다.
+CREATE TABLE scheduler_locks (
+    name VARCHAR(64) PRIMARY KEY,       -- 작업 이름 (예: scores-archive)
+    locked_until DATETIME NOT NULL,
+    locked_by VARCHAR(36) NOT NULL      -- 잡은 서버 (ChangeLogService.nodeId)
+);
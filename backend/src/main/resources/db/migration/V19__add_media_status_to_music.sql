@@ -0,0 +1,16 @@
+-- 업로드 후처리 상태 (MediaProcessingService)
+-- 서버 시작 때 길이/축소본/차트가 비어 있는 곡을 모두 다시 처리하면, 계속 실패하는 곡이나 노트가 안 나오는 곡이
+-- 시작할 때마다 다시 분석됩니다. 결과를 남겨서 PENDING 인 곡만 다시 처리하고, 실패는 media_attempts 로 셉니다.
+ALTER TABLE music
+    ADD COLUMN media_status VARCHAR(20) NOT NULL DEFAULT 'PENDING',  -- PENDING, DONE, EMPTY, FAILED
+    ADD COLUMN media_attempts INT NOT NULL DEFAULT 0;
+
+-- 이미 처리가 끝난 곡 (예전 findUnprocessed 조건의 반대)
+UPDATE music m
+SET media_status = 'DONE'
+WHERE m.duration IS NOT NULL
+  AND (m.image_path IS NULL OR m.thumbnail_path IS NOT NULL)
+  AND EXISTS (SELECT 1 FROM song_notes n WHERE n.song_id = m.id);
+
+-- 시작할 때 PENDING 곡만 id 순으로 찾음
+CREATE INDEX idx_music_media_status ON music (media_status, id);
@@ -0,0 +1,94 @@
+package com.facebeat.config;
+
+import com.Application;
+import com.facebeat.dto.request.SignupRequest;
+import com.facebeat.service.AuthService;
+import com.facebeat.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * /api/admin/** 는 관리자 토큰(ROLE_ADMIN)이 있어야 하고, 관리자 로그인만 열려 있는지 확인합니다.
+ */
+@SpringBootTest(classes = Application.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:adminsecurity;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@ActiveProfiles({"h2", "h2-songs"})
+class AdminApiSecurityTest {
+
+    private static final String CSV = "import-user,1,1000\n";
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void scoreImportRequiresAdminToken() throws Exception {
+        SignupRequest signup = new SignupRequest();
+        ReflectionTestUtils.setField(signup, "userId", "import-user");
+        ReflectionTestUtils.setField(signup, "password", "password1234");
+        userService.signup(signup);
+
+        // 토큰 없음 -> 401, 플레이어 토큰 -> 403 (둘 다 저장되지 않음)
+        assertEquals(401, importScores(null).statusCode());
+        assertEquals(403, importScores(authService.issueToken("import-user").getToken()).statusCode());
+        assertEquals(0, countScores());
+
+        String adminToken = authService.issueToken("admin123", AuthService.Role.ADMIN).getToken();
+        assertEquals(200, importScores(adminToken).statusCode());
+        assertEquals(1, countScores());
+    }
+
+    @Test
+    void adminLoginIsStillOpen() throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/api/admin/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"id\":\"nobody\",\"password\":\"wrong\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // 보안 필터(본문 없는 401)가 아니라 컨트롤러가 답함 (계정 없음)
+        assertEquals(401, response.statusCode());
+        assertFalse(response.body().isEmpty());
+    }
+
+    private HttpResponse<String> importScores(String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri("/api/admin/scores/import"))
+                .header("Content-Type", "text/csv")
+                .POST(HttpRequest.BodyPublishers.ofString(CSV));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private int countScores() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM scores WHERE user_id = 'import-user'", Integer.class);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,92 @@
+package com.facebeat.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 세마포어 덕분에 동시에 커넥션을 잡은 스레드는 허가 수를 넘지 않고, close() 하면 모두 반납되는지 확인합니다.
+ * (플랫폼/가상 스레드 처리량 비교는 src/jmh 의 BlockingRequestThroughputBenchmark)
+ */
+class ConnectionLimitingDataSourceTest {
+
+    private static final int POOL_SIZE = 4;
+    private static final int THREADS = 32;
+
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ConnectionLimitingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:connection-limit;DB_CLOSE_DELAY=-1", "sa", ""), POOL_SIZE, 10_000);
+    }
+
+    @Test
+    void concurrentConnectionsNeverExceedPermits() throws Exception {
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS * 10; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try (Connection connection = dataSource.getConnection();
+                         Statement statement = connection.createStatement()) {
+                        maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                        try (ResultSet rs = statement.executeQuery("SELECT 1")) {
+                            rs.next();
+                        } finally {
+                            concurrent.decrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(maxConcurrent.get() <= POOL_SIZE, "max concurrent connections " + maxConcurrent.get());
+        assertEquals(0, dataSource.inUse());
+    }
+
+    @Test
+    void timesOutWhenAllPermitsAreHeldAndReleasesOncePerConnection() throws Exception {
+        ConnectionLimitingDataSource limited = new ConnectionLimitingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:connection-limit;DB_CLOSE_DELAY=-1", "sa", ""), 1, 10);
+        Connection held = limited.getConnection();
+        assertEquals(1, limited.inUse());
+        assertThrows(SQLTransientConnectionException.class, limited::getConnection);
+
+        // close() 를 두 번 불러도 허가는 하나만 돌아옴
+        held.close();
+        held.close();
+        assertEquals(0, limited.inUse());
+        try (Connection next = limited.getConnection()) {
+            assertEquals(1, limited.inUse());
+        }
+        assertEquals(0, limited.inUse());
+    }
+}
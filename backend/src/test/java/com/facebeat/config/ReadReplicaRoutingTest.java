@@ -0,0 +1,214 @@
+package com.facebeat.config;
+
+import com.Application;
+import com.facebeat.dto.request.ScoreRequest;
+import com.facebeat.dto.request.SignupRequest;
+import com.facebeat.entity.Song;
+import com.facebeat.service.ChangeLogPoller;
+import com.facebeat.service.LeaderboardService;
+import com.facebeat.service.ReadYourWritesTracker;
+import com.facebeat.service.ScoreService;
+import com.facebeat.service.SongCatalogCache;
+import com.facebeat.service.SongIdCache;
+import com.facebeat.service.SongSearchIndex;
+import com.facebeat.service.SongService;
+import com.facebeat.service.UserService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * H2 DB 두 개(primary, replica)로 읽기/쓰기 분리를 확인합니다.
+ * 복제는 없으므로 replica 에만 있는 곡 / primary 에만 있는 회원·점수로 어느 쪽에서 읽었는지 구분합니다.
+ */
+class ReadReplicaRoutingTest {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:rw-primary;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_URL = "jdbc:h2:mem:rw-replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_ONLY_TITLE = "replica only song";
+
+    private static ConfigurableApplicationContext context;
+    private static JdbcTemplate primaryJdbc;
+    private static JdbcTemplate replicaJdbc;
+
+    @BeforeAll
+    static void start() {
+        // 복제본도 같은 스키마 + 시드 곡, 그리고 복제본에만 있는 곡 하나
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "")
+                .locations("classpath:db/h2").target("2")
+                .load().migrate();
+        replicaJdbc = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replicaJdbc.update("INSERT INTO music (title, file_path, bpm) VALUES (?, ?, ?)",
+                REPLICA_ONLY_TITLE, "/songs/replica.mp3", 100);
+
+        context = new SpringApplicationBuilder(Application.class)
+                .profiles("h2", "h2-songs")
+                .properties(
+                        "spring.datasource.url=" + PRIMARY_URL,
+                        "datasource.read-replicas.urls=" + REPLICA_URL,
+                        "datasource.read-replicas.read-your-writes-ms=60000")
+                .run();
+        primaryJdbc = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+    }
+
+    @AfterAll
+    static void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void readOnlyTransactionsReadFromReplica() {
+        assertTrue(context.getBean(SongService.class).getAllSongs().stream()
+                .map(Song::getTitle).anyMatch(REPLICA_ONLY_TITLE::equals));
+        assertEquals(0, primaryJdbc.queryForObject(
+                "SELECT COUNT(*) FROM music WHERE title = ?", Integer.class, REPLICA_ONLY_TITLE));
+    }
+
+    @Test
+    void writesGoToPrimaryAndOwnReadsFollowThem() {
+        signup("rw-writer");
+        assertEquals(1, primaryJdbc.queryForObject("SELECT COUNT(*) FROM member WHERE user_id = 'rw-writer'", Integer.class));
+        assertEquals(0, replicaJdbc.queryForObject("SELECT COUNT(*) FROM member WHERE user_id = 'rw-writer'", Integer.class));
+
+        // 가입 직후 로그인은 read-your-writes 로 primary 에서 찾음
+        assertNotNull(context.getBean(UserService.class).login("rw-writer", "password1234"));
+
+        ScoreRequest score = new ScoreRequest();
+        score.setUserId("rw-writer");
+        score.setSongId(1L);
+        score.setScore(777);
+        ScoreService scores = context.getBean(ScoreService.class);
+        scores.saveScore(score);
+
+        // 점수를 낸 본인의 조회는 primary, 다른 요청(누구인지 모름)은 아직 복제 안 된 replica
+        ReadYourWritesTracker readYourWrites = context.getBean(ReadYourWritesTracker.class);
+        try (ReadYourWritesTracker.Scope scope = readYourWrites.bind("rw-writer")) {
+            assertEquals(1, scores.getBestScores("rw-writer", 1L).size());
+        }
+        try (ReadYourWritesTracker.Scope scope = readYourWrites.bind("someone-else")) {
+            assertTrue(scores.getBestScores("rw-writer", 1L).isEmpty());
+        }
+    }
+
+    @Test
+    void changesFromAnotherNodeAreAppliedFromPrimaryWhileReplicaLags() {
+        // 다른 서버가 primary 에 곡과 점수를 쓰고 변경 기록을 남김 - 복제본에는 아직 없음 (복제 지연)
+        long songId = 9001;
+        long scoreId = 900_001;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        primaryJdbc.update("INSERT INTO music (id, title, file_path, bpm) VALUES (?, ?, ?, ?)",
+                songId, "remote song", "/songs/remote.mp3", 120);
+        primaryJdbc.update("INSERT INTO member (username, password, user_id) VALUES (?, ?, ?)",
+                "remote-player", "x", "remote-player");
+        primaryJdbc.update("INSERT INTO scores (id, song_id, score_value, user_id, created_at) VALUES (?, ?, ?, ?, ?)",
+                scoreId, songId, 4242, "remote-player", now);
+        appendRemoteChange("SONG", "ADDED", String.valueOf(songId), null, now);
+        appendRemoteChange("SCORE", "ADDED", null, String.valueOf(scoreId), now);
+        assertEquals(0, replicaJdbc.queryForObject("SELECT COUNT(*) FROM music WHERE id = ?", Integer.class, songId));
+
+        context.getBean(ChangeLogPoller.class).poll();
+
+        // 복제본 기준이면 "없는 곡"이 되어 캐시에서 빠지고 점수도 못 찾음
+        assertTrue(context.getBean(SongIdCache.class).contains(songId));
+        assertNotNull(context.getBean(SongCatalogCache.class).get().find(songId));
+        assertEquals(1, context.getBean(SongSearchIndex.class).search("remote song", null, null, null, 0, 20).getTotal());
+        assertTrue(context.getBean(LeaderboardService.class).top(songId, 10).stream()
+                .anyMatch(e -> "remote-player".equals(e.userId())));
+    }
+
+    @Test
+    void failingReplicaIsEjectedAndRestored() throws SQLException {
+        FlakyDataSource flaky = new FlakyDataSource(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("flaky", flaky);
+        DataSource primary = new DriverManagerDataSource(PRIMARY_URL, "sa", "");
+
+        try (ReplicaRoutingDataSource router =
+                     new ReplicaRoutingDataSource(primary, replicas, new ReadYourWritesTracker(0), 60_000)) {
+            // 1. 복제본이 죽으면 빼고 primary 에서 읽음
+            flaky.down = true;
+            assertEquals("rw-primary", databaseName(router));
+            assertFalse(router.isHealthy("flaky"));
+            assertEquals(1, router.ejectionCount("flaky"));
+            assertEquals(1, router.primaryReadCount());
+
+            // 2. 빠져 있는 동안에는 다시 시도하지 않음
+            flaky.down = false;
+            assertEquals("rw-primary", databaseName(router));
+            assertEquals(1, flaky.attempts);
+
+            // 3. 헬스 체크가 통과하면 다시 복제본으로
+            router.checkHealth();
+            assertTrue(router.isHealthy("flaky"));
+            assertEquals("rw-replica", databaseName(router));
+        }
+    }
+
+    private static String databaseName(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            String url = connection.getMetaData().getURL();
+            return url.substring("jdbc:h2:mem:".length(), url.indexOf(';') < 0 ? url.length() : url.indexOf(';'));
+        }
+    }
+
+    private static void appendRemoteChange(String type, String action, String entityId, String payload, Timestamp at) {
+        primaryJdbc.update("INSERT INTO change_log (type, action, entity_id, payload, origin, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", type, action, entityId, payload, "other-node", at);
+    }
+
+    private static void signup(String userId) {
+        SignupRequest signup = new SignupRequest();
+        ReflectionTestUtils.setField(signup, "userId", userId);
+        ReflectionTestUtils.setField(signup, "password", "password1234");
+        context.getBean(UserService.class).signup(signup);
+    }
+
+    /** down 이면 커넥션을 주지 않는 DataSource */
+    private static final class FlakyDataSource extends AbstractDataSource {
+
+        private final DataSource target;
+        private volatile boolean down;
+        private int attempts;
+
+        FlakyDataSource(DataSource target) {
+            this.target = target;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            attempts++;
+            if (down) {
+                throw new SQLException("replica down");
+            }
+            return target.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.facebeat.controller;
+
+import com.Application;
+import com.facebeat.service.SongCatalogCache;
+import com.facebeat.service.StorageService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 곡 경로가 저장소 밖(../)을 가리켜도 500 이 아니라 없는 파일(404)로 답하는지 확인합니다.
+ */
+@SpringBootTest(classes = Application.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:mediastream;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@ActiveProfiles({"h2", "h2-songs"})
+class MediaControllerTest {
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SongCatalogCache songCatalogCache;
+
+    @Autowired
+    private StorageService storageService;
+
+    @Test
+    void songPathOutsideStorageIsNotFound() throws Exception {
+        assertThrows(StorageService.InvalidPathException.class, () -> storageService.resolve("/../../etc/passwd"));
+
+        jdbcTemplate.update("INSERT INTO music (id, title, file_path, bpm) VALUES (?, ?, ?, ?)",
+                7001, "traversal", "/../../etc/passwd", 100);
+        songCatalogCache.invalidate();
+
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/media/songs/7001")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(404, response.statusCode());
+    }
+}
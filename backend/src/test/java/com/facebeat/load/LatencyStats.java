@@ -0,0 +1,97 @@
+package com.facebeat.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 엔드포인트별 지연 시간 HDR 히스토그램 (마이크로초, 유효숫자 3자리) 과 성공/실패 수.
+ * 여러 스레드에서 동시에 record 해도 됩니다.
+ */
+class LatencyStats {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private static final class Endpoint {
+        final Histogram histogram = new ConcurrentHistogram(3);
+        final LongAdder errors = new LongAdder();
+    }
+
+    // 보고서에서 이름순으로 보이도록
+    private final Map<String, Endpoint> endpoints = new ConcurrentSkipListMap<>();
+    private final Map<String, LongAdder> errorReasons = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long micros, boolean ok, String errorReason) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, k -> new Endpoint());
+        stats.histogram.recordValue(Math.max(0, micros));
+        if (!ok) {
+            stats.errors.increment();
+            errorReasons.computeIfAbsent(endpoint + ": " + errorReason, k -> new LongAdder()).increment();
+        }
+    }
+
+    /** p50 / p99 / p99.9 / 최대 지연 시간과 처리량 표 */
+    String report(Duration measured) {
+        double seconds = measured.toMillis() / 1000.0;
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-14s %8s %9s %7s %9s %9s %9s %9s%n",
+                "endpoint", "count", "req/s", "errors", "p50(ms)", "p99(ms)", "p99.9(ms)", "max(ms)"));
+        endpoints.forEach((name, stats) -> {
+            Histogram h = stats.histogram;
+            sb.append(String.format("%-14s %8d %9.1f %7d %9.2f %9.2f %9.2f %9.2f%n",
+                    name, h.getTotalCount(), h.getTotalCount() / seconds, stats.errors.sum(),
+                    h.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                    h.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                    h.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+                    h.getMaxValue() / MICROS_PER_MILLI));
+        });
+        if (!errorReasons.isEmpty()) {
+            sb.append("errors:\n");
+            errorReasons.forEach((reason, count) -> sb.append("  ").append(reason).append(" x").append(count.sum()).append('\n'));
+        }
+        return sb.toString();
+    }
+
+    /** SLO 를 어긴 항목 (비어 있으면 통과) */
+    List<String> violations(LoadSettings settings) {
+        List<String> violations = new ArrayList<>();
+        endpoints.forEach((name, stats) -> {
+            Histogram h = stats.histogram;
+            LoadSettings.Slo slo = settings.slo(name);
+            double p99 = h.getValueAtPercentile(99) / MICROS_PER_MILLI;
+            double p999 = h.getValueAtPercentile(99.9) / MICROS_PER_MILLI;
+            double errorRate = h.getTotalCount() == 0 ? 0 : (double) stats.errors.sum() / h.getTotalCount();
+            if (p99 > slo.p99Millis()) {
+                violations.add(String.format("%s p99 %.1fms > %dms", name, p99, slo.p99Millis()));
+            }
+            if (p999 > slo.p999Millis()) {
+                violations.add(String.format("%s p99.9 %.1fms > %dms", name, p999, slo.p999Millis()));
+            }
+            if (errorRate > settings.maxErrorRate()) {
+                violations.add(String.format("%s error rate %.2f%% > %.2f%%", name, errorRate * 100, settings.maxErrorRate() * 100));
+            }
+        });
+        return violations;
+    }
+
+    /** 엔드포인트별 전체 백분위 분포(.hgrm, ms 단위)를 저장 - HdrHistogram 플로터로 그래프를 그릴 수 있음 */
+    void writeDistributions(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(entry.getKey() + ".hgrm")))) {
+                entry.getValue().histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+}
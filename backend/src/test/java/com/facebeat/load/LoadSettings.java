@@ -0,0 +1,53 @@
+package com.facebeat.load;
+
+import java.time.Duration;
+
+/**
+ * 부하 테스트 설정. 모두 시스템 프로퍼티로 바꿀 수 있습니다 (./gradlew loadTest -Pload.rate=30 ...).
+ *
+ * <pre>
+ * load.rate              초당 새로 들어오는 플레이어 세션 수 (오픈 모델: 응답이 느려져도 줄지 않음)
+ * load.arrival           poisson(기본) | constant - 도착 간격 분포
+ * load.duration-seconds  측정 시간
+ * load.warmup-seconds    측정 전에 버리는 시간 (JIT, 커넥션 풀, 캐시)
+ * load.think-ms          곡을 받은 뒤 점수를 보낼 때까지 (플레이 시간)
+ * load.slo.p99-ms / load.slo.p999-ms          엔드포인트 공통 SLO
+ * load.slo.{endpoint}.p99-ms / .p999-ms       엔드포인트별 SLO (예: load.slo.login.p99-ms)
+ * load.slo.error-rate    허용 오류율 (엔드포인트별)
+ * </pre>
+ */
+record LoadSettings(double rate,
+                    boolean poisson,
+                    Duration duration,
+                    Duration warmup,
+                    Duration thinkTime,
+                    double maxErrorRate) {
+
+    /** 엔드포인트 하나의 지연 시간 목표 (ms) */
+    record Slo(long p99Millis, long p999Millis) {
+    }
+
+    static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+                Double.parseDouble(System.getProperty("load.rate", "10")),
+                !"constant".equals(System.getProperty("load.arrival", "poisson")),
+                Duration.ofSeconds(Long.getLong("load.duration-seconds", 60)),
+                Duration.ofSeconds(Long.getLong("load.warmup-seconds", 10)),
+                Duration.ofMillis(Long.getLong("load.think-ms", 3000)),
+                Double.parseDouble(System.getProperty("load.slo.error-rate", "0.01")));
+    }
+
+    Slo slo(String endpoint) {
+        // 로그인은 BCrypt(cost 12) 때문에 기본 목표가 다름
+        long defaultP99 = "login".equals(endpoint) ? 1500 : 250;
+        long defaultP999 = "login".equals(endpoint) ? 3000 : 1000;
+        long p99 = Long.getLong("load.slo.p99-ms", defaultP99);
+        long p999 = Long.getLong("load.slo.p999-ms", defaultP999);
+        return new Slo(Long.getLong("load.slo." + endpoint + ".p99-ms", p99),
+                Long.getLong("load.slo." + endpoint + ".p999-ms", p999));
+    }
+
+    Duration total() {
+        return warmup.plus(duration);
+    }
+}
@@ -0,0 +1,196 @@
+package com.facebeat.load;
+
+import com.Application;
+import db.h2.V3__seed_players;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 플레이어 세션 부하 테스트 (H2 + 실제 Tomcat).
+ *
+ * 세션 하나 = 로그인(토큰 받기) -> 곡 목록 -> 차트 -> 오디오 앞부분(Range) -> 플레이(think-ms) -> 점수 저장 -> 전체/곡별 랭킹.
+ * 세션은 load.rate 에 맞춰 정해진 시각에 시작하고(오픈 모델), 서버가 느려져도 도착은 줄지 않습니다.
+ * 로그인 지연 시간은 실제 보낸 시각이 아니라 도착 예정 시각부터 재서 부하 생성기가 밀린 시간도 포함합니다
+ * (coordinated omission 보정).
+ *
+ * 실행: ./gradlew loadTest -Pload.rate=20 -Pload.duration-seconds=120
+ * 결과: 콘솔 + build/reports/load/summary.txt, 엔드포인트별 build/reports/load/{endpoint}.hgrm
+ * SLO(LoadSettings) 를 하나라도 어기면 실패합니다.
+ */
+@SpringBootTest(classes = Application.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("h2")
+@Tag("load")
+class PlayerSessionLoadTest {
+
+    private static final Path REPORT_DIR = Path.of("build", "reports", "load");
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final LoadSettings settings = LoadSettings.fromSystemProperties();
+    private final LatencyStats stats = new LatencyStats();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final LongAdder failedSessions = new LongAdder();
+
+    private HttpClient client;
+    private List<Long> songIds;
+
+    @Test
+    void playerSessionsMeetSlo() throws Exception {
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        songIds = jdbcTemplate.queryForList("SELECT id FROM music", Long.class);
+
+        List<CompletableFuture<Void>> sessions = new ArrayList<>();
+        long started = System.nanoTime();
+        long warmupEnd = started + settings.warmup().toNanos();
+        long end = started + settings.total().toNanos();
+        long meanGapNanos = (long) (TimeUnit.SECONDS.toNanos(1) / settings.rate());
+
+        // 도착 예정 시각마다 세션 시작 (응답을 기다리지 않음)
+        long next = started;
+        while (next < end) {
+            long wait;
+            while ((wait = next - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            sessions.add(session(next, next >= warmupEnd));
+            next += settings.poisson()
+                    ? (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos)
+                    : meanGapNanos;
+        }
+
+        // 마지막 세션이 끝날 때까지 (think 시간 + 여유)
+        CompletableFuture.allOf(sessions.toArray(new CompletableFuture[0]))
+                .get(settings.thinkTime().toSeconds() + 60, TimeUnit.SECONDS);
+
+        String summary = String.format("rate %.1f sessions/s (%s), measured %ds after %ds warmup, think %dms%n"
+                        + "sessions: %d started, %d failed, max %d in flight (concurrent players)%n%n%s",
+                settings.rate(), settings.poisson() ? "poisson" : "constant",
+                settings.duration().toSeconds(), settings.warmup().toSeconds(), settings.thinkTime().toMillis(),
+                sessions.size(), failedSessions.sum(), maxInFlight.get(),
+                stats.report(settings.duration()));
+        List<String> violations = stats.violations(settings);
+        if (!violations.isEmpty()) {
+            summary += "\nSLO violations:\n  " + String.join("\n  ", violations) + "\n";
+        }
+
+        System.out.println(summary);
+        Files.createDirectories(REPORT_DIR);
+        Files.writeString(REPORT_DIR.resolve("summary.txt"), summary);
+        stats.writeDistributions(REPORT_DIR);
+
+        assertTrue(violations.isEmpty(), "SLO violations: " + violations);
+    }
+
+    private CompletableFuture<Void> session(long intendedStart, boolean measured) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String userId = V3__seed_players.userId(1 + random.nextInt(V3__seed_players.PLAYERS));
+        long songId = songIds.get(random.nextInt(songIds.size()));
+        int score = random.nextInt(1_000_000);
+
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        return call("login", intendedStart, measured, 200, post("/api/users/login",
+                "{\"userId\":\"" + userId + "\",\"password\":\"" + V3__seed_players.PASSWORD + "\"}", null),
+                HttpResponse.BodyHandlers.ofString())
+                // 점수 저장은 로그인 응답의 토큰으로 (본문에 userId 없음)
+                .thenCompose(body -> {
+                    String token = objectMapper.readTree(body).get("token").asString();
+                    return call("songs", measured, 200, get("/api/songs").build())
+                            .thenCompose(ok -> call("chart", measured, 200, get("/api/songs/" + songId + "/chart").build()))
+                            .thenCompose(ok -> call("audio", measured, 206,
+                                    get("/api/media/songs/" + songId).header("Range", "bytes=0-262143").build()))
+                            .thenCompose(ok -> CompletableFuture.runAsync(() -> { },
+                                    CompletableFuture.delayedExecutor(settings.thinkTime().toMillis(), TimeUnit.MILLISECONDS)))
+                            .thenCompose(ok -> call("submit-score", measured, 202, post("/api/scores",
+                                    "{\"songId\":" + songId + ",\"score\":" + score + "}", token)));
+                })
+                .thenCompose(ok -> call("ranking", measured, 200, get("/api/scores/ranking").build()))
+                .thenCompose(ok -> call("song-ranking", measured, 200,
+                        get("/api/scores/ranking?songId=" + songId + "&limit=20").build()))
+                .handle((ok, error) -> {
+                    inFlight.decrementAndGet();
+                    if (error != null) {
+                        failedSessions.increment();
+                    }
+                    return null;
+                });
+    }
+
+    private CompletableFuture<Void> call(String endpoint, boolean measured, int expectedStatus, HttpRequest request) {
+        return call(endpoint, System.nanoTime(), measured, expectedStatus, request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    // 실패하면 세션의 나머지 단계는 건너뜀
+    private <T> CompletableFuture<T> call(String endpoint, long startNanos, boolean measured,
+                                          int expectedStatus, HttpRequest request, HttpResponse.BodyHandler<T> body) {
+        return client.sendAsync(request, body)
+                .handle((response, error) -> {
+                    long micros = (System.nanoTime() - startNanos) / 1000;
+                    boolean ok = error == null && response.statusCode() == expectedStatus;
+                    String reason = error != null ? error.getClass().getSimpleName()
+                            : "HTTP " + response.statusCode();
+                    if (measured) {
+                        stats.record(endpoint, micros, ok, reason);
+                    }
+                    if (!ok) {
+                        throw new CompletionException(new IllegalStateException(endpoint + " failed: " + reason));
+                    }
+                    return response.body();
+                });
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(Duration.ofSeconds(30)).GET();
+    }
+
+    // token 이 있으면 Authorization: Bearer 로 보냄
+    private HttpRequest post(String path, String json, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,162 @@
+package com.facebeat.service;
+
+import com.Application;
+import com.facebeat.dto.request.ScoreRequest;
+import com.facebeat.dto.request.SignupRequest;
+import com.facebeat.entity.Song;
+import com.facebeat.repository.ScoreRepository;
+import com.facebeat.repository.SongRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 서버 두 대(애플리케이션 컨텍스트 두 개)가 H2 DB 하나를 같이 쓸 때
+ * A 에서 바꾼 곡 / 회원 / 점수가 change_log 를 통해 B 의 메모리 캐시에 반영되는지 확인합니다.
+ */
+class ChangeLogCoherenceTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+
+    @TempDir
+    static Path storage;
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = start();
+        nodeB = start();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(Application.class)
+                .profiles("h2", "h2-songs")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:changelog;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "storage.location=" + storage,
+                        "changelog.poll-ms=100")
+                .run();
+    }
+
+    @Test
+    void songAddedAndDeletedOnOneNodeIsVisibleOnTheOther() throws Exception {
+        SongService songsA = nodeA.getBean(SongService.class);
+        SongIdCache songIdsB = nodeB.getBean(SongIdCache.class);
+        SongCatalogCache catalogB = nodeB.getBean(SongCatalogCache.class);
+        catalogB.get(); // B 가 곡 목록을 캐시해 둔 상태에서 시작
+
+        Song song = new Song();
+        song.setTitle("change-log song");
+        song.setBpm(120);
+        Song saved = songsA.addSong(song,
+                new MockMultipartFile("songFile", "song.mp3", "audio/mpeg", new byte[]{1, 2, 3}), null);
+
+        awaitTrue(() -> songIdsB.contains(saved.getId()), "B 의 곡 id 캐시에 추가");
+        awaitTrue(() -> catalogB.get().find(saved.getId()) != null, "B 의 곡 목록 캐시 무효화");
+
+        songsA.deleteSong(saved.getId());
+
+        awaitTrue(() -> !songIdsB.contains(saved.getId()), "B 의 곡 id 캐시에서 제거");
+        awaitTrue(() -> catalogB.get().find(saved.getId()) == null, "B 의 곡 목록 캐시에서 제거");
+    }
+
+    @Test
+    void signupAndScoreOnOneNodeAreVisibleOnTheOther() throws Exception {
+        UserIdIndex userIdsB = nodeB.getBean(UserIdIndex.class);
+        LeaderboardService leaderboardB = nodeB.getBean(LeaderboardService.class);
+
+        SignupRequest signup = new SignupRequest();
+        ReflectionTestUtils.setField(signup, "userId", "changelog-user");
+        ReflectionTestUtils.setField(signup, "password", "password1234");
+        nodeA.getBean(UserService.class).signup(signup);
+
+        awaitTrue(() -> userIdsB.mightContain("changelog-user"), "B 의 아이디 인덱스에 추가");
+
+        Long songId = 1L; // V2 시드 곡
+        assertTrue(nodeA.getBean(SongIdCache.class).contains(songId));
+        ScoreRequest score = new ScoreRequest();
+        score.setUserId("changelog-user");
+        score.setSongId(songId);
+        score.setScore(Integer.MAX_VALUE - 1);
+        nodeA.getBean(ScoreService.class).saveScore(score);
+
+        awaitTrue(() -> leaderboardB.top(songId, 1).stream()
+                        .anyMatch(e -> "changelog-user".equals(e.userId())),
+                "B 의 메모리 리더보드에 반영");
+    }
+
+    @Test
+    void changeWhoseFirstApplyFailsIsRetried() throws Exception {
+        // B 의 DB / nodeId 로 읽지만 곡 조회는 처음에 실패하는 poller (스케줄 없이 직접 poll)
+        SongRepository flakySongs = mock(SongRepository.class);
+        SongIdCache songIds = mock(SongIdCache.class);
+        ChangeLogPoller poller = new ChangeLogPoller(
+                nodeB.getBean(JdbcTemplate.class), nodeB.getBean(ChangeLogService.class),
+                nodeB.getBean(ReadYourWritesTracker.class), flakySongs, mock(ScoreRepository.class),
+                songIds, mock(SongCatalogCache.class), mock(SongSearchIndex.class), mock(ChartCache.class),
+                mock(UserIdIndex.class), mock(LeaderboardService.class),
+                1000, 30_000, 0, 5);
+        poller.start();
+
+        Song song = new Song();
+        song.setTitle("flaky song");
+        song.setBpm(120);
+        Long songId = nodeA.getBean(SongService.class).addSong(song,
+                new MockMultipartFile("songFile", "flaky.mp3", "audio/mpeg", new byte[]{1, 2, 3}), null).getId();
+        long changeId = nodeB.getBean(JdbcTemplate.class).queryForObject(
+                "SELECT MIN(id) FROM change_log WHERE type = 'SONG' AND entity_id = ?", Long.class, String.valueOf(songId));
+
+        // 1. primary 일시 오류 - 처리한 것으로 치지 않고 watermark 는 그 앞에서 멈춤
+        doThrow(new TransientDataAccessResourceException("primary down")).when(flakySongs).existsById(songId);
+        poller.poll();
+        verify(songIds, never()).add(songId);
+        assertTrue(poller.watermark() < changeId);
+
+        // 2. 다음 poll 에서 다시 시도
+        doReturn(true).when(flakySongs).existsById(songId);
+        poller.poll();
+        verify(songIds, atLeastOnce()).add(songId);
+        assertTrue(poller.watermark() >= changeId);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, String what) throws InterruptedException {
+        long deadline = System.nanoTime() + MAX_LAG.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError(what + " - " + MAX_LAG.toMillis() + "ms 안에 반영되지 않음");
+            }
+            Thread.sleep(50);
+        }
+    }
+}
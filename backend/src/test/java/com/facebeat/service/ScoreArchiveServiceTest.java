@@ -0,0 +1,101 @@
+package com.facebeat.service;
+
+import com.Application;
+import com.facebeat.dto.request.ScoreRequest;
+import com.facebeat.dto.request.SignupRequest;
+import com.facebeat.dto.response.RankingResponse;
+import com.facebeat.repository.ScoreRepository;
+import com.facebeat.util.LeaderboardEntry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 보관 기간이 지난 점수를 옮겨도 플레이어의 곡별 최고 기록은 전체 기간 랭킹에 남는지 확인합니다.
+ */
+class ScoreArchiveServiceTest {
+
+    private static final long SONG_ID = 3L;
+
+    private static ConfigurableApplicationContext context;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void start() {
+        context = new SpringApplicationBuilder(Application.class)
+                .profiles("h2", "h2-songs")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:archive;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "scores.archive.cron=-",
+                        "scores.archive.retention-days=90",
+                        // chunk 경계에서 남긴 최고 기록을 건너뛰는지도 보도록 작게
+                        "scores.archive.batch-size=1",
+                        "scores.archive.pause-ms=0")
+                .run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @AfterAll
+    static void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void oldTopScoreStaysRankedAfterArchive() {
+        signup("old-champion");
+        signup("recent-player");
+        ScoreService scores = context.getBean(ScoreService.class);
+        save(scores, "old-champion", 990_000);
+        save(scores, "old-champion", 500_000);
+        save(scores, "recent-player", 700_000);
+
+        // old-champion 의 두 기록을 보관 기간 밖으로
+        Timestamp longAgo = Timestamp.valueOf(LocalDateTime.now().minusDays(200));
+        jdbcTemplate.update("UPDATE scores SET created_at = ? WHERE user_id = ?", longAgo, "old-champion");
+        jdbcTemplate.update("UPDATE user_best_scores SET achieved_at = ? WHERE user_id = ?", longAgo, "old-champion");
+
+        context.getBean(ScoreArchiveService.class).archiveExpired();
+
+        // 낮은 옛 기록만 옮겨짐
+        assertEquals(List.of(500_000), jdbcTemplate.queryForList(
+                "SELECT score_value FROM scores_archive WHERE user_id = 'old-champion'", Integer.class));
+
+        // 메모리 리더보드(다시 채워짐)와 DB 랭킹 모두 1등은 그대로
+        List<LeaderboardEntry> top = context.getBean(LeaderboardService.class).top(SONG_ID, 10);
+        assertEquals(List.of("old-champion", "recent-player"), top.stream().map(LeaderboardEntry::userId).toList());
+        assertEquals(990_000, top.get(0).score());
+
+        List<RankingResponse> page = context.getBean(ScoreRepository.class)
+                .findSongRankingPage(SONG_ID, PageRequest.of(0, 10));
+        assertEquals(List.of(990_000, 700_000), page.stream().map(RankingResponse::getScore).toList());
+        assertEquals(990_000, context.getBean(LeaderboardService.class).top(null, 1).get(0).score());
+    }
+
+    private static void save(ScoreService scores, String userId, int value) {
+        ScoreRequest request = new ScoreRequest();
+        request.setUserId(userId);
+        request.setSongId(SONG_ID);
+        request.setScore(value);
+        scores.saveScore(request);
+    }
+
+    private static void signup(String userId) {
+        SignupRequest signup = new SignupRequest();
+        ReflectionTestUtils.setField(signup, "userId", userId);
+        ReflectionTestUtils.setField(signup, "password", "password1234");
+        context.getBean(UserService.class).signup(signup);
+    }
+}
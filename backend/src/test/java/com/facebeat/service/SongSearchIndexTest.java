@@ -0,0 +1,97 @@
+package com.facebeat.service;
+
+import com.facebeat.dto.response.SongResponse;
+import com.facebeat.dto.response.SongSearchResponse;
+import com.facebeat.repository.SongRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SongSearchIndexTest {
+
+    private SongRepository songRepository;
+    private SongSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        songRepository = mock(SongRepository.class);
+        when(songRepository.findAllResponses()).thenReturn(List.of(
+                song(1L, "좋은 날", "아이유", 128, 2),
+                song(2L, "Blueming", "아이유", 100, 1),
+                song(3L, "Love Dive", "IVE", 118, 2),
+                song(4L, "Lovesick Girls", "BLACKPINK", 140, 3)));
+        index = new SongSearchIndex(songRepository, new ReadYourWritesTracker(5000));
+        index.rebuild();
+    }
+
+    @Test
+    void matchesTitleAndArtistIgnoringCaseAndSpaces() {
+        assertEquals(List.of(2L, 1L), ids(index.search("아이 유", null, null, null, 0, 20)));
+        assertEquals(List.of(3L, 4L), ids(index.search("LOVE", null, null, null, 0, 20)));
+        assertEquals(List.of(1L), ids(index.search("날", null, null, null, 0, 20)));
+        // 글자는 모두 있지만 이어져 있지 않음 / 제목과 가수에 걸쳐 있음
+        assertEquals(List.of(), ids(index.search("날좋", null, null, null, 0, 20)));
+        assertEquals(List.of(), ids(index.search("날아이", null, null, null, 0, 20)));
+    }
+
+    @Test
+    void titlePrefixMatchesComeFirst() {
+        // 제목 순이면 Blueming 이 먼저지만 "l" 로 시작하는 제목이 앞에 옴
+        assertEquals(List.of(3L, 4L, 2L), ids(index.search("l", null, null, null, 0, 20)));
+        // 가수 이름으로만 맞는 곡은 뒤로
+        assertEquals(List.of(2L, 4L), ids(index.search("bl", null, null, null, 0, 20)));
+    }
+
+    @Test
+    void filtersByBpmRangeAndDifficulty() {
+        assertEquals(List.of(3L, 1L), ids(index.search(null, 110, 130, null, 0, 20)));
+        assertEquals(List.of(3L, 1L), ids(index.search(null, null, null, 2, 0, 20)));
+        assertEquals(List.of(4L), ids(index.search("love", 120, null, null, 0, 20)));
+        assertEquals(List.of(), ids(index.search("love", null, null, 1, 0, 20)));
+        assertThrows(IllegalArgumentException.class, () -> index.search(null, 130, 110, null, 0, 20));
+    }
+
+    @Test
+    void pagesThroughTitleOrder() {
+        SongSearchResponse first = index.search(null, null, null, null, 0, 3);
+        assertEquals(4, first.getTotal());
+        assertEquals(List.of(2L, 3L, 4L), ids(first));
+        assertEquals(List.of(1L), ids(index.search(null, null, null, null, 1, 3)));
+        assertEquals(List.of(), ids(index.search(null, null, null, null, 5, 3)));
+        assertThrows(IllegalArgumentException.class, () -> index.search(null, null, null, null, 0, 0));
+    }
+
+    @Test
+    void refreshAndRemoveUpdateOnlyThatSong() {
+        when(songRepository.findResponseById(5L)).thenReturn(Optional.of(song(5L, "밤편지", "아이유", 90, 1)));
+        index.refresh(5L);
+        assertEquals(List.of(2L, 5L, 1L), ids(index.search("아이유", null, null, null, 0, 20)));
+        assertEquals(List.of(2L, 5L), ids(index.search(null, null, 100, null, 0, 20)));
+
+        // 제목이 바뀐 경우 예전 글자로는 더 이상 찾을 수 없음
+        when(songRepository.findResponseById(5L)).thenReturn(Optional.of(song(5L, "Through the Night", "아이유", 90, 1)));
+        index.refresh(5L);
+        assertEquals(List.of(), ids(index.search("밤편지", null, null, null, 0, 20)));
+        assertEquals(List.of(5L), ids(index.search("night", null, null, null, 0, 20)));
+
+        index.remove(2L);
+        assertEquals(List.of(5L, 1L), ids(index.search("아이유", null, null, null, 0, 20)));
+        assertEquals(List.of(5L), ids(index.search(null, null, 100, null, 0, 20)));
+        assertEquals(4, index.search(null, null, null, null, 0, 20).getTotal());
+    }
+
+    private static SongResponse song(Long id, String title, String artist, int bpm, int difficulty) {
+        return new SongResponse(id, title, artist, null, null, null, bpm, difficulty, null, null);
+    }
+
+    private static List<Long> ids(SongSearchResponse response) {
+        return response.getItems().stream().map(SongResponse::getId).toList();
+    }
+}
@@ -0,0 +1,50 @@
+package com.facebeat.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ChartCodecTest {
+
+    @Test
+    void decodesWhatBuilderEncodes() {
+        Map<Integer, List<ChartGenerator.Note>> charts = new LinkedHashMap<>();
+        // 1바이트 / 2바이트 / 3바이트 varint 간격, 같은 시각의 노트, lane 과 type 의 4비트 끝값
+        charts.put(1, List.of(
+                new ChartGenerator.Note(0, 0, 0),
+                new ChartGenerator.Note(127, 4, 1),
+                new ChartGenerator.Note(128, 15, 15),
+                new ChartGenerator.Note(128, 2, 0),
+                new ChartGenerator.Note(16_512, 3, 1),
+                new ChartGenerator.Note(3_600_000, 1, 0)));
+        // 배열을 늘리는 경우 (초기 크기 256 개보다 많음)
+        List<ChartGenerator.Note> dense = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            dense.add(new ChartGenerator.Note(i * 250, i % 5, i % 8 == 0 ? 1 : 0));
+        }
+        charts.put(3, dense);
+
+        ChartCodec.Builder builder = new ChartCodec.Builder();
+        charts.forEach((difficulty, notes) -> notes.forEach(
+                note -> builder.add(difficulty, note.timeMs(), note.lane(), note.type())));
+
+        assertEquals(1_006, builder.noteCount());
+        assertEquals(charts, ChartCodec.decode(builder.toBinary()));
+    }
+
+    @Test
+    void rejectsOtherFormats() {
+        byte[] binary = new ChartCodec.Builder().add(2, 500, 1, 0).toBinary();
+        byte[] wrongVersion = binary.clone();
+        wrongVersion[4] = 9;
+
+        assertThrows(IllegalArgumentException.class, () -> ChartCodec.decode(new ChartCodec.Builder().add(2, 500, 1, 0).toJson()));
+        assertThrows(IllegalArgumentException.class, () -> ChartCodec.decode(wrongVersion));
+    }
+}
@@ -0,0 +1,72 @@
+package com.facebeat.util;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtUtilTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final byte[] OLD_KEY = "old-secret-old-secret-old-secret".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NEW_KEY = "new-secret-new-secret-new-secret".getBytes(StandardCharsets.UTF_8);
+    private static final long NOW = 1_700_000_000L;
+
+    @Test
+    void issuedTokenVerifiesUntilExpiry() {
+        JwtUtil jwt = new JwtUtil(MAPPER, Map.of("k1", OLD_KEY), "k1", 60);
+        String token = jwt.issue("player\"1", "PLAYER", NOW);
+
+        JwtUtil.Claims claims = jwt.verify(token, NOW + 59);
+        assertEquals("player\"1", claims.userId());
+        assertEquals("PLAYER", claims.role());
+        assertEquals("k1", claims.kid());
+        assertThrows(JwtUtil.InvalidTokenException.class, () -> jwt.verify(token, NOW + 60));
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        JwtUtil jwt = new JwtUtil(MAPPER, Map.of("k1", OLD_KEY), "k1", 60);
+        String token = jwt.issue("player1", "PLAYER", NOW);
+        String[] parts = token.split("\\.");
+        String forged = parts[0] + "." + jwt.issue("admin123", "ADMIN", NOW).split("\\.")[1] + "." + parts[2];
+
+        assertThrows(JwtUtil.InvalidTokenException.class, () -> jwt.verify(forged, NOW));
+        assertThrows(JwtUtil.InvalidTokenException.class, () -> jwt.verify("not-a-token", NOW));
+    }
+
+    @Test
+    void roleCannotBeChangedWithoutTheKey() {
+        JwtUtil jwt = new JwtUtil(MAPPER, Map.of("k1", OLD_KEY), "k1", 60);
+        assertEquals("ADMIN", jwt.verify(jwt.issue("admin123", "ADMIN", NOW), NOW).role());
+
+        // 플레이어 토큰의 payload 만 role=ADMIN 으로 바꾸면 서명이 맞지 않음
+        String[] parts = jwt.issue("player1", "PLAYER", NOW).split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                .replace("\"PLAYER\"", "\"ADMIN\"");
+        String forged = parts[0] + "." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "." + parts[2];
+        assertThrows(JwtUtil.InvalidTokenException.class, () -> jwt.verify(forged, NOW));
+    }
+
+    @Test
+    void rotatedKeyKeepsOldTokensValidUntilRemoved() {
+        String oldToken = new JwtUtil(MAPPER, Map.of("k1", OLD_KEY), "k1", 60).issue("player1", "PLAYER", NOW);
+
+        Map<String, byte[]> both = new LinkedHashMap<>();
+        both.put("k1", OLD_KEY);
+        both.put("k2", NEW_KEY);
+        JwtUtil rotated = new JwtUtil(MAPPER, both, "k2", 60);
+        assertEquals("k1", rotated.verify(oldToken, NOW).kid());
+        assertEquals("k2", rotated.verify(rotated.issue("player1", "PLAYER", NOW), NOW).kid());
+
+        JwtUtil newOnly = new JwtUtil(MAPPER, Map.of("k2", NEW_KEY), "k2", 60);
+        assertThrows(JwtUtil.InvalidTokenException.class, () -> newOnly.verify(oldToken, NOW));
+    }
+}
@@ -0,0 +1,167 @@
+package com.facebeat.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 합성한 클릭 트랙 WAV 로 온셋 검출 / 차트 생성을 확인합니다.
+ * 120 BPM 8분음표 클릭 (정박은 200Hz 강하게, 엇박은 3kHz 약하게) + 잡음
+ */
+class OnsetDetectorTest {
+
+    private static final int SAMPLE_RATE = 44100;
+    private static final int BPM = 120;
+    private static final double BEAT_MS = 60000.0 / BPM;
+    private static final int FIRST_CLICK_MS = 137;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void detectsEveryClickOfWavFixture() throws IOException {
+        List<Integer> clicks = clickTimes(30);
+        Path wav = writeWav(synthesize(30, clicks), tempDir.resolve("clicks.wav"));
+
+        List<OnsetDetector.Onset> onsets = detect(wav);
+
+        for (int click : clicks) {
+            int error = nearest(onsets, click);
+            assertTrue(error <= 20, "click at " + click + "ms missed by " + error + "ms");
+        }
+    }
+
+    @Test
+    void chartIsQuantizedToBpmGrid() throws IOException {
+        List<Integer> clicks = clickTimes(30);
+        Path wav = writeWav(synthesize(30, clicks), tempDir.resolve("clicks.wav"));
+        List<OnsetDetector.Onset> onsets = detect(wav);
+
+        for (int difficulty : ChartGenerator.DIFFICULTIES) {
+            List<ChartGenerator.Note> notes = ChartGenerator.generate(onsets, BPM, difficulty);
+            assertTrue(notes.size() > 5, "difficulty " + difficulty + " has too few notes");
+
+            int previous = Integer.MIN_VALUE;
+            for (ChartGenerator.Note note : notes) {
+                // 격자(8분음표)에 붙었는지: 첫 클릭 기준 간격의 배수 (위상 추정 오차 10ms 허용)
+                double phase = ((note.timeMs() - FIRST_CLICK_MS) % (BEAT_MS / 2) + BEAT_MS / 2) % (BEAT_MS / 2);
+                assertTrue(phase <= 10 || phase >= BEAT_MS / 2 - 10, "note " + note + " is off the grid");
+                assertTrue(note.lane() >= 0 && note.lane() < ChartGenerator.LANES);
+                assertTrue(note.timeMs() > previous, "notes must be sorted");
+                previous = note.timeMs();
+            }
+        }
+        // 어려울수록 노트가 많음
+        assertTrue(ChartGenerator.generate(onsets, BPM, ChartGenerator.HARD).size()
+                > ChartGenerator.generate(onsets, BPM, ChartGenerator.EASY).size());
+    }
+
+    @Test
+    void onsetsBeforeFirstBeatAreKept() {
+        // 모든 온셋이 추정한 첫 박보다 앞 (예전에는 다 버려져서 ArrayIndexOutOfBoundsException)
+        List<ChartGenerator.Note> early = ChartGenerator.generate(
+                List.of(new OnsetDetector.Onset(12, 1f, 0), new OnsetDetector.Onset(300, 1f, 1)), BPM, ChartGenerator.HARD);
+        assertEquals(1, early.size());
+        assertTrue(early.get(0).timeMs() >= 0);
+
+        // 정박은 300ms 쪽에 있고, 그 앞의 약한 온셋 하나도 노트가 됨
+        List<ChartGenerator.Note> notes = ChartGenerator.generate(List.of(
+                new OnsetDetector.Onset(12, 0.2f, 0),
+                new OnsetDetector.Onset(1300, 1f, 1),
+                new OnsetDetector.Onset(2300, 1f, 1),
+                new OnsetDetector.Onset(3300, 1f, 1)), BPM, ChartGenerator.HARD);
+        assertEquals(4, notes.size());
+        assertTrue(Math.abs(notes.get(0).timeMs() - 12) <= BEAT_MS / 8, "first note " + notes.get(0));
+    }
+
+    @Test
+    void analyzesThreeMinuteTrackWithinSeconds() {
+        List<Integer> clicks = clickTimes(180);
+        float[] samples = synthesize(180, clicks);
+
+        List<OnsetDetector.Onset> onsets = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            OnsetDetector detector = new OnsetDetector(SAMPLE_RATE);
+            // 디코더처럼 8192 샘플씩 나눠서 넣음
+            for (int offset = 0; offset < samples.length; offset += 8192) {
+                detector.accept(samples, offset, Math.min(8192, samples.length - offset));
+            }
+            return detector.finish();
+        });
+
+        long missed = clicks.stream().filter(click -> nearest(onsets, click) > 20).count();
+        assertEquals(0, missed);
+    }
+
+    private static List<OnsetDetector.Onset> detect(Path wav) throws IOException {
+        OnsetDetector[] detector = new OnsetDetector[1];
+        PcmDecoder.decode(wav, sampleRate -> {
+            detector[0] = new OnsetDetector(sampleRate);
+            return detector[0]::accept;
+        });
+        return detector[0].finish();
+    }
+
+    private static int nearest(List<OnsetDetector.Onset> onsets, int timeMs) {
+        int best = Integer.MAX_VALUE;
+        for (OnsetDetector.Onset onset : onsets) {
+            best = Math.min(best, Math.abs(onset.timeMs() - timeMs));
+        }
+        return best;
+    }
+
+    private static List<Integer> clickTimes(int seconds) {
+        List<Integer> clicks = new ArrayList<>();
+        for (double t = FIRST_CLICK_MS; t < seconds * 1000 - BEAT_MS; t += BEAT_MS / 2) {
+            clicks.add((int) Math.round(t));
+        }
+        return clicks;
+    }
+
+    private static float[] synthesize(int seconds, List<Integer> clicks) {
+        float[] samples = new float[SAMPLE_RATE * seconds];
+        Random random = new Random(42);
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (float) (random.nextGaussian() * 0.01);
+        }
+        for (int c = 0; c < clicks.size(); c++) {
+            boolean onBeat = c % 2 == 0;
+            double amplitude = onBeat ? 0.8 : 0.4;
+            double frequency = onBeat ? 200 : 3000;
+            int start = (int) ((long) clicks.get(c) * SAMPLE_RATE / 1000);
+            for (int j = 0; j < 2000 && start + j < samples.length; j++) {
+                samples[start + j] += (float) (amplitude * Math.exp(-j / 300.0)
+                        * Math.sin(2 * Math.PI * frequency * j / SAMPLE_RATE));
+            }
+        }
+        return samples;
+    }
+
+    private static Path writeWav(float[] samples, Path target) throws IOException {
+        byte[] pcm = new byte[samples.length * 2];
+        for (int i = 0; i < samples.length; i++) {
+            int v = (int) Math.max(-32768, Math.min(32767, samples[i] * 32767));
+            pcm[2 * i] = (byte) v;
+            pcm[2 * i + 1] = (byte) (v >> 8);
+        }
+        AudioFormat format = new AudioFormat(SAMPLE_RATE, 16, 1, true, false);
+        try (AudioInputStream in = new AudioInputStream(new ByteArrayInputStream(pcm), format, samples.length)) {
+            AudioSystem.write(in, AudioFileFormat.Type.WAVE, target.toFile());
+        }
+        return target;
+    }
+}
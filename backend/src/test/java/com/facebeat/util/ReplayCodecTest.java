@@ -0,0 +1,111 @@
+package com.facebeat.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReplayCodecTest {
+
+    private static final int NEUTRAL = 0;
+    private static final int HAPPY = 1;
+    private static final int ANGRY = 3;
+    private static final int SAD = 4;
+
+    @Test
+    void recomputesScoreLikeTheClient() {
+        // RhythmGame.jsx 의 handleJudgement 로 계산한 값: 200 + 64 + 0 + 150
+        byte[] replay = replay(
+                new int[]{0, NEUTRAL, ReplayCodec.PERFECT_HIT, 255},
+                new int[]{1, HAPPY, ReplayCodec.GOOD_HIT, 128},
+                new int[]{5, SAD, ReplayCodec.MISS, 10},
+                new int[]{300, ANGRY, ReplayCodec.PERFECT_HIT, 153});
+
+        ReplayCodec.Result result = ReplayCodec.score(replay);
+        assertEquals(414, result.score());
+        assertEquals(4, result.notes());
+        assertEquals(2, result.perfect());
+        assertEquals(1, result.good());
+        assertEquals(1, result.miss());
+    }
+
+    @Test
+    void claimedJudgementMustMatchProbability() {
+        byte[] replay = replay(new int[]{0, SAD, ReplayCodec.PERFECT_HIT, 10});
+        assertThrows(ReplayCodec.MismatchException.class, () -> ReplayCodec.score(replay));
+    }
+
+    @Test
+    void rejectsMalformedReplays() {
+        byte[] valid = replay(new int[]{0, NEUTRAL, ReplayCodec.MISS, 0}, new int[]{1, NEUTRAL, ReplayCodec.MISS, 0});
+
+        // 잘림, 뒤에 남은 바이트, 같은 노트 두 번, 매직 틀림
+        byte[] truncated = Arrays.copyOf(valid, valid.length - 1);
+        byte[] trailing = Arrays.copyOf(valid, valid.length + 1);
+        byte[] duplicate = replay(new int[]{3, NEUTRAL, ReplayCodec.MISS, 0}, new int[]{3, NEUTRAL, ReplayCodec.MISS, 0});
+        byte[] notReplay = valid.clone();
+        notReplay[0] = 'X';
+
+        for (byte[] bad : new byte[][]{truncated, trailing, duplicate, notReplay}) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> ReplayCodec.score(bad));
+            assertEquals(IllegalArgumentException.class, e.getClass());
+        }
+    }
+
+    @Test
+    void rejectsReplaysLongerThanTheSong() {
+        // 30초 곡: 0초부터 0.8초마다 (길이 1초 여유) -> id 0 ~ 38 까지 39 개
+        int maxNotes = ReplayCodec.maxNotes(30);
+        assertEquals(39, maxNotes);
+        assertEquals(ReplayCodec.MAX_NOTES, ReplayCodec.maxNotes(null));
+
+        int[][] full = new int[maxNotes][];
+        for (int i = 0; i < maxNotes; i++) {
+            full[i] = new int[]{i, NEUTRAL, ReplayCodec.PERFECT_HIT, 255};
+        }
+        assertEquals(maxNotes * 200, ReplayCodec.score(replay(full), maxNotes).score());
+
+        // 노트 하나 더 / 노트 수는 적어도 곡이 끝난 뒤의 id
+        int[][] tooMany = Arrays.copyOf(full, maxNotes + 1);
+        tooMany[maxNotes] = new int[]{maxNotes, NEUTRAL, ReplayCodec.PERFECT_HIT, 255};
+        byte[] pastEnd = replay(new int[]{0, NEUTRAL, ReplayCodec.PERFECT_HIT, 255},
+                new int[]{maxNotes, NEUTRAL, ReplayCodec.PERFECT_HIT, 255});
+        assertThrows(ReplayCodec.MismatchException.class, () -> ReplayCodec.score(replay(tooMany), maxNotes));
+        assertThrows(ReplayCodec.MismatchException.class, () -> ReplayCodec.score(pastEnd, maxNotes));
+
+        // 곡 길이를 모를 때만 통과하던 20,000 개 PERFECT 기록
+        int[][] forged = new int[ReplayCodec.MAX_NOTES][];
+        for (int i = 0; i < forged.length; i++) {
+            forged[i] = new int[]{i, NEUTRAL, ReplayCodec.PERFECT_HIT, 255};
+        }
+        assertEquals(ReplayCodec.MAX_NOTES, ReplayCodec.score(replay(forged)).perfect());
+        assertThrows(ReplayCodec.MismatchException.class, () -> ReplayCodec.score(replay(forged), maxNotes));
+    }
+
+    // notes: {id, emotion, judgement, q}
+    private static byte[] replay(int[]... notes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(ReplayCodec.MAGIC);
+        out.write(ReplayCodec.VERSION);
+        writeVarint(out, notes.length);
+        int previous = 0;
+        for (int[] note : notes) {
+            writeVarint(out, note[0] - previous);
+            previous = note[0];
+            out.write((note[1] << 4) | note[2]);
+            out.write(note[3]);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
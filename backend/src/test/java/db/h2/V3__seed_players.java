@@ -0,0 +1,37 @@
+package db.h2;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.PreparedStatement;
+
+/**
+ * 테스트용 플레이어 계정 (player0001 ~ player0500, 비밀번호 PASSWORD).
+ * 해시는 운영과 같은 cost(auth.bcrypt.strength 기본값 12)로 한 번만 만들어서 모두에게 씁니다.
+ * SQL 로 두지 않은 이유: 해시를 미리 계산해서 박아 두면 비밀번호가 맞는지 확인할 방법이 없음.
+ */
+public class V3__seed_players extends BaseJavaMigration {
+
+    public static final int PLAYERS = 500;
+    public static final String PASSWORD = "player1234";
+
+    public static String userId(int n) {
+        return String.format("player%04d", n);
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        String hash = new BCryptPasswordEncoder(12).encode(PASSWORD);
+        try (PreparedStatement ps = context.getConnection().prepareStatement(
+                "INSERT INTO member (username, user_id, password) VALUES (?, ?, ?)")) {
+            for (int n = 1; n <= PLAYERS; n++) {
+                ps.setString(1, userId(n));
+                ps.setString(2, userId(n));
+                ps.setString(3, hash);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+}
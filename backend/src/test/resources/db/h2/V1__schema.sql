@@ -0,0 +1,117 @@
+-- db/migration (V1 ~ V19) 을 모두 적용한 뒤의 MySQL 스키마와 같은 구조 (H2, MODE=MySQL)
+-- 운영 마이그레이션에 컬럼/테이블을 추가하면 여기에도 같이 추가해야 합니다.
+CREATE TABLE member (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(50) NOT NULL UNIQUE,
+    password VARCHAR(100) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    user_id VARCHAR(50) NOT NULL UNIQUE
+);
+
+CREATE TABLE music (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    artist VARCHAR(255),
+    file_path VARCHAR(500) NOT NULL,
+    image_path VARCHAR(500),
+    thumbnail_path VARCHAR(500),
+    bpm INT,
+    duration INT,
+    difficulty INT,
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    media_status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    media_attempts INT NOT NULL DEFAULT 0
+);
+
+CREATE INDEX idx_music_media_status ON music (media_status, id);
+
+CREATE TABLE scores (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    song_id BIGINT NOT NULL,
+    score_value INT NOT NULL,
+    combo INT DEFAULT 0,
+    grade VARCHAR(10),
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    user_id VARCHAR(50) NOT NULL,
+    FOREIGN KEY (song_id) REFERENCES music(id) ON DELETE CASCADE,
+    CONSTRAINT fk_scores_member_string_id FOREIGN KEY (user_id) REFERENCES member(user_id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_scores_song_rank ON scores (song_id, score_value DESC, created_at, id, user_id);
+CREATE INDEX idx_scores_rank ON scores (score_value DESC, created_at, id, user_id);
+CREATE INDEX idx_scores_created_at ON scores (created_at, id);
+
+-- MySQL 은 테이블(V11)로 흉내 내지만 H2 는 진짜 시퀀스를 씀 (Hibernate H2 방언)
+CREATE SEQUENCE scores_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE user_best_scores (
+    user_id VARCHAR(50) NOT NULL,
+    song_id BIGINT NOT NULL,
+    score_value INT NOT NULL,
+    score_id BIGINT NOT NULL,
+    achieved_at DATETIME NOT NULL,
+    PRIMARY KEY (user_id, song_id),
+    CONSTRAINT fk_user_best_member FOREIGN KEY (user_id) REFERENCES member(user_id) ON DELETE CASCADE,
+    CONSTRAINT fk_user_best_music FOREIGN KEY (song_id) REFERENCES music(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_user_best_song_rank ON user_best_scores (song_id, score_value DESC, achieved_at, score_id, user_id);
+
+CREATE TABLE leaderboard_buckets (
+    window_type VARCHAR(10) NOT NULL,
+    bucket_start DATE NOT NULL,
+    user_id VARCHAR(50) NOT NULL,
+    song_id BIGINT NOT NULL,
+    score_value INT NOT NULL,
+    score_id BIGINT NOT NULL,
+    achieved_at DATETIME NOT NULL,
+    play_count INT NOT NULL DEFAULT 1,
+    PRIMARY KEY (window_type, bucket_start, user_id),
+    CONSTRAINT fk_leaderboard_buckets_member FOREIGN KEY (user_id) REFERENCES member(user_id) ON DELETE CASCADE,
+    CONSTRAINT fk_leaderboard_buckets_music FOREIGN KEY (song_id) REFERENCES music(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_leaderboard_buckets_rank
+    ON leaderboard_buckets (window_type, bucket_start, score_value DESC, achieved_at, score_id, user_id);
+
+CREATE TABLE scores_archive (
+    id BIGINT PRIMARY KEY,
+    user_id VARCHAR(50) NOT NULL,
+    song_id BIGINT NOT NULL,
+    score_value INT NOT NULL,
+    combo INT,
+    grade VARCHAR(10),
+    created_at DATETIME,
+    archived_at DATETIME DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE change_log (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    type VARCHAR(20) NOT NULL,
+    action VARCHAR(20) NOT NULL,
+    entity_id VARCHAR(50),
+    payload TEXT,
+    origin VARCHAR(36) NOT NULL,
+    created_at DATETIME NOT NULL
+);
+
+CREATE INDEX idx_change_log_created_at ON change_log (created_at);
+
+CREATE TABLE song_notes (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    song_id BIGINT,
+    time_ms INT,
+    lane INT,
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    difficulty INT NOT NULL DEFAULT 2,
+    note_type TINYINT NOT NULL DEFAULT 0,
+    FOREIGN KEY (song_id) REFERENCES music(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_song_notes_chart ON song_notes (song_id, difficulty, time_ms);
+
+CREATE TABLE scheduler_locks (
+    name VARCHAR(64) PRIMARY KEY,
+    locked_until DATETIME NOT NULL,
+    locked_by VARCHAR(36) NOT NULL
+);
@@ -0,0 +1,15 @@
+-- V3 의 기본 곡 (static/songs 에 실제 파일이 있음)
+-- 길이와 차트를 미리 채워서 서버 시작 시 MediaProcessingService 가 다시 분석하지 않게 함
+INSERT INTO music (title, artist, file_path, bpm, duration, difficulty) VALUES
+('Birthday Star', 'soyun', '/songs/birthday_star.mp3', 90, 104, 2),
+('Combo', 'gongju', '/songs/combo.mp3', 88, 60, 1),
+('Rock', 'onepearl', '/songs/rock.mp3', 116, 65, 2),
+('Sungsimdang', 'jjooya', '/songs/sungsimdang.mp3', 130, 69, 3);
+
+-- 곡마다 난이도 1 ~ 3, 난이도별 노트 200 개 (500ms 간격)
+INSERT INTO song_notes (song_id, difficulty, time_ms, lane, note_type)
+SELECT m.id, d.x, n.x * 500, MOD(n.x, 5), CASE WHEN MOD(n.x, 8) = 0 THEN 1 ELSE 0 END
+FROM music m, SYSTEM_RANGE(1, 3) d, SYSTEM_RANGE(1, 200) n;
+
+-- 후처리가 끝난 곡으로 표시 (V19 media_status)
+UPDATE music SET media_status = 'DONE';
@@ -201,7 +201,7 @@ const AdminDashboard = () => {
                       <td className="px-4 py-4">
                         <div className="flex items-center gap-3">
                           <div className="w-10 h-10 bg-white rounded-lg overflow-hidden border border-gray-200">
-                             <img src={`${BACKEND_URL}${song.imagePath}`} alt={song.title} className="w-full h-full object-cover" onError={(e)=>e.target.src='https://placehold.co/40'}/>
+                             <img src={`${BACKEND_URL}${song.thumbnailPath || song.imagePath}`} alt={song.title} className="w-full h-full object-cover" onError={(e)=>e.target.src='https://placehold.co/40'}/>
                           </div>
                           <div>
                             <p className="font-black text-black leading-tight">{song.title}</p>
@@ -53,6 +53,7 @@ const Login = () => {
           localStorage.setItem('isLoggedIn', 'true');
           localStorage.setItem('userRole', 'ADMIN');
           localStorage.setItem('userId', userId);
+          localStorage.setItem('token', userData.token); // 점수 저장 등 인증이 필요한 요청에 Bearer 로 보냄
           alert("관리자님, 환영합니다!");
           // 로그인 성공 시
           localStorage.setItem('userId', userData.userId);
@@ -61,6 +62,7 @@ const Login = () => {
           localStorage.setItem('isLoggedIn', 'true');
           localStorage.setItem('userRole', 'USER');
           localStorage.setItem('userId', userData.userId);
+          localStorage.setItem('token', userData.token); // 점수 저장 등 인증이 필요한 요청에 Bearer 로 보냄
           alert(`${userData.userId}님, 환영합니다!`);
           // 로그인 성공 시
           localStorage.setItem('userId', userData.userId);
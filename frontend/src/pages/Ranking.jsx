@@ -31,7 +31,31 @@ const Ranking = () => {
       }
     };
 
-    fetchRankings();
+    // 실시간 랭킹 스트림: 접속하면 snapshot(전체 Top 10), 이후 바뀐 부분만 diff 로 받습니다.
+    // 연결이 끊기면 EventSource 가 알아서 다시 접속하고 snapshot 부터 다시 받습니다.
+    let received = false;
+    const source = new EventSource(`${BACKEND_URL}/api/scores/ranking/stream`);
+
+    source.addEventListener('snapshot', (event) => {
+      received = true;
+      setRankings(JSON.parse(event.data).items);
+      setIsLoading(false);
+    });
+
+    source.addEventListener('diff', (event) => {
+      const diff = JSON.parse(event.data);
+      setRankings((prev) => applyDiff(prev, diff));
+    });
+
+    source.onerror = () => {
+      // 스트림을 한 번도 못 받았으면 기존 방식으로 한 번 가져옴
+      if (!received) {
+        source.close();
+        fetchRankings();
+      }
+    };
+
+    return () => source.close();
   }, []);
 
   return (
@@ -72,7 +96,7 @@ const Ranking = () => {
         ) : (
           rankings.map((item, index) => (
             <RankingItem 
-              key={`${item.userId}-${index}`} 
+              key={item.scoreId ?? `${item.userId}-${index}`} 
               item={{ ...item, rank: index + 1 }} 
             />
           ))
@@ -82,6 +106,18 @@ const Ranking = () => {
   );
 };
 
+// diff 적용: 나간 기록은 빼고, 순위가 바뀐 기록은 새 순위로, 새로 들어온 기록은 그 순위에 넣음 (순위는 1 부터)
+const applyDiff = (prev, diff) => {
+  const left = new Set(diff.left);
+  const moved = new Map(diff.moved.map((m) => [m.scoreId, m.to]));
+  const ranked = prev
+    .map((item, index) => ({ item, rank: index + 1 }))
+    .filter(({ item }) => !left.has(item.scoreId))
+    .map(({ item, rank }) => ({ item, rank: moved.get(item.scoreId) ?? rank }));
+  diff.entered.forEach(({ rank, item }) => ranked.push({ item, rank }));
+  return ranked.sort((a, b) => a.rank - b.rank).map(({ item }) => item);
+};
+
 const RankingItem = ({ item }) => {
   const isTop = item.rank === 1;
 
@@ -15,6 +15,27 @@ const EMOTIONS = Object.keys(EMOTION_CONFIG);
 const EMOJI_MAP = { happy: '😊', sad: '😭', angry: '😡', neutral: '😐', surprised: '😮' };
 const BACKEND_URL = 'http://localhost:8080';
 
+// 플레이 기록(replay) 바이너리 - 백엔드 ReplayCodec 과 같은 형식
+// "FBRP" + version(1) + 노트 수(varint) + 노트마다 [id 차이(varint), (감정 << 4) | 판정, 확률 * 255]
+const JUDGEMENT_CODE = { miss: 0, good: 1, perfect: 2 };
+const encodeReplay = (records) => {
+  const bytes = [0x46, 0x42, 0x52, 0x50, 1];
+  const writeVarint = (value) => {
+    while (value > 0x7f) { bytes.push((value & 0x7f) | 0x80); value >>>= 7; }
+    bytes.push(value);
+  };
+  writeVarint(records.length);
+  let prevId = 0;
+  records.forEach(r => {
+    writeVarint(r.id - prevId);
+    prevId = r.id;
+    bytes.push((r.emotion << 4) | r.judgement, r.q);
+  });
+  let binary = '';
+  bytes.forEach(b => { binary += String.fromCharCode(b); });
+  return btoa(binary);
+};
+
 const getResourceUrl = (path) => {
   if (!path) return ''; 
   return path.startsWith('http') ? path : `${BACKEND_URL}${path}`;
@@ -43,6 +64,8 @@ const RhythmGame = () => {
   const hasUpdatedScore = useRef(false);
   const pauseStartTimeRef = useRef(0);
   const judgedNotesRef = useRef(new Set());
+  const replayRef = useRef([]); // 판정한 노트마다 { id, emotion, judgement, q } - 점수와 같이 보냄
+  const noteSeqRef = useRef(0);
 
   // [수정] API 데이터 형식(camelCase)에 맞게 filePath, imagePath를 사용
   const selectedSong = useMemo(() => location.state?.song || { 
@@ -115,9 +138,10 @@ const RhythmGame = () => {
     // 게임이 끝났고, 아직 저장을 안했다면
     if (gameState === 'finished' && !hasUpdatedScore.current) {
       const userId = localStorage.getItem('userId');
+      const token = localStorage.getItem('token');
 
-      // 로그인이 안 되어 있으면 저장 안 함.
-      if (!userId){
+      // 로그인이 안 되어 있으면 저장 안 함. (점수는 로그인 토큰의 플레이어로 저장됨)
+      if (!userId || !token){
         console.log("로그인 필요 - 점수 저장 안 함");
         hasUpdatedScore.current = true; // 중복 실행 방지
         return;
@@ -131,17 +155,24 @@ const RhythmGame = () => {
           // 없는 API(/api/scores/best)를 호출하지 않도록 수정합니다.
           const response = await fetch(`${BACKEND_URL}/api/scores`,{
             method: 'POST',
-            headers: { 'Content-Type': 'application/json' },
+            headers: {
+              'Content-Type': 'application/json',
+              'Authorization': `Bearer ${token}`,
+            },
             body: JSON.stringify({
-              userId: userId,
               songId: selectedSong.id,
-              score: score
+              score: score,
+              replay: encodeReplay(replayRef.current) // 서버가 이걸로 점수를 다시 계산해서 확인
             }),
           });
           
           if (response.ok) {
             console.log("점수 저장 성공!");
             setIsNewRecord(true); // 일단 저장되면 배지 띄워주기(임시)
+          } else if (response.status === 401) {
+            // 토큰 만료 - 다시 로그인해야 저장됨
+            console.error("로그인이 만료되어 점수를 저장하지 못했습니다.");
+            localStorage.removeItem('token');
           } else {
             console.error("점수 저장 실패:", await response.text());
           }
@@ -152,8 +183,10 @@ const RhythmGame = () => {
     }
   }, [gameState, score, selectedSong.id]);
 
-  const handleJudgement = useCallback((noteEmotion) => {
-    const rawProb = latestExpressionsRef.current[noteEmotion] || 0; 
+  const handleJudgement = useCallback((noteEmotion, noteSeq) => {
+    // 확률은 1바이트(0~255)로 줄인 값으로 판정 - 서버(ReplayCodec)가 같은 값으로 다시 계산함
+    const q = Math.min(255, Math.max(0, Math.round((latestExpressionsRef.current[noteEmotion] || 0) * 255)));
+    const rawProb = q / 255;
     const config = EMOTION_CONFIG[noteEmotion];
     let res = { text: 'Miss', type: 'miss', add: 0 };
 
@@ -165,6 +198,7 @@ const RhythmGame = () => {
       res = { text: 'Good!', type: 'good', add: 50 + Math.floor(ratio * 99) };
     }
 
+    replayRef.current.push({ id: noteSeq, emotion: EMOTIONS.indexOf(noteEmotion), judgement: JUDGEMENT_CODE[res.type], q });
     setJudgement({ text: res.add > 0 ? `${res.text}` : res.text, type: res.type });
     setScore(p => p + res.add);
     setTimeout(() => setJudgement(null), 500);
@@ -175,7 +209,7 @@ const RhythmGame = () => {
     const randomEm = EMOTIONS[Math.floor(Math.random() * EMOTIONS.length)];
     const now = Date.now();
     setNotes(prev => [...prev, { 
-      id: `${now}-${Math.random()}`, emotion: randomEm, hitTime: now + settings.hitTiming, judged: false 
+      id: `${now}-${Math.random()}`, seq: noteSeqRef.current++, emotion: randomEm, hitTime: now + settings.hitTiming, judged: false 
     }]);
     const nextDelay = Math.random() * (settings.spawnRange[1] - settings.spawnRange[0]) + settings.spawnRange[0];
     noteTimeoutRef.current = setTimeout(spawnNote, nextDelay);
@@ -193,7 +227,7 @@ const RhythmGame = () => {
         setNotes(prev => prev.map(n => {
           if (!n.judged && now >= n.hitTime && !judgedNotesRef.current.has(n.id)) {
             judgedNotesRef.current.add(n.id);
-            handleJudgement(n.emotion);
+            handleJudgement(n.emotion, n.seq);
             return { ...n, judged: true };
           }
           return n;
@@ -241,10 +275,12 @@ const RhythmGame = () => {
     requestAnimationFrame(detectExpressions);
   }, []);
 
-  // [수정] API 데이터 형식(camelCase)에 맞게 selectedSong.filePath 사용
+  // [수정] 업로드된 곡은 Range 요청을 지원하는 스트리밍 API로 재생 (id가 없으면 filePath 사용)
   const startGame = () => {
     const audio = audioRef.current;
-    const songUrl = getResourceUrl(selectedSong.filePath);
+    const songUrl = location.state?.song?.id
+      ? `${BACKEND_URL}/api/media/songs/${selectedSong.id}`
+      : getResourceUrl(selectedSong.filePath);
 
     if (!songUrl) {
       alert("노래 파일 경로가 올바르지 않습니다.");
@@ -256,6 +292,7 @@ const RhythmGame = () => {
     audio.play().then(() => {
       setNotes([]); setScore(0);
       judgedNotesRef.current.clear();
+      replayRef.current = []; noteSeqRef.current = 0;
       setIsNewRecord(false); hasUpdatedScore.current = false;
       setGameState('playing');
       audio.onended = () => { setGameState('finished'); stopAllTimers(); };
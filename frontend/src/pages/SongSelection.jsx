@@ -130,7 +130,7 @@ const SongSelection = () => {
             <div className="w-full aspect-video rounded-2xl mb-4 overflow-hidden bg-gray-200 relative">
               {/* [수정] API 데이터 형식(camelCase)에 맞게 song.imagePath 사용 */}
               <img 
-                src={getResourceUrl(song.imagePath)}
+                src={getResourceUrl(song.thumbnailPath || song.imagePath)}
                 alt={song.title} 
                 className="w-full h-full object-cover"
                 onError={(e) => {
@@ -19,6 +19,7 @@ const Settings = () => {
   const handleLogout = () => {
     if (window.confirm("로그아웃 하시겠습니까?")) {
       localStorage.removeItem('user'); 
+      localStorage.removeItem('token'); // 로그인 토큰도 지움
       navigate('/Login');
     }
   };